@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.spi.cache.LRUCache;
+import de.hipphampel.restcli.command.CommandContext;
+import de.hipphampel.restcli.command.CommandInvoker;
+import de.hipphampel.restcli.io.InputStreamProvider;
+import de.hipphampel.restcli.rest.Request;
+import de.hipphampel.restcli.template.TemplateRenderer;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiBenchmark {
+
+  ObjectMapper objectMapper;
+  DocumentBuilderFactory documentBuilderFactory;
+  Api api;
+  String json;
+  String xml;
+
+  @Setup
+  public void setup() throws TransformerException {
+    objectMapper = new ObjectMapper();
+    documentBuilderFactory = DocumentBuilderFactory.newDefaultInstance();
+    Transformer transformer = TransformerFactory.newInstance().newTransformer();
+    api = new Api(new CommandContext(new CommandInvoker(), new TemplateRenderer(), new ApiFactory()), objectMapper, transformer,
+        new LRUCache(ApiFactory.JSON_PATH_CACHE_SIZE), new CallCache());
+
+    StringBuilder jsonBuffer = new StringBuilder("[");
+    StringBuilder xmlBuffer = new StringBuilder("<items>");
+    for (int i = 0; i < 100; i++) {
+      jsonBuffer.append(i == 0 ? "" : ",").append("{\"id\":%d,\"name\":\"item %d\",\"tags\":[\"a\",\"b\"]}".formatted(i, i));
+      xmlBuffer.append("<item id=\"%d\"><name>item %d</name><tags><tag>a</tag><tag>b</tag></tags></item>".formatted(i, i));
+    }
+    json = jsonBuffer.append("]").toString();
+    xml = xmlBuffer.append("</items>").toString();
+  }
+
+  @Benchmark
+  public String beautifyJson() throws IOException {
+    return api.beautify(request("application/json", json));
+  }
+
+  @Benchmark
+  public String beautifyXml() throws IOException {
+    return api.beautify(request("application/xml", xml));
+  }
+
+  // The body objects are cached in the request, so each invocation needs a new one
+  Request request(String contentType, String body) {
+    return new Request(objectMapper, documentBuilderFactory, "GET", "http://localhost",
+        Map.of("Content-Type", List.of(contentType)), InputStreamProvider.ofString(body), null, false);
+  }
+}
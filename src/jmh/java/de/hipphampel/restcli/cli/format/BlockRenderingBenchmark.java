@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.cli.format;
+
+import de.hipphampel.restcli.cli.Output;
+import de.hipphampel.restcli.cli.format.GridBlock.Position;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Builds and renders large block trees, as done for `env get`, the help pages, and error output
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockRenderingBenchmark {
+
+  @Param({"variable-table", "help-page", "stack-trace"})
+  String layout;
+
+  Supplier<Block> blockSupplier;
+
+  @Setup
+  public void setup() {
+    blockSupplier = switch (layout) {
+      case "variable-table" -> BlockRenderingBenchmark::variableTable;
+      case "help-page" -> BlockRenderingBenchmark::helpPage;
+      case "stack-trace" -> BlockRenderingBenchmark::stackTrace;
+      default -> throw new IllegalArgumentException(layout);
+    };
+  }
+
+  @Benchmark
+  public String render() {
+    StringWriter writer = new StringWriter();
+    new Output(writer).withOutputWidth(100).withStyles(false).block(blockSupplier.get());
+    return writer.toString();
+  }
+
+  static Block variableTable() {
+    Map<Position, Block> cells = new HashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      cells.put(new Position(i, 0), new ParagraphBlock("variable" + i));
+      cells.put(new Position(i, 1), new ParagraphBlock("value of variable %d with some more words to wrap".formatted(i)));
+    }
+    return new GridBlock(cells).toTable(true);
+  }
+
+  static Block helpPage() {
+    List<Block> blocks = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      blocks.add(new ParagraphBlock("Section %d".formatted(i)));
+      blocks.add(new GridBlock(Map.of(
+          new Position(0, 0), new PreformattedBlock("  "),
+          new Position(0, 1), new SequenceBlock(
+              new ParagraphBlock("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore."),
+              new ParagraphBlock("Ut enim ad minim veniam, quis nostrud exercitation ullamco laboris nisi ut aliquip ex ea commodo.")))));
+    }
+    return new SequenceBlock(blocks);
+  }
+
+  static Block stackTrace() {
+    List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      lines.add("\tat de.hipphampel.restcli.Some%d.method(Some%d.java:%d)".formatted(i, i, i));
+    }
+    return new GridBlock(Map.of(
+        new Position(0, 0), new PreformattedBlock("  "),
+        new Position(0, 1), new PreformattedBlock(lines)));
+  }
+}
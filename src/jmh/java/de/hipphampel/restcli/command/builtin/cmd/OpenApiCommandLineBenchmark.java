@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.builtin.cmd;
+
+import de.hipphampel.restcli.cli.commandline.CommandLine;
+import de.hipphampel.restcli.cli.commandline.CommandLineParser;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec;
+import de.hipphampel.restcli.command.config.ParameterConfig;
+import de.hipphampel.restcli.command.config.ParameterListConfig;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Parses the command line of a command as it is generated by the OpenAPI import
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenApiCommandLineBenchmark {
+
+  @Param({"2", "10", "50"})
+  int optionalParameters;
+
+  CommandLineParser parser;
+  CommandLineSpec spec;
+  List<String> args;
+
+  @Setup
+  public void setup() {
+    parser = new CommandLineParser();
+    List<ParameterConfig> configs = new ArrayList<>();
+    args = new ArrayList<>();
+    for (int i = 0; i < optionalParameters; i++) {
+      ParameterConfig config = CmdOpenApiCommand.createParameterConfig(parameter("queryParam" + i, false));
+      configs.add(config);
+      args.add(config.optionNames().get(0));
+      args.add("value" + i);
+    }
+    for (int i = 0; i < 2; i++) {
+      configs.add(CmdOpenApiCommand.createParameterConfig(parameter("pathParam" + i, true)));
+      args.add("value" + i);
+    }
+    spec = new ParameterListConfig(configs).getCommandLineSpec();
+  }
+
+  @Benchmark
+  public CommandLine parseCommandLine() {
+    return parser.parseCommandLine(spec, args);
+  }
+
+  static Parameter parameter(String name, boolean required) {
+    Parameter parameter = new Parameter();
+    parameter.setName(name);
+    parameter.setRequired(required);
+    return parameter;
+  }
+}
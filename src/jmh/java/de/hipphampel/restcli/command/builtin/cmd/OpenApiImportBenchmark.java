@@ -0,0 +1,147 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.builtin.cmd;
+
+import de.hipphampel.restcli.command.CommandAddress;
+import de.hipphampel.restcli.command.builtin.cmd.CmdOpenApiCommand.ImportContext;
+import de.hipphampel.restcli.command.builtin.cmd.openapi.Spec;
+import de.hipphampel.restcli.command.builtin.cmd.openapi.Spec.OperationCoordinate;
+import de.hipphampel.restcli.command.config.CommandConfigTree;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Imports a large specification with shared components and recursive schemas, grouped by tag; run with -prof gc for the allocations
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OpenApiImportBenchmark {
+
+  @Param({"500", "5000"})
+  int operations;
+
+  String content;
+  ImportContext importContext;
+
+  @Setup
+  public void setup() {
+    content = generateSpec(operations);
+    importContext = new ImportContext();
+    importContext.address = CommandAddress.fromString("bench");
+    importContext.baseUri = "${baseUri}";
+    importContext.operationIds = List.of();
+    importContext.tags = List.of();
+    importContext.grouped = true;
+  }
+
+  @Benchmark
+  public Spec parseSpec() {
+    return new Spec(CmdOpenApiCommand.parseOpenAPISpec(content).getOpenAPI());
+  }
+
+  @Benchmark
+  public CommandConfigTree importSpec() {
+    Spec spec = parseSpec();
+    List<OperationCoordinate> coordinates = spec.allOperationCoordinates().stream()
+        .filter(coordinate -> CmdOpenApiCommand.isOperationRelevant(spec, coordinate, importContext))
+        .toList();
+    return CmdOpenApiCommand.createGroupedOperations(spec, coordinates, importContext);
+  }
+
+  static String generateSpec(int operations) {
+    StringBuilder buffer = new StringBuilder("""
+        openapi: 3.0.2
+        info:
+          title: Benchmark
+          version: 1.0
+        paths:
+        """);
+    for (int i = 0; i < operations; i++) {
+      buffer.append("""
+            /resource%1$d/{id}:
+              post:
+                operationId: op%1$d
+                tags:
+                  - tag%2$d
+                description: Operation %1$d. Creates a node.
+                parameters:
+                  - $ref: '#/components/parameters/Id'
+                  - name: filter
+                    in: query
+                    schema:
+                      type: string
+                requestBody:
+                  content:
+                    application/json:
+                      schema:
+                        $ref: '#/components/schemas/Node'
+                responses:
+                  default:
+                    $ref: '#/components/responses/Node'
+          """.formatted(i, i % 50));
+    }
+    buffer.append("""
+        components:
+          parameters:
+            Id:
+              name: id
+              in: path
+              required: true
+              schema:
+                type: string
+          responses:
+            Node:
+              description: The node
+              content:
+                application/json:
+                  schema:
+                    $ref: '#/components/schemas/Node'
+          schemas:
+            Node:
+              type: object
+              properties:
+                name:
+                  type: string
+                parent:
+                  $ref: '#/components/schemas/Node'
+                children:
+                  type: array
+                  items:
+                    $ref: '#/components/schemas/Node'
+        """);
+    return buffer.toString();
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.env;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.utils.FileUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnvironmentRepositoryBenchmark {
+
+  @Param({"1", "8", "32"})
+  int depth;
+
+  Path rootDir;
+  EnvironmentRepository repository;
+  String leaf;
+
+  @Setup
+  public void setup() throws IOException {
+    rootDir = Files.createTempDirectory("restcli-benchmark");
+    repository = new EnvironmentRepository();
+    repository.objectMapper = new ObjectMapper();
+    String parent = null;
+    for (int i = 0; i < depth; i++) {
+      String name = "env" + i;
+      repository.storeConfig(rootDir, name, new EnvironmentConfig(
+          parent,
+          Map.of("var" + i, "value" + i, "shared", "value of " + name),
+          Map.of("X-Header-" + i, List.of("value" + i)),
+          null));
+      parent = name;
+    }
+    leaf = parent;
+  }
+
+  @TearDown
+  public void tearDown() {
+    FileUtils.deleteRecursively(rootDir, true);
+  }
+
+  @Benchmark
+  public Environment getEnvironment() {
+    return repository.getEnvironment(rootDir, leaf).orElseThrow();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.cli.Output;
+import de.hipphampel.restcli.io.InputStreamProvider;
+import de.hipphampel.restcli.rest.RequestContext.OutputFormat;
+import de.hipphampel.restcli.template.TemplateModel;
+import de.hipphampel.restcli.template.TemplateRenderer;
+import java.io.StringWriter;
+import java.net.http.HttpClient;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBuilderBenchmark {
+
+  RequestBuilder builder;
+  RequestContext context;
+  RequestTemplate template;
+
+  @Setup
+  public void setup() {
+    builder = new RequestBuilder();
+    builder.objectMapper = new ObjectMapper();
+    builder.documentBuilderFactory = DocumentBuilderFactory.newDefaultInstance();
+    builder.renderer = new TemplateRenderer();
+
+    Map<String, Object> variables = new HashMap<>();
+    Map<String, String> queryParameters = new HashMap<>();
+    for (int i = 0; i < 10; i++) {
+      variables.put("var" + i, "value" + i);
+      queryParameters.put("param" + i, "${var" + i + "}");
+    }
+    context = new RequestContext(
+        HttpClient.newHttpClient(),
+        new TemplateModel(variables),
+        new OutputFormat(InputStreamProvider.ofString(""), Map.of()),
+        new Output(new StringWriter()),
+        new Output(new StringWriter()),
+        false);
+    template = new RequestTemplate()
+        .method("POST")
+        .baseUri("http://localhost:8080/items/${var0}/children/${var1}")
+        .headers(Map.of(
+            "Content-Type", List.of("application/json"),
+            "Authorization", List.of("Bearer ${var2}"),
+            "X-Request-Id", List.of("${var3}")))
+        .queryParameters(queryParameters)
+        .requestBody(InputStreamProvider.ofString("{\"name\": \"item\"}"));
+  }
+
+  @Benchmark
+  public Request buildRequest() {
+    return builder.buildRequest(template, context);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Minimal HTTP stub for the training run of the class data sharing archive; started via the source launcher, so it does
+ * not need to be compiled: `java TrainingStub.java <port>`
+ */
+public class TrainingStub {
+
+  static final String ITEMS = """
+      {"total": 3, "items": [{"id": 1, "name": "one"}, {"id": 2, "name": "two"}, {"id": 3, "name": "three"}]}
+      """;
+
+  static final String SPEC = """
+      {
+        "openapi": "3.0.3",
+        "info": {"title": "Training", "version": "1.0"},
+        "paths": {
+          "/items": {
+            "get": {
+              "operationId": "listItems",
+              "summary": "Lists the items.",
+              "parameters": [{"name": "limit", "in": "query", "schema": {"type": "integer"}}],
+              "responses": {"200": {"description": "The items."}}
+            },
+            "post": {
+              "operationId": "createItem",
+              "summary": "Creates an item.",
+              "requestBody": {"content": {"application/json": {"schema": {"type": "object"}}}},
+              "responses": {"201": {"description": "Created."}}
+            }
+          },
+          "/items/{id}": {
+            "get": {
+              "operationId": "getItem",
+              "summary": "Gets an item.",
+              "parameters": [{"name": "id", "in": "path", "required": true, "schema": {"type": "integer"}}],
+              "responses": {"200": {"description": "The item."}}
+            }
+          }
+        }
+      }
+      """;
+
+  public static void main(String[] args) throws IOException {
+    HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0])), 0);
+    server.createContext("/openapi.json", exchange -> respond(exchange, SPEC));
+    server.createContext("/items", exchange -> respond(exchange, ITEMS));
+    server.start();
+  }
+
+  static void respond(HttpExchange exchange, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getRequestBody().readAllBytes();
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+#
+# Creates an application class data sharing (AppCDS) archive for the JVM mode of restcli.
+#
+# Usage: create-archive.sh <quarkus-app-dir> [<archive>]
+#
+# The archive is written by a single training run that starts restcli once and executes the lines in `training.txt`
+# via the `shell` builtin against a local HTTP stub, so that the classes for help rendering, HTTP calls, templates
+# and the OpenAPI import end up in the archive. The archive only matches the JVM that created it, so it has to be
+# created with the same JVM (and at the same path of quarkus-run.jar) that runs restcli later on.
+#
+set -euo pipefail
+
+script_dir="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+app_dir="$(cd "${1:?Usage: create-archive.sh <quarkus-app-dir> [<archive>]}" && pwd)"
+archive="${2:-${app_dir}/app-cds.jsa}"
+java="${JAVA_HOME:+${JAVA_HOME}/bin/}java"
+port="${RESTCLI_TRAINING_PORT:-18765}"
+
+work_dir="$(mktemp -d)"
+stub_pid=""
+cleanup() {
+  if [ -n "${stub_pid}" ]; then
+    kill "${stub_pid}" 2>/dev/null || true
+  fi
+  rm -rf "${work_dir}"
+}
+trap cleanup EXIT
+
+"${java}" "${script_dir}/TrainingStub.java" "${port}" &
+stub_pid=$!
+for _ in $(seq 1 50); do
+  if (exec 3<>"/dev/tcp/127.0.0.1/${port}") 2>/dev/null; then
+    break
+  fi
+  sleep 0.2
+done
+
+mkdir -p "${work_dir}/config"
+sed "s|@BASE_URL@|http://127.0.0.1:${port}|g" "${script_dir}/training.txt" > "${work_dir}/training.txt"
+
+rm -f "${archive}"
+"${java}" -XX:ArchiveClassesAtExit="${archive}" -jar "${app_dir}/quarkus-run.jar" -c "${work_dir}/config" shell \
+  < "${work_dir}/training.txt" > "${work_dir}/training.log" 2>&1 || {
+  cat "${work_dir}/training.log" >&2
+  exit 1
+}
+
+if [ ! -s "${archive}" ]; then
+  echo "No archive was written to ${archive}." >&2
+  exit 1
+fi
+echo "Created ${archive} ($(du -h "${archive}" | cut -f1))."
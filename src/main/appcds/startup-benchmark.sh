@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+#
+# Measures the time to the first byte of output of restcli in JVM mode, with and without the class data sharing archive.
+#
+# Usage: startup-benchmark.sh <quarkus-app-dir> [<runs>]
+#
+# Measured are `--version`, `help` and `http get` against the training stub; the median of <runs> runs (default 10)
+# is printed in milliseconds. Create the archive with `create-archive.sh` first.
+#
+set -euo pipefail
+
+script_dir="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+app_dir="$(cd "${1:?Usage: startup-benchmark.sh <quarkus-app-dir> [<runs>]}" && pwd)"
+runs="${2:-10}"
+java="${JAVA_HOME:+${JAVA_HOME}/bin/}java"
+port="${RESTCLI_TRAINING_PORT:-18765}"
+
+work_dir="$(mktemp -d)"
+stub_pid=""
+cleanup() {
+  if [ -n "${stub_pid}" ]; then
+    kill "${stub_pid}" 2>/dev/null || true
+  fi
+  rm -rf "${work_dir}"
+}
+trap cleanup EXIT
+
+"${java}" "${script_dir}/TrainingStub.java" "${port}" &
+stub_pid=$!
+for _ in $(seq 1 50); do
+  if (exec 3<>"/dev/tcp/127.0.0.1/${port}") 2>/dev/null; then
+    break
+  fi
+  sleep 0.2
+done
+mkdir -p "${work_dir}/config"
+
+# Prints the milliseconds until the first byte arrives on standard output
+time_to_first_byte() {
+  local start
+  start=$(date +%s%N)
+  "$@" 2>/dev/null | { head -c 1 > /dev/null; echo $((($(date +%s%N) - start) / 1000000)) > "${work_dir}/ttfb"; cat > /dev/null; }
+  cat "${work_dir}/ttfb"
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+measure() {
+  local label="$1"
+  shift
+  local result
+  result=$(for _ in $(seq 1 "${runs}"); do time_to_first_byte "$@"; done | median)
+  printf "%-28s %6s ms\n" "${label}" "${result}"
+}
+
+for mode in default appcds; do
+  java_opts=(-XX:TieredStopAtLevel=1 -Xshare:auto)
+  if [ "${mode}" = "appcds" ]; then
+    if [ ! -f "${app_dir}/app-cds.jsa" ]; then
+      echo "No archive ${app_dir}/app-cds.jsa, skipping." >&2
+      continue
+    fi
+    java_opts+=(-XX:SharedArchiveFile="${app_dir}/app-cds.jsa")
+  fi
+  run=("${java}" "${java_opts[@]}" -jar "${app_dir}/quarkus-run.jar" -c "${work_dir}/config")
+  measure "${mode}: --version" "${run[@]}" --version
+  measure "${mode}: help" "${run[@]}" help
+  measure "${mode}: http get" "${run[@]}" http get "http://127.0.0.1:${port}/items"
+done
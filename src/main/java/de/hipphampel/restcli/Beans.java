@@ -22,8 +22,16 @@
  */
 package de.hipphampel.restcli;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
@@ -92,14 +100,35 @@ import javax.xml.transform.TransformerFactory;
 })
 public class Beans {
 
+  // Looked up in the static initializer, so that the native image contains the factories already
+  private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newDefaultInstance();
+  private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+  // Also used by static initializers (e.g. for the builtin templates), so that they parse with the same configuration as the beans
+  public static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+
+  // Same configuration as the default ObjectMapper of Quarkus, which is replaced by the producer below
+  static ObjectMapper createObjectMapper() {
+    return JsonMapper.builder()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .addModules(new Jdk8Module(), new JavaTimeModule(), new ParameterNamesModule())
+        .build();
+  }
+
+  @Produces
+  @Singleton
+  public ObjectMapper objectMapper() {
+    return OBJECT_MAPPER;
+  }
+
   @Produces
   public DocumentBuilderFactory documentBuilderFactory() {
-    return DocumentBuilderFactory.newDefaultInstance();
+    return DOCUMENT_BUILDER_FACTORY;
   }
 
   @Produces
   public Transformer transformer() throws TransformerConfigurationException {
-    Transformer transformer = TransformerFactory.newInstance().newTransformer();
+    Transformer transformer = TRANSFORMER_FACTORY.newTransformer();
     transformer.setOutputProperty(OutputKeys.INDENT, "yes");
     transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
     return transformer;
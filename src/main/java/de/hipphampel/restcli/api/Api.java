@@ -23,22 +23,37 @@
 package de.hipphampel.restcli.api;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.cache.Cache;
 import de.hipphampel.restcli.cli.Output;
 import de.hipphampel.restcli.command.CommandContext;
 import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.rest.BodyAndHeaders;
+import de.hipphampel.restcli.rest.LineReader;
+import de.hipphampel.restcli.rest.ServerSentEvent;
+import de.hipphampel.restcli.rest.ServerSentEventReader;
+import freemarker.core.Environment;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
@@ -51,11 +66,16 @@ public class Api {
   private final CommandContext context;
   private final ObjectMapper objectMapper;
   private final Transformer transformer;
+  private final Cache jsonPathCache;
+  private volatile JqResults jqResults;
+  private final CallCache callCache;
 
-  public Api(CommandContext context, ObjectMapper objectMapper, Transformer transformer) {
+  public Api(CommandContext context, ObjectMapper objectMapper, Transformer transformer, Cache jsonPathCache, CallCache callCache) {
     this.context = Objects.requireNonNull(context);
     this.objectMapper = Objects.requireNonNull(objectMapper);
     this.transformer = Objects.requireNonNull(transformer);
+    this.jsonPathCache = Objects.requireNonNull(jsonPathCache);
+    this.callCache = Objects.requireNonNull(callCache);
   }
 
 
@@ -87,8 +107,125 @@ public class Api {
     }
   }
 
+  public String ndjson(BodyAndHeaders<?> body, String path) throws IOException {
+    // Inside a template, the lines are written straight to the template output, so that they appear as soon as they are parsed
+    Environment environment = Environment.getCurrentEnvironment();
+    if (environment != null) {
+      writeNdjson(body, path, environment.getOut());
+      return "";
+    }
+    try (StringWriter out = new StringWriter()) {
+      writeNdjson(body, path, out);
+      return out.toString();
+    }
+  }
+
+  void writeNdjson(BodyAndHeaders<?> body, String path, Writer out) throws IOException {
+    List<String> fields = parseSimpleJsonPath(path);
+    try (InputStream in = body.openBodyStream();
+        JsonParser parser = objectMapper.getFactory().createParser(in);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      if (parser.nextToken() == null) {
+        return;
+      }
+      if (!seekField(parser, fields)) {
+        throw new ExecutionException("JSON body has no value at path \"%s\".".formatted(path));
+      }
+      if (parser.currentToken() != JsonToken.START_ARRAY) {
+        writeNdjsonLine(parser, generator);
+        return;
+      }
+      JsonToken token;
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        if (token == null) {
+          throw new ExecutionException("Unexpected end of JSON body.");
+        }
+        writeNdjsonLine(parser, generator);
+      }
+    } catch (JsonProcessingException jpe) {
+      throw new ExecutionException("Invalid JSON body: %s".formatted(jpe.getOriginalMessage()), jpe);
+    }
+  }
+
+  public Iterator<ServerSentEvent> sse(BodyAndHeaders<?> body) throws IOException {
+    return new ServerSentEventReader(new InputStreamReader(body.openBodyStream(), StandardCharsets.UTF_8), Api::flushTemplateOutput);
+  }
+
+  public Iterator<String> lines(BodyAndHeaders<?> body) throws IOException {
+    return new LineReader(new InputStreamReader(body.openBodyStream(), StandardCharsets.UTF_8), Api::flushTemplateOutput);
+  }
+
+  static void flushTemplateOutput() {
+    Environment environment = Environment.getCurrentEnvironment();
+    if (environment == null) {
+      return;
+    }
+    try {
+      environment.getOut().flush();
+    } catch (IOException ioe) {
+      throw new ExecutionException("Failed to write output.", ioe);
+    }
+  }
+
+  static List<String> parseSimpleJsonPath(String path) {
+    String normalized = path == null ? "$" : path.trim();
+    if (normalized.isEmpty() || normalized.equals("$")) {
+      return List.of();
+    }
+    if (!normalized.startsWith("$.") || normalized.endsWith(".") || normalized.contains("..") || normalized.contains("[")) {
+      throw new ExecutionException("Unsupported path \"%s\" - only paths like \"$.field.subfield\" are supported.".formatted(path));
+    }
+    return Arrays.asList(normalized.substring(2).split("\\."));
+  }
+
+  static boolean seekField(JsonParser parser, List<String> fields) throws IOException {
+    for (String field : fields) {
+      if (parser.currentToken() != JsonToken.START_OBJECT) {
+        return false;
+      }
+      boolean found = false;
+      while (!found && parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        parser.nextToken();
+        if (field.equals(name)) {
+          found = true;
+        } else {
+          parser.skipChildren();
+        }
+      }
+      if (!found) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static void writeNdjsonLine(JsonParser parser, JsonGenerator generator) throws IOException {
+    generator.copyCurrentStructure(parser);
+    generator.writeRaw('\n');
+    generator.flush();
+  }
+
   public Object jq(Object value, String path) {
-    return JsonPath.read(value, path);
+    // Only the results for the most recently queried value are kept: a template typically queries the same body several times,
+    // whereas keeping all values would retain e.g. every event of a `sse` stream
+    JqResults memo = jqResults;
+    if (memo == null || memo.value() != value) {
+      memo = new JqResults(value, new ConcurrentHashMap<>());
+      jqResults = memo;
+    }
+    return memo.results().computeIfAbsent(path, key -> Optional.ofNullable(compileJsonPath(key).read(value))).orElse(null);
+  }
+
+  JsonPath compileJsonPath(String path) {
+    JsonPath jsonPath = jsonPathCache.get(path);
+    if (jsonPath == null) {
+      jsonPath = JsonPath.compile(path);
+      jsonPathCache.put(path, jsonPath);
+    }
+    return jsonPath;
   }
 
   public String url_encode(String str) {
@@ -127,4 +264,16 @@ public class Api {
       return out.toString();
     }
   }
+
+  public String cached_sh(long ttl, String... args) throws IOException, InterruptedException {
+    return callCache.get(context, "sh", List.of(args), ttl, () -> sh(args));
+  }
+
+  public String cached_call(long ttl, String... args) throws IOException, InterruptedException {
+    return callCache.get(context, "call", List.of(args), ttl, () -> call(args));
+  }
+
+  record JqResults(Object value, Map<String, Optional<Object>> results) {
+
+  }
 }
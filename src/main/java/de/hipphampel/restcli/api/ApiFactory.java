@@ -24,6 +24,8 @@ package de.hipphampel.restcli.api;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.spi.cache.Cache;
+import com.jayway.jsonpath.spi.cache.LRUCache;
 import de.hipphampel.restcli.command.CommandContext;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -32,12 +34,18 @@ import javax.xml.transform.Transformer;
 @ApplicationScoped
 public class ApiFactory {
 
+  static final int JSON_PATH_CACHE_SIZE = 256;
+
   @Inject
   ObjectMapper objectMapper;
   @Inject
   Transformer transformer;
+  @Inject
+  CallCache callCache;
+
+  private final Cache jsonPathCache = new LRUCache(JSON_PATH_CACHE_SIZE);
 
   public Api createApi(CommandContext context) {
-    return new Api(context, objectMapper, transformer);
+    return new Api(context, objectMapper, transformer, jsonPathCache, callCache);
   }
 }
@@ -0,0 +1,228 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.api;
+
+import de.hipphampel.restcli.command.CommandContext;
+import de.hipphampel.restcli.env.Environment;
+import de.hipphampel.restcli.exception.ExecutionException;
+import de.hipphampel.restcli.utils.FileUtils;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+@ApplicationScoped
+public class CallCache {
+
+  static final String CACHE_DIR = "cache/calls";
+  static final String KEY_FILE = "cache/calls.key";
+  private static final String CIPHER = "AES/GCM/NoPadding";
+  private static final int KEY_LENGTH = 32;
+  private static final int IV_LENGTH = 12;
+  private static final int TAG_LENGTH = 128;
+
+  private final Map<String, CachedValue> memory = new ConcurrentHashMap<>();
+  private final SecureRandom random = new SecureRandom();
+  private Clock clock = Clock.systemUTC();
+
+  @FunctionalInterface
+  public interface Loader {
+
+    String load() throws IOException, InterruptedException;
+  }
+
+  // Testing only
+  void setClock(Clock clock) {
+    this.clock = clock;
+  }
+
+  // Testing only
+  void clear() {
+    memory.clear();
+  }
+
+  public String get(CommandContext context, String kind, List<String> args, long ttlSeconds, Loader loader)
+      throws IOException, InterruptedException {
+    if (ttlSeconds <= 0) {
+      return loader.load();
+    }
+    String key = createKey(context.environment(), kind, args);
+    long now = clock.millis();
+    CachedValue cached = memory.get(key);
+    if (cached == null && isPersistent(context)) {
+      cached = readFromDisk(context.configPath(), key, now).orElse(null);
+    }
+    if (cached != null && cached.expiresAt() > now) {
+      return cached.value();
+    }
+
+    String value = loader.load();
+    cached = new CachedValue(value, now + ttlSeconds * 1000L);
+    memory.put(key, cached);
+    if (isPersistent(context)) {
+      writeToDisk(context.configPath(), key, cached);
+    }
+    return value;
+  }
+
+  static boolean isPersistent(CommandContext context) {
+    return context.configPath() != null && context.applicationConfig().isPersistentCallCache();
+  }
+
+  static String createKey(Environment environment, String kind, List<String> args) {
+    StringBuilder buffer = new StringBuilder()
+        .append(kind).append('\0')
+        .append(environment.getName()).append('\0')
+        .append(new TreeMap<>(environment.getVariables())).append('\0')
+        .append(new TreeMap<>(environment.getHeaders())).append('\0');
+    args.forEach(arg -> buffer.append(arg).append('\0'));
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(buffer.toString().getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new ExecutionException("Failed to create cache key.", e);
+    }
+  }
+
+  Optional<CachedValue> readFromDisk(Path rootDir, String key, long now) {
+    Path path = rootDir.resolve(CACHE_DIR).resolve(key);
+    if (!Files.isRegularFile(path)) {
+      return Optional.empty();
+    }
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+      byte[] iv = new byte[IV_LENGTH];
+      buffer.get(iv);
+      Cipher cipher = Cipher.getInstance(CIPHER);
+      cipher.init(Cipher.DECRYPT_MODE, getOrCreateKey(rootDir), new GCMParameterSpec(TAG_LENGTH, iv));
+      cipher.updateAAD(key.getBytes(StandardCharsets.UTF_8));
+      ByteBuffer plain = ByteBuffer.wrap(cipher.doFinal(buffer.array(), IV_LENGTH, buffer.remaining()));
+      long expiresAt = plain.getLong();
+      if (expiresAt <= now) {
+        Files.deleteIfExists(path);
+        return Optional.empty();
+      }
+      String value = StandardCharsets.UTF_8.decode(plain).toString();
+      CachedValue cached = new CachedValue(value, expiresAt);
+      memory.put(key, cached);
+      return Optional.of(cached);
+    } catch (IOException | GeneralSecurityException | RuntimeException e) {
+      // Unreadable or tampered entries are simply treated as cache misses
+      return Optional.empty();
+    }
+  }
+
+  void writeToDisk(Path rootDir, String key, CachedValue cached) {
+    Path dir = FileUtils.createDirectoryIfNotExists(rootDir.resolve(CACHE_DIR));
+    try {
+      byte[] iv = new byte[IV_LENGTH];
+      random.nextBytes(iv);
+      byte[] value = cached.value().getBytes(StandardCharsets.UTF_8);
+      Cipher cipher = Cipher.getInstance(CIPHER);
+      cipher.init(Cipher.ENCRYPT_MODE, getOrCreateKey(rootDir), new GCMParameterSpec(TAG_LENGTH, iv));
+      cipher.updateAAD(key.getBytes(StandardCharsets.UTF_8));
+      byte[] encrypted = cipher.doFinal(ByteBuffer.allocate(Long.BYTES + value.length)
+          .putLong(cached.expiresAt())
+          .put(value)
+          .array());
+      Path tempFile = createPrivateFile(dir.resolve(key + ".tmp"));
+      Files.write(tempFile, ByteBuffer.allocate(IV_LENGTH + encrypted.length).put(iv).put(encrypted).array());
+      FileUtils.moveAtomically(tempFile, dir.resolve(key));
+    } catch (IOException | GeneralSecurityException e) {
+      throw new ExecutionException("Failed to write call cache entry.", e);
+    }
+  }
+
+  SecretKey getOrCreateKey(Path rootDir) throws IOException {
+    Path path = rootDir.resolve(KEY_FILE);
+    if (!Files.exists(path)) {
+      createKey(path);
+    }
+    byte[] key = Files.readAllBytes(path);
+    if (key.length != KEY_LENGTH) {
+      throw new IOException("Invalid call cache key in \"%s\".".formatted(path));
+    }
+    return new SecretKeySpec(key, "AES");
+  }
+
+  void createKey(Path path) throws IOException {
+    FileUtils.createDirectoryIfNotExists(path.getParent());
+    byte[] key = new byte[KEY_LENGTH];
+    random.nextBytes(key);
+    // The complete key is linked to the final name, which fails if another process created the key in the meantime; unlike a
+    // move, this never replaces a key that was already used to encrypt entries. The caller then reads the key of the other process
+    Path tempFile = createPrivateFile(path.resolveSibling("%s.%s.tmp".formatted(path.getFileName(), UUID.randomUUID())));
+    try {
+      Files.write(tempFile, key);
+      Files.createLink(path, tempFile);
+    } catch (FileAlreadyExistsException e) {
+      // Ignored, see above
+    } catch (UnsupportedOperationException e) {
+      // No hard links, so the key is written in place; creating the file fails as well if another process was faster
+      try {
+        Files.write(createExclusively(path), key);
+      } catch (FileAlreadyExistsException fae) {
+        // Ignored, see above
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  static Path createPrivateFile(Path path) throws IOException {
+    Files.deleteIfExists(path);
+    return createExclusively(path);
+  }
+
+  static Path createExclusively(Path path) throws IOException {
+    try {
+      return Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+    } catch (UnsupportedOperationException uoe) {
+      return Files.createFile(path);
+    }
+  }
+
+  record CachedValue(String value, long expiresAt) {
+
+  }
+}
@@ -24,8 +24,10 @@ package de.hipphampel.restcli.cli;
 
 import de.hipphampel.restcli.cli.format.Block;
 import de.hipphampel.restcli.cli.format.FormatBuilder;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.Objects;
 
@@ -104,10 +106,12 @@ public class Output {
 
   public Output block(Block block) {
     block.setRequestedWidth(this.outputWidth);
-    int height = block.getHeight();
-    for (int i = 0; i < height; i++) {
-      delegate.println(block.getLine(i, withStyles));
+    try {
+      block.writeTo(delegate, withStyles);
+    } catch (IOException ioe) {
+      throw new UncheckedIOException(ioe);
     }
+    delegate.flush();
     return this;
   }
 
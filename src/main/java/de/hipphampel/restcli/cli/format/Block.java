@@ -22,11 +22,14 @@
  */
 package de.hipphampel.restcli.cli.format;
 
+import java.io.IOException;
 import java.util.Objects;
 
 public abstract sealed class Block implements Format permits EmptyBlock, FillerBlock, GridBlock, ParagraphBlock, PreformattedBlock,
     SequenceBlock {
 
+  private static final String SPACES = " ".repeat(128);
+
   private boolean fill;
   private int requestedWidth;
 
@@ -55,7 +58,15 @@ public abstract sealed class Block implements Format permits EmptyBlock, FillerB
 
   public void appendLineContentTo(StringBuilder buffer, int index, boolean withStyles) {
     if (fill) {
-      buffer.append(" ".repeat(getVisibleWidth()));
+      appendSpaces(buffer, getVisibleWidth());
+    }
+  }
+
+  static void appendSpaces(StringBuilder buffer, int count) {
+    while (count > 0) {
+      int len = Math.min(count, SPACES.length());
+      buffer.append(SPACES, 0, len);
+      count -= len;
     }
   }
 
@@ -68,12 +79,33 @@ public abstract sealed class Block implements Format permits EmptyBlock, FillerB
   @Override
   public void appendTo(StringBuilder buffer, boolean withStyles) {
     int height = getHeight();
+    String lineSeparator = System.lineSeparator();
     for (int i = 0; i < height; i++) {
       appendLineContentTo(buffer, i, withStyles);
-      buffer.append(System.lineSeparator());
+      buffer.append(lineSeparator);
     }
   }
 
+  public void writeTo(Appendable out, boolean withStyles) throws IOException {
+    // One buffer is reused for all lines, so that rendering allocates per block and not per line
+    int height = getHeight();
+    String lineSeparator = System.lineSeparator();
+    StringBuilder buffer = new StringBuilder(Math.max(16, getVisibleWidth()));
+    for (int i = 0; i < height; i++) {
+      buffer.setLength(0);
+      appendLineContentTo(buffer, i, withStyles);
+      out.append(buffer).append(lineSeparator);
+    }
+  }
+
+  public abstract Block copy();
+
+  <T extends Block> T copyLayoutTo(T copy) {
+    copy.setFill(fill);
+    copy.setRequestedWidth(requestedWidth);
+    return copy;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -46,4 +46,9 @@ public final class EmptyBlock extends Block {
   public int getVisibleWidth() {
     return isFill() ? Math.max(0, getRequestedWidth()) : 0;
   }
+
+  @Override
+  public EmptyBlock copy() {
+    return copyLayoutTo(new EmptyBlock());
+  }
 }
@@ -74,6 +74,11 @@ public final class FillerBlock extends Block {
     }
   }
 
+  @Override
+  public FillerBlock copy() {
+    return copyLayoutTo(new FillerBlock(filler));
+  }
+
   @Override
   public boolean equals(Object o) {
 
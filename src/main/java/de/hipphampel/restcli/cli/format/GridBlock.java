@@ -22,58 +22,62 @@
  */
 package de.hipphampel.restcli.cli.format;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.IntStream;
 
 public final class GridBlock extends Block {
 
   private final Map<Position, Block> cells;
   private final int rowCount;
   private final int columnCount;
-  private final List<Integer> maxColumnWidths;
-  private final List<Integer> minColumnWidths;
-  private final List<Integer> columnWidths;
-  private final List<Integer> rowHeights;
+  private final Block[][] grid;
+  private final int[] maxColumnWidths;
+  private final int[] minColumnWidths;
+  private final int[] columnWidths;
+  private final int[] rowHeights;
+  // rowOffsets[r] is the index of the first line of row r, rowOffsets[rowCount] the height of the grid
+  private final int[] rowOffsets;
   private final int rawWidth;
   private final int minWidth;
+  private int visibleWidth;
 
   public GridBlock(Map<Position, Block> cells) {
     this.cells = new HashMap<>(cells);
-    this.columnCount = cells.keySet().stream()
-        .mapToInt(Position::column)
-        .max()
-        .orElse(-1) + 1;
-    this.rowCount = cells.keySet().stream()
-        .mapToInt(Position::row)
-        .max()
-        .orElse(-1) + 1;
-    this.cells.forEach((position, cell) -> cell.setFill(isFill() || position.column < this.columnCount - 1));
-    this.maxColumnWidths = IntStream.range(0, columnCount)
-        .map(column -> IntStream.range(0, rowCount)
-            .map(row -> getCell(row, column).getRawWidth())
-            .max()
-            .orElse(0))
-        .boxed()
-        .toList();
-    this.minColumnWidths = IntStream.range(0, columnCount)
-        .map(column -> IntStream.range(0, rowCount)
-            .map(row -> getCell(row, column).getMinWidth())
-            .max()
-            .orElse(0))
-        .boxed()
-        .toList();
-    this.rawWidth = this.maxColumnWidths.stream()
-        .mapToInt(i -> i)
-        .sum();
-    this.minWidth = this.minColumnWidths.stream()
-        .mapToInt(i -> i)
-        .sum();
-    this.columnWidths = new ArrayList<>();
-    this.rowHeights = new ArrayList<>();
+    int maxRow = -1;
+    int maxColumn = -1;
+    for (Position position : cells.keySet()) {
+      maxRow = Math.max(maxRow, position.row());
+      maxColumn = Math.max(maxColumn, position.column());
+    }
+    this.rowCount = maxRow + 1;
+    this.columnCount = maxColumn + 1;
+    this.grid = new Block[rowCount][columnCount];
+    for (int r = 0; r < rowCount; r++) {
+      for (int c = 0; c < columnCount; c++) {
+        grid[r][c] = this.cells.computeIfAbsent(new Position(r, c), key -> new EmptyBlock());
+      }
+    }
+    setCellFill();
+
+    this.maxColumnWidths = new int[columnCount];
+    this.minColumnWidths = new int[columnCount];
+    int rawWidth = 0;
+    int minWidth = 0;
+    for (int c = 0; c < columnCount; c++) {
+      for (int r = 0; r < rowCount; r++) {
+        maxColumnWidths[c] = Math.max(maxColumnWidths[c], grid[r][c].getRawWidth());
+        minColumnWidths[c] = Math.max(minColumnWidths[c], grid[r][c].getMinWidth());
+      }
+      rawWidth += maxColumnWidths[c];
+      minWidth += minColumnWidths[c];
+    }
+    this.rawWidth = rawWidth;
+    this.minWidth = minWidth;
+    this.columnWidths = new int[columnCount];
+    this.rowHeights = new int[rowCount];
+    this.rowOffsets = new int[rowCount + 1];
     recalculateCellSizes();
   }
 
@@ -89,7 +93,17 @@ public final class GridBlock extends Block {
   @Override
   public void setFill(boolean fill) {
     super.setFill(fill);
-    this.cells.forEach((position, cell) -> cell.setFill(isFill() || position.column < this.columnCount - 1));
+    if (grid != null) {
+      setCellFill();
+    }
+  }
+
+  void setCellFill() {
+    for (int r = 0; r < rowCount; r++) {
+      for (int c = 0; c < columnCount; c++) {
+        grid[r][c].setFill(isFill() || c < columnCount - 1);
+      }
+    }
   }
 
   @Override
@@ -110,32 +124,44 @@ public final class GridBlock extends Block {
 
   @Override
   public int getHeight() {
-    return rowHeights.stream()
-        .mapToInt(i -> i)
-        .sum();
+    return rowOffsets[rowCount];
   }
 
   @Override
   public int getVisibleWidth() {
-    return columnWidths.stream()
-        .mapToInt(i -> i)
-        .sum();
+    return visibleWidth;
   }
 
   @Override
   public void appendLineContentTo(StringBuilder buffer, int index, boolean withStyles) {
-    for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
-      if (index >= 0 && index < rowHeights.get(rowIndex)) {
-        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
-          Block cell = getCell(rowIndex, columnIndex);
-          cell.appendLineContentTo(buffer, index, withStyles);
-        }
-        return;
+    int rowIndex = findRow(index);
+    if (rowIndex < 0) {
+      super.appendLineContentTo(buffer, index, withStyles);
+      return;
+    }
+    int lineInRow = index - rowOffsets[rowIndex];
+    Block[] row = grid[rowIndex];
+    for (Block cell : row) {
+      cell.appendLineContentTo(buffer, lineInRow, withStyles);
+    }
+  }
+
+  int findRow(int index) {
+    if (index < 0 || index >= getHeight()) {
+      return -1;
+    }
+    // Largest row whose first line is not behind index; rows with height zero are skipped implicitly
+    int low = 0;
+    int high = rowCount - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (rowOffsets[mid] <= index) {
+        low = mid;
       } else {
-        index -= rowHeights.get(rowIndex);
+        high = mid - 1;
       }
     }
-    super.appendLineContentTo(buffer, index, withStyles);
+    return low;
   }
 
   void recalculateCellSizes() {
@@ -144,54 +170,66 @@ public final class GridBlock extends Block {
   }
 
   void recalculateColumnWidths() {
-    this.columnWidths.clear();
-
     int availableWidth = getRequestedWidth() < 0 ? Integer.MAX_VALUE : getRequestedWidth();
-    List<Integer> variableColumns = new ArrayList<>();
+    int[] variableColumns = new int[columnCount];
+    int variableColumnCount = 0;
     for (int c = 0; c < columnCount; c++) {
-      int min = minColumnWidths.get(c);
-      int max = maxColumnWidths.get(c);
-      this.columnWidths.add(min);
+      int min = minColumnWidths[c];
+      int max = maxColumnWidths[c];
+      columnWidths[c] = min;
       if (min == max) {
         availableWidth -= min;
       } else {
-        variableColumns.add(c);
+        variableColumns[variableColumnCount++] = c;
       }
     }
 
-    for (int i = 0; i < variableColumns.size(); i++) {
-      int c = variableColumns.get(i);
-      int min = minColumnWidths.get(c);
-      int max = maxColumnWidths.get(c);
-      int part = availableWidth / (variableColumns.size() - i);
-      this.columnWidths.set(c, Math.min(max, Math.max(part, min)));
-      availableWidth -= this.columnWidths.get(c);
+    for (int i = 0; i < variableColumnCount; i++) {
+      int c = variableColumns[i];
+      int min = minColumnWidths[c];
+      int max = maxColumnWidths[c];
+      int part = availableWidth / (variableColumnCount - i);
+      columnWidths[c] = Math.min(max, Math.max(part, min));
+      availableWidth -= columnWidths[c];
     }
 
+    int visibleWidth = 0;
     for (int c = 0; c < columnCount; c++) {
-      int width = columnWidths.get(c);
+      int width = columnWidths[c];
       for (int r = 0; r < rowCount; r++) {
-        getCell(r, c).setRequestedWidth(width);
+        grid[r][c].setRequestedWidth(width);
       }
+      visibleWidth += width;
     }
+    this.visibleWidth = visibleWidth;
   }
 
   void recalculateRowHeights() {
-    rowHeights.clear();
     for (int r = 0; r < rowCount; r++) {
       int height = 0;
       for (int c = 0; c < columnCount; c++) {
-        height = Math.max(getCell(r, c).getHeight(), height);
+        height = Math.max(grid[r][c].getHeight(), height);
       }
-      rowHeights.add(height);
+      rowHeights[r] = height;
+      rowOffsets[r + 1] = rowOffsets[r] + height;
     }
   }
 
   Block getCell(int row, int column) {
+    if (row < rowCount && column < columnCount) {
+      return grid[row][column];
+    }
     return this.cells.computeIfAbsent(new Position(row, column), key -> new EmptyBlock());
   }
 
 
+  @Override
+  public GridBlock copy() {
+    Map<Position, Block> copies = new HashMap<>();
+    cells.forEach((position, cell) -> copies.put(position, cell.copy()));
+    return copyLayoutTo(new GridBlock(copies));
+  }
+
   public GridBlock toTable(boolean decorated) {
     Map<Position, Block> table = new HashMap<>();
 
@@ -261,7 +299,7 @@ public final class GridBlock extends Block {
 
   @Override
   public int hashCode() {
-    return Objects.hash(super.hashCode(), cells, rowCount, columnCount, maxColumnWidths, minColumnWidths, columnWidths, rowHeights,
-        rawWidth, minWidth);
+    return Objects.hash(super.hashCode(), cells, rowCount, columnCount, Arrays.hashCode(maxColumnWidths), Arrays.hashCode(minColumnWidths),
+        Arrays.hashCode(columnWidths), Arrays.hashCode(rowHeights), rawWidth, minWidth);
   }
 }
@@ -23,7 +23,6 @@
 package de.hipphampel.restcli.cli.format;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
@@ -32,15 +31,19 @@ public final class InlineSequence implements Format {
 
   private final List<Inline> inlines;
   private final boolean compactWhitespace;
+  // Maintained on every modification, since line breaking asks for it after each word
+  private int visibleWidth;
 
   public InlineSequence(boolean compactWhitespace, Inline... inlines) {
-    this.inlines = new ArrayList<>(Arrays.asList(inlines));
+    this.inlines = new ArrayList<>(inlines.length);
     this.compactWhitespace = compactWhitespace;
+    addInline(inlines);
   }
 
   public InlineSequence copy() {
     InlineSequence copy = new InlineSequence(compactWhitespace);
     copy.inlines.addAll(inlines);
+    copy.visibleWidth = visibleWidth;
     return copy;
   }
 
@@ -71,7 +74,10 @@ public final class InlineSequence implements Format {
   }
 
   public InlineSequence addInline(Inline... inlines) {
-    Arrays.stream(inlines).forEach(inline -> this.inlines.add(Objects.requireNonNull(inline)));
+    for (Inline inline : inlines) {
+      this.inlines.add(Objects.requireNonNull(inline));
+      this.visibleWidth += getVisibleWidthOf(inline);
+    }
     return this;
   }
 
@@ -81,7 +87,7 @@ public final class InlineSequence implements Format {
 
   public void truncateTo(int size) {
     while (inlines.size() > size) {
-      this.inlines.remove(size);
+      this.visibleWidth -= getVisibleWidthOf(this.inlines.remove(inlines.size() - 1));
     }
   }
 
@@ -105,6 +111,7 @@ public final class InlineSequence implements Format {
         break;
       }
       target.inlines.add(inline);
+      target.visibleWidth += target.getVisibleWidthOf(inline);
       index++;
     }
     return index;
@@ -112,9 +119,7 @@ public final class InlineSequence implements Format {
 
   @Override
   public int getVisibleWidth() {
-    return this.inlines.stream()
-        .mapToInt(this::getVisibleWidthOf)
-        .sum();
+    return visibleWidth;
   }
 
   public int getMaxInlineLength() {
@@ -37,6 +37,7 @@ public final class ParagraphBlock extends Block {
   private final InlineSequence inlines;
   private final Alignment alignment;
   private List<InlineSequence> lines;
+  private int maxVisibleLineWidth;
 
   public ParagraphBlock(Alignment alignment, InlineSequence inlines) {
     this.alignment = Objects.requireNonNull(alignment);
@@ -70,10 +71,6 @@ public final class ParagraphBlock extends Block {
   @Override
   public int getVisibleWidth() {
     recalculateLinesIfRequired();
-    int maxVisibleLineWidth = lines.stream()
-        .mapToInt(InlineSequence::getVisibleWidth)
-        .max()
-        .orElse(0);
     int requestedWidth = getRequestedWidth();
     if (requestedWidth < 0) {
       return maxVisibleLineWidth;
@@ -109,15 +106,15 @@ public final class ParagraphBlock extends Block {
       int spaces = visibleWidth - line.getVisibleWidth();
       if (spaces > 0) {
         switch (alignment) {
-          case CENTER -> buffer.append(" ".repeat(spaces / 2));
-          case RIGHT -> buffer.append(" ".repeat(spaces));
+          case CENTER -> appendSpaces(buffer, spaces / 2);
+          case RIGHT -> appendSpaces(buffer, spaces);
         }
       }
       line.appendTo(buffer, withStyles);
       if (spaces > 0 && isFill()) {
         switch (alignment) {
-          case LEFT -> buffer.append(" ".repeat(spaces));
-          case CENTER -> buffer.append(" ".repeat(spaces - spaces / 2));
+          case LEFT -> appendSpaces(buffer, spaces);
+          case CENTER -> appendSpaces(buffer, spaces - spaces / 2);
         }
       }
     } else {
@@ -136,6 +133,7 @@ public final class ParagraphBlock extends Block {
     this.lines = new ArrayList<>();
     if (getRequestedWidth() < 0) {
       this.lines.add(this.inlines.copy());
+      this.maxVisibleLineWidth = this.inlines.getVisibleWidth();
       return;
     }
 
@@ -152,6 +150,10 @@ public final class ParagraphBlock extends Block {
         this.lines.add(line);
       }
     }
+    this.maxVisibleLineWidth = 0;
+    for (InlineSequence line : lines) {
+      this.maxVisibleLineWidth = Math.max(this.maxVisibleLineWidth, line.getVisibleWidth());
+    }
   }
 
   int fillLine(InlineSequence line, int start) {
@@ -185,6 +187,11 @@ public final class ParagraphBlock extends Block {
     return index;
   }
 
+  @Override
+  public ParagraphBlock copy() {
+    return copyLayoutTo(new ParagraphBlock(alignment, inlines));
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -93,13 +93,18 @@ public final class PreformattedBlock extends Block {
       buffer.append(line);
       if (isFill()) {
         int spaces = getVisibleWidth() - line.length();
-        buffer.append(" ".repeat(Math.max(0, spaces)));
+        appendSpaces(buffer, spaces);
       }
       return;
     }
     super.appendLineContentTo(buffer, index, withStyles);
   }
 
+  @Override
+  public PreformattedBlock copy() {
+    return copyLayoutTo(new PreformattedBlock(lines));
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
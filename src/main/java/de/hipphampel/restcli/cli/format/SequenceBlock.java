@@ -27,11 +27,15 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
+// The children are owned by the sequence: after construction, their geometry must only be changed via setFill and setRequestedWidth of
+// the sequence itself, since these are the only places that invalidate the cached line offsets
 public final class SequenceBlock extends Block {
 
   private final List<Block> children;
   private final int rawWidth;
   private final int minWidth;
+  // offsets[i] is the index of the first line of child i, offsets[size] the height; null after a change of the geometry
+  private int[] offsets;
 
   public SequenceBlock(Block... children) {
     this(Arrays.asList(children));
@@ -59,12 +63,14 @@ public final class SequenceBlock extends Block {
   public void setFill(boolean fill) {
     super.setFill(fill);
     this.children.forEach(child -> child.setFill(fill));
+    this.offsets = null;
   }
 
   @Override
   public void setRequestedWidth(int requestedWidth) {
     super.setRequestedWidth(requestedWidth);
     this.children.forEach(child -> child.setRequestedWidth(requestedWidth));
+    this.offsets = null;
   }
 
   @Override
@@ -79,9 +85,8 @@ public final class SequenceBlock extends Block {
 
   @Override
   public int getHeight() {
-    return children.stream()
-        .mapToInt(Block::getHeight)
-        .sum();
+    int[] offsets = getOffsets();
+    return offsets[offsets.length - 1];
   }
 
   @Override
@@ -99,15 +104,46 @@ public final class SequenceBlock extends Block {
 
   @Override
   public void appendLineContentTo(StringBuilder buffer, int index, boolean withStyles) {
-    for (Block child : children) {
-      if (child.getHeight() > index) {
-        child.appendLineContentTo(buffer, index, withStyles);
-        return;
+    int[] offsets = getOffsets();
+    int size = children.size();
+    if (index < 0 || size == 0 || index >= offsets[size]) {
+      if (index < 0 && size > 0) {
+        children.get(0).appendLineContentTo(buffer, index, withStyles);
       } else {
-        index -= child.getHeight();
+        super.appendLineContentTo(buffer, index - offsets[size], withStyles);
       }
+      return;
     }
-    super.appendLineContentTo(buffer, index, withStyles);
+    // Largest child whose first line is not behind index; children with height zero are skipped implicitly
+    int low = 0;
+    int high = size - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (offsets[mid] <= index) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    children.get(low).appendLineContentTo(buffer, index - offsets[low], withStyles);
+  }
+
+  int[] getOffsets() {
+    if (offsets == null) {
+      int[] offsets = new int[children.size() + 1];
+      for (int i = 0; i < children.size(); i++) {
+        offsets[i + 1] = offsets[i] + children.get(i).getHeight();
+      }
+      this.offsets = offsets;
+    }
+    return offsets;
+  }
+
+  @Override
+  public SequenceBlock copy() {
+    return copyLayoutTo(new SequenceBlock(children.stream()
+        .map(Block::copy)
+        .toList()));
   }
 
   @Override
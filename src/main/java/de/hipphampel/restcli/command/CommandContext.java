@@ -68,6 +68,11 @@ public class CommandContext {
       .repeatable()
       .parameter(CMD_ARG_OUTPUT_PARAMETER)
       .build();
+  public static final Positional CMD_ARG_OUTPUT_FILE = positional("<path>")
+      .build();
+  public static final Option CMD_OPT_OUTPUT_FILE = option("--output-file")
+      .parameter(CMD_ARG_OUTPUT_FILE)
+      .build();
 
   private final CommandInvoker commandInvoker;
   private final ApiFactory templateApiFactory;
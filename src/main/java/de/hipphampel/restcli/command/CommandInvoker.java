@@ -53,10 +53,12 @@ import java.util.stream.Stream;
 
 import static de.hipphampel.restcli.command.CommandContext.CMD_ARG_ENVIRONMENT;
 import static de.hipphampel.restcli.command.CommandContext.CMD_ARG_FORMAT;
+import static de.hipphampel.restcli.command.CommandContext.CMD_ARG_OUTPUT_FILE;
 import static de.hipphampel.restcli.command.CommandContext.CMD_ARG_OUTPUT_PARAMETER;
 import static de.hipphampel.restcli.command.CommandContext.CMD_ARG_TEMPLATE;
 import static de.hipphampel.restcli.command.CommandContext.CMD_OPT_ENVIRONMENT;
 import static de.hipphampel.restcli.command.CommandContext.CMD_OPT_FORMAT;
+import static de.hipphampel.restcli.command.CommandContext.CMD_OPT_OUTPUT_FILE;
 import static de.hipphampel.restcli.command.CommandContext.CMD_OPT_OUTPUT_PARAMETER;
 import static de.hipphampel.restcli.command.CommandContext.CMD_OPT_TEMPLATE;
 import static de.hipphampel.restcli.command.ParentCommand.CMD_ARG_SUB_COMMAND;
@@ -128,6 +130,12 @@ public class CommandInvoker {
       }
     }
 
+    if (rootCommandLine.hasOption(CMD_OPT_OUTPUT_FILE)) {
+      aliasCommandLine.addOption(CMD_OPT_OUTPUT_FILE);
+      Subset subset = aliasCommandLine.addSubset(CMD_OPT_OUTPUT_FILE);
+      subset.addValue(CMD_ARG_OUTPUT_FILE, rootCommandLine.getValue(CMD_ARG_OUTPUT_FILE).orElseThrow());
+    }
+
     List<String> mergedParameters = Stream.concat(rootCommandLine.getValues(CMD_ARG_OUTPUT_PARAMETER).stream(),
             aliasCommandLine.getValues(CMD_ARG_OUTPUT_PARAMETER).stream())
         .collect(Collectors.groupingBy(kv -> KeyValue.fromString(kv).key()))
@@ -150,6 +158,10 @@ public class CommandInvoker {
     return repository.getCommandInfo(context.configPath(), address);
   }
 
+  public Optional<CommandTree> loadSubtree(CommandContext context, CommandAddress address, int depth) {
+    return repository.loadSubtree(context.configPath(), address, depth, child -> true, false);
+  }
+
   public Optional<Command> getCommand(CommandContext context, CommandAddress address) {
     return repository.getCommand(context.configPath(), address);
   }
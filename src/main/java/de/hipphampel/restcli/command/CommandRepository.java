@@ -26,7 +26,9 @@ import de.hipphampel.restcli.command.builtin.BuiltinCommand;
 import de.hipphampel.restcli.command.config.CommandConfig;
 import de.hipphampel.restcli.command.config.CommandConfig.Type;
 import de.hipphampel.restcli.command.config.CommandConfigRepository;
+import de.hipphampel.restcli.command.config.CommandSummary;
 import de.hipphampel.restcli.command.custom.CustomCommandFactory;
+import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.utils.Pair;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.spi.Bean;
@@ -41,6 +43,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @ApplicationScoped
 public class CommandRepository {
@@ -63,14 +66,35 @@ public class CommandRepository {
   }
 
   public Optional<CommandInfo> getCommandInfo(Path rootDir, CommandAddress address) {
-    return getRegistryEntry(rootDir, address)
+    fillBuiltinMapIfRequired();
+    return getBuiltinRegistryEntry(address)
+        .or(() -> getIndexedRegistryEntry(rootDir, address))
         .map(entry -> addChildren(rootDir, address, entry))
         .map(entry -> toCommandInfo(address, entry));
   }
 
+  public Optional<CommandTree> loadSubtree(Path rootDir, CommandAddress address, int depth, Predicate<CommandAddress> filter,
+      boolean withConfigs) {
+    fillBuiltinMapIfRequired();
+    return getCommandInfo(rootDir, address)
+        .map(info -> loadSubtree(rootDir, info, depth, filter, withConfigs));
+  }
+
+  CommandTree loadSubtree(Path rootDir, CommandInfo info, int depth, Predicate<CommandAddress> filter, boolean withConfigs) {
+    CommandConfig config = withConfigs && !info.builtin() ? configRepository.find(rootDir, info.address()).orElse(null) : null;
+    List<CommandTree> children = depth == 0 ? List.of() : info.children().parallelStream()
+        .filter(filter)
+        .map(child -> getCommandInfo(rootDir, child)
+            .orElseThrow(() -> new ExecutionException("Cannot find command \"%s\".".formatted(child))))
+        .map(childInfo -> loadSubtree(rootDir, childInfo, depth - 1, filter, withConfigs))
+        .toList();
+    return new CommandTree(info, config, children);
+  }
+
   public Pair<CommandAddress, Optional<String>> getLongestExistingCommandAddress(Path rootDir, CommandAddress address) {
     String child = null;
-    while (!address.isRoot() && getCommandInfo(rootDir, address).isEmpty()) {
+    fillBuiltinMapIfRequired();
+    while (!address.isRoot() && !builtins.containsKey(address) && configRepository.getSummary(rootDir, address).isEmpty()) {
       child = address.name();
       address = address.parent();
     }
@@ -99,11 +123,15 @@ public class CommandRepository {
   }
 
   Optional<RegistryEntry> getCustomRegistryEntry(Path rootDir, CommandAddress address) {
-    return configRepository.getValidatedPath(rootDir, address)
-        .map(path -> configRepository.load(rootDir, address))
+    return configRepository.find(rootDir, address)
         .map(config -> new CustomRegistryEntry(address, config));
   }
 
+  Optional<RegistryEntry> getIndexedRegistryEntry(Path rootDir, CommandAddress address) {
+    return configRepository.getSummary(rootDir, address)
+        .map(summary -> new IndexedRegistryEntry(rootDir, address, summary));
+  }
+
   RegistryEntry addChildren(Path rootDir, CommandAddress address, RegistryEntry entry) {
     if (rootDir != null) {
       entry.getChildren().addAll(configRepository.getChildren(rootDir, address));
@@ -197,4 +225,34 @@ public class CommandRepository {
       return config.getType()== Type.Parent;
     }
   }
+
+  static class IndexedRegistryEntry extends RegistryEntry {
+
+    private final Path rootDir;
+    private final CommandAddress address;
+    private final CommandSummary summary;
+
+    IndexedRegistryEntry(Path rootDir, CommandAddress address, CommandSummary summary) {
+      this.rootDir = rootDir;
+      this.address = address;
+      this.summary = summary;
+    }
+
+    @Override
+    Command createCommand(CommandRepository repository) {
+      return repository.getCustomRegistryEntry(rootDir, address)
+          .map(entry -> entry.createCommand(repository))
+          .orElseThrow(() -> new ExecutionException("Failed to load configuration for command \"%s\".".formatted(address)));
+    }
+
+    @Override
+    String getSynopsis() {
+      return summary.synopsis();
+    }
+
+    @Override
+    boolean allowsChildren() {
+      return summary.type() == Type.Parent;
+    }
+  }
 }
@@ -42,6 +42,7 @@ import de.hipphampel.restcli.template.TemplateRepository;
 import de.hipphampel.restcli.utils.CollectionUtils;
 import de.hipphampel.restcli.utils.KeyValue;
 import de.hipphampel.restcli.utils.Pair;
+import de.hipphampel.restcli.utils.VariableScope;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -56,6 +57,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -90,8 +92,15 @@ public class CommandUtils {
   }
 
   public static Function<CommandContext, Block> helpSection(String template) {
-    return context ->
-        FormatBuilder.buildFormat(context.templateRenderer().render(template, createHelpTextTemplateModel(context)));
+    // The template only depends on the application name; layout happens on copies, so the output width does not matter. This only
+    // pays off when help is rendered repeatedly within one process (e.g. in the shell), a single `help` renders each section once
+    Map<String, Block> cache = new ConcurrentHashMap<>();
+    return context -> cache.computeIfAbsent(context.applicationName(), ignore -> renderHelpText(context, template))
+        .copy();
+  }
+
+  public static Block renderHelpText(CommandContext context, String template) {
+    return FormatBuilder.buildFormat(context.templateRenderer().render(template, createHelpTextTemplateModel(context)));
   }
 
   public static TemplateModel createHelpTextTemplateModel(CommandContext context) {
@@ -138,7 +147,7 @@ public class CommandUtils {
 
   public static Map<String, Object> fillVariables(CommandContext context, Map<String, Object> variables,
       List<KeyValue<?>> keyValues, boolean removeAllowed) {
-    variables = new HashMap<>(variables);
+    Map<String, Object> localVariables = removeAllowed ? new HashMap<>(variables) : new HashMap<>();
     Set<String> alreadySeen = new HashSet<>();
     for (KeyValue<?> keyValue : keyValues) {
       String key = keyValue.key();
@@ -146,16 +155,16 @@ public class CommandUtils {
         showWarning(context, "Modifying variable \"%s\" more than once - using last modification.".formatted(key));
       }
       if (keyValue.hasValue()) {
-        variables.put(key, keyValue.value());
+        localVariables.put(key, keyValue.value());
       } else {
         if (!removeAllowed) {
           throw new ExecutionException("Removing variables (\"%s\") not allowed.".formatted(key));
-        } else if (variables.remove(key) == null) {
+        } else if (localVariables.remove(key) == null) {
           showWarning(context, "Removing not existing variable \"%s\" has no effect.".formatted(key));
         }
       }
     }
-    return variables;
+    return removeAllowed ? localVariables : VariableScope.of(variables).with(localVariables);
   }
 
   public static Map<String, List<String>> fillHeaders(CommandContext context, Map<String, List<String>> headers,
@@ -181,8 +190,7 @@ public class CommandUtils {
 
   public static RequestContext createRequestContext(CommandContext context, TemplateRepository templateRepository,
       Map<String, Object> variables) {
-    Map<String, Object> effectiveVariables = new HashMap<>(context.environment().getVariables());
-    effectiveVariables.putAll(variables);
+    VariableScope effectiveVariables = VariableScope.of(context.environment().getVariables()).with(variables);
     OutputFormat format = createOutputFormat(context, templateRepository, effectiveVariables);
     return new RequestContext(
         context.httpClient(),
@@ -190,7 +198,8 @@ public class CommandUtils {
         format,
         context.out(),
         context.err(),
-        context.interactive());
+        context.interactive(),
+        context.rootCommandLine().getValue(CommandContext.CMD_ARG_OUTPUT_FILE).map(Path::of).orElse(null));
   }
 
   static OutputFormat createOutputFormat(CommandContext context, TemplateRepository templateRepository, Map<String, Object> variables) {
@@ -77,16 +77,16 @@ public interface ParentCommand extends Command {
           `%s` is a collection of sub commands and has no functionality apart from grouping the commands.
           See the following list for the available sub commands.""".formatted(name())));
       case SUB_COMMANDS -> {
-        CommandInfo info = context.commandInvoker().getCommandInfo(context, address()).orElseThrow();
-        if (info.children().isEmpty()) {
+        CommandTree tree = context.commandInvoker().loadSubtree(context, address(), 1).orElseThrow();
+        if (tree.children().isEmpty()) {
           yield Optional.empty();
         }
         yield Optional.of(
             FormatBuilder.buildFormat(
                 "|---|---|---|" + System.lineSeparator() +
-                    info.children().stream()
-                        .sorted(Comparator.comparing(CommandAddress::toString))
-                        .map(address -> context.commandInvoker().getCommandInfo(context, address).orElseThrow())
+                    tree.children().stream()
+                        .map(CommandTree::info)
+                        .sorted(Comparator.comparing(childInfo -> childInfo.address().toString()))
                         .map(childInfo -> "|%s|-|%s|%n".formatted(childInfo.address().name(), childInfo.synopsis()))
                         .collect(Collectors.joining(""))));
       }
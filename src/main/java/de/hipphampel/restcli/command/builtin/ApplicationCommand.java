@@ -27,6 +27,7 @@ import static de.hipphampel.restcli.cli.commandline.CommandLineSpec.positional;
 import static de.hipphampel.restcli.command.CommandContext.CMD_ARG_ENVIRONMENT;
 import static de.hipphampel.restcli.command.CommandContext.CMD_OPT_ENVIRONMENT;
 import static de.hipphampel.restcli.command.CommandContext.CMD_OPT_FORMAT;
+import static de.hipphampel.restcli.command.CommandContext.CMD_OPT_OUTPUT_FILE;
 import static de.hipphampel.restcli.command.CommandContext.CMD_OPT_OUTPUT_PARAMETER;
 import static de.hipphampel.restcli.command.CommandContext.CMD_OPT_TEMPLATE;
 
@@ -40,6 +41,7 @@ import de.hipphampel.restcli.command.CommandContext;
 import de.hipphampel.restcli.command.CommandUtils;
 import de.hipphampel.restcli.command.HelpSection;
 import de.hipphampel.restcli.command.HelpSnippets;
+import de.hipphampel.restcli.completion.CompletionCache;
 import de.hipphampel.restcli.config.ApplicationConfig;
 import de.hipphampel.restcli.config.ApplicationConfigRepository;
 import de.hipphampel.restcli.env.Environment;
@@ -121,6 +123,13 @@ public class ApplicationCommand extends BuiltinParentCommand {
       output parameters are available depends on the format specified via the `--format` option or the template given by the `--template`
       option.
             
+      --output-file <path>
+            
+      >This option is only evaluated for sub-commands that execute HTTP requests. If specified, the body of a successful response is written
+      directly to the file `<path>` instead of being passed to the output format, which then sees an empty body but still has access to
+      the status code and headers. If a previous download to the same `<path>` was interrupted, it is resumed by requesting only the
+      missing bytes, provided that the server supports range requests and the resource has not changed in the meantime.
+            
       -t | --template <name-or-address>
             
       >This option is only evaluated for sub-commands that execute HTTP requests. Specifies the template name or address to use for
@@ -153,6 +162,8 @@ public class ApplicationCommand extends BuiltinParentCommand {
   ApplicationConfigRepository applicationConfigRepository;
   @Inject
   EnvironmentRepository environmentRepository;
+  @Inject
+  CompletionCache completionCache;
 
   public ApplicationCommand() {
     super(CommandAddress.ROOT, "...",
@@ -183,7 +194,7 @@ public class ApplicationCommand extends BuiltinParentCommand {
   @Override
   public CommandLineSpec commandLineSpec() {
     return new CommandLineSpec(false, CMD_OPT_CONFIG, CMD_OPT_ENVIRONMENT, CMD_OPT_FORMAT, CMD_OPT_TEMPLATE,
-        CMD_OPT_INTERACTIVE, CMD_OPT_OUTPUT_PARAMETER, CMD_OPT_VERSION, CMD_ARG_SUB_COMMAND);
+        CMD_OPT_INTERACTIVE, CMD_OPT_OUTPUT_PARAMETER, CMD_OPT_OUTPUT_FILE, CMD_OPT_VERSION, CMD_ARG_SUB_COMMAND);
   }
 
   @Override
@@ -211,7 +222,11 @@ public class ApplicationCommand extends BuiltinParentCommand {
         .environment(environment)
         .interactive(interactive);
 
-    return super.execute(context, commandLine);
+    try {
+      return super.execute(context, commandLine);
+    } finally {
+      completionCache.updateIfModified(configPath);
+    }
   }
 
   void printVersion(CommandContext context) {
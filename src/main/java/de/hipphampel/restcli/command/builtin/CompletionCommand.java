@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.builtin;
+
+import static de.hipphampel.restcli.cli.commandline.CommandLineSpec.positional;
+
+import de.hipphampel.restcli.cli.commandline.CommandLine;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec.Positional;
+import de.hipphampel.restcli.cli.format.Block;
+import de.hipphampel.restcli.command.CommandAddress;
+import de.hipphampel.restcli.command.CommandContext;
+import de.hipphampel.restcli.command.CommandUtils;
+import de.hipphampel.restcli.command.HelpSection;
+import de.hipphampel.restcli.completion.CompletionCache;
+import de.hipphampel.restcli.exception.UsageException;
+import de.hipphampel.restcli.io.InputStreamProviderConfig;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@ApplicationScoped
+@Unremovable
+public class CompletionCommand extends BuiltinCommand {
+
+  public static final String NAME = "completion";
+
+  static final List<String> SHELLS = List.of("bash", "fish", "zsh");
+
+  static final Positional CMD_ARG_SHELL = positional(String.join("|", SHELLS))
+      .validator((positional, value) -> {
+        if (!SHELLS.contains(value)) {
+          throw new UsageException("Shell must be one of: %s.".formatted(String.join(", ", SHELLS)));
+        }
+      })
+      .build();
+
+  static final Function<CommandContext, Block> HELP_SECTION_DESCRIPTION = CommandUtils.helpSection("""
+      Prints a shell completion script for `${applicationName}`. The script does not start `${applicationName}` itself when completing, but
+      reads a completion cache stored in the configuration directory, which contains the commands, their options, the environments and the
+      template names. The cache is written by this command and automatically updated whenever commands, environments or templates are
+      changed via `${applicationName}`.
+
+      To enable the completion, add the following line to the initialization file of your shell:
+
+      >bash: `source <(${applicationName} completion bash)`
+
+      >zsh: `source <(${applicationName} completion zsh)`
+
+      >fish: `${applicationName} completion fish | source`
+      """);
+  static final Function<CommandContext, Block> HELP_SECTION_ARGS_AND_OPTIONS = CommandUtils.helpSection("""
+      bash|fish|zsh
+
+      >The shell to print the completion script for.
+      """);
+
+  @Inject
+  CompletionCache completionCache;
+
+  public CompletionCommand() {
+    super(
+        CommandAddress.fromString(NAME),
+        "Prints a shell completion script.",
+        new CommandLineSpec(true, CMD_ARG_SHELL),
+        Map.of(HelpSection.DESCRIPTION, HELP_SECTION_DESCRIPTION,
+            HelpSection.ARGS_AND_OPTIONS, HELP_SECTION_ARGS_AND_OPTIONS));
+  }
+
+  @Override
+  public boolean execute(CommandContext context, CommandLine commandLine) {
+    String shell = commandLine.getValue(CMD_ARG_SHELL).orElseThrow();
+    completionCache.update(context.configPath());
+    context.out().chars(createScript(context, shell));
+    return true;
+  }
+
+  static String createScript(CommandContext context, String shell) {
+    String script = CommandUtils.toString(context, InputStreamProviderConfig.fromString("builtin:/completion/%s.sh".formatted(shell)),
+        Map.of());
+    String awkProgram = CommandUtils.toString(context, InputStreamProviderConfig.fromString("builtin:/completion/completion.awk"),
+        Map.of());
+    String applicationName = context.applicationName();
+    return script
+        .replace("@AWK_PROGRAM@", awkProgram)
+        .replace("@FUNCTION_NAME@", applicationName.replaceAll("[^A-Za-z0-9_]", "_"))
+        .replace("@APPLICATION_NAME@", applicationName);
+  }
+}
@@ -0,0 +1,271 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.builtin;
+
+import de.hipphampel.restcli.cli.commandline.CommandLine;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec;
+import de.hipphampel.restcli.cli.format.Block;
+import de.hipphampel.restcli.command.CommandAddress;
+import de.hipphampel.restcli.command.CommandContext;
+import de.hipphampel.restcli.command.CommandUtils;
+import de.hipphampel.restcli.command.HelpSection;
+import de.hipphampel.restcli.env.Environment;
+import de.hipphampel.restcli.env.EnvironmentRepository;
+import de.hipphampel.restcli.exception.ExecutionException;
+import de.hipphampel.restcli.exception.UsageException;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@ApplicationScoped
+@Unremovable
+public class ShellCommand extends BuiltinCommand {
+
+  public static final String NAME = "shell";
+
+  static final int MAX_HISTORY_SIZE = 1000;
+
+  static final Function<CommandContext, Block> HELP_SECTION_DESCRIPTION = CommandUtils.helpSection("""
+      Starts an interactive session that reads commands line by line from standard input and executes them, so that
+      `${applicationName}` is started only once for a series of calls. A line is split into words like a shell does, respecting
+      single and double quotes and backslash escapes, and is executed like an alias: it consists of an optional `-e`, `-f`, `-t` or `-o`
+      option (see `${applicationName} help` for details) followed by the command and its arguments, e.g. `-e test cmd ls`.
+      The environment, the command indexes, compiled templates and the HTTP connections are kept between the lines.
+
+      In addition, the following meta commands are available:
+
+      `:env [<environment>]`
+
+      >Shows the current environment, or switches to `<environment>` for the following lines.
+
+      `:timing [on|off]`
+
+      >Toggles or sets whether the execution time of each line is printed.
+
+      `:history`
+
+      >Lists the lines entered so far. `!<n>` executes line number `<n>` again, `!!` the last one.
+
+      `:help`
+
+      >Lists the meta commands.
+
+      `:quit`
+
+      >Ends the session, which is also done at the end of the input.
+
+      The prompt and the timings are printed to standard error, so that standard output only contains the output of the commands.
+      """);
+
+  @Inject
+  EnvironmentRepository environmentRepository;
+
+  public ShellCommand() {
+    super(
+        CommandAddress.fromString(NAME),
+        "Starts an interactive session.",
+        new CommandLineSpec(true),
+        Map.of(HelpSection.DESCRIPTION, HELP_SECTION_DESCRIPTION));
+  }
+
+  @Override
+  public boolean execute(CommandContext context, CommandLine commandLine) {
+    Session session = new Session();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(context.in(), StandardCharsets.UTF_8));
+    try {
+      String line;
+      while (!session.quit && (line = readLine(context, reader)) != null) {
+        executeLine(context, session, line.strip());
+      }
+    } catch (IOException ioe) {
+      throw new ExecutionException("Failed to read input.", ioe);
+    }
+    return true;
+  }
+
+  String readLine(CommandContext context, BufferedReader reader) throws IOException {
+    context.err().chars(context.applicationName() + "> ");
+    context.err().asWriter().flush();
+    return reader.readLine();
+  }
+
+  void executeLine(CommandContext context, Session session, String line) {
+    if (line.isEmpty() || line.startsWith("#")) {
+      return;
+    }
+    if (line.startsWith("!")) {
+      String recalled = recallHistory(session, line.substring(1));
+      if (recalled == null) {
+        CommandUtils.showError(context, "No such history entry \"%s\".", line);
+        return;
+      }
+      context.err().line(recalled);
+      line = recalled;
+    }
+    addHistory(session, line);
+
+    long start = System.nanoTime();
+    try {
+      List<String> words = splitWords(line);
+      if (line.startsWith(":")) {
+        executeMetaCommand(context, session, words);
+        return;
+      }
+      session.lastResult = context.commandInvoker().invokeAliasCommand(context, words, null, null);
+    } catch (UsageException | ExecutionException e) {
+      CommandUtils.showError(context, e.getMessage());
+      session.lastResult = false;
+    } finally {
+      if (session.timing && !line.startsWith(":")) {
+        context.err().linef("(%d ms, %s)", (System.nanoTime() - start) / 1_000_000, session.lastResult ? "ok" : "failed");
+      }
+    }
+  }
+
+  void executeMetaCommand(CommandContext context, Session session, List<String> words) {
+    String command = words.get(0);
+    List<String> args = words.subList(1, words.size());
+    switch (command) {
+      case ":env" -> executeEnv(context, args);
+      case ":timing" -> executeTiming(context, session, args);
+      case ":history" -> {
+        for (int i = 0; i < session.history.size(); i++) {
+          context.out().linef("%5d  %s", session.historyOffset + i + 1, session.history.get(i));
+        }
+      }
+      case ":help" -> context.out().markdown("""
+          `:env [<environment>]`, `:timing [on|off]`, `:history`, `!<n>`, `!!`, `:help`, `:quit`
+          """);
+      case ":quit", ":exit" -> session.quit = true;
+      default -> throw new UsageException("Unknown meta command \"%s\" - type `:help` for a list.".formatted(command));
+    }
+  }
+
+  void executeEnv(CommandContext context, List<String> args) {
+    if (args.isEmpty()) {
+      context.out().line(context.environment().getName());
+      return;
+    }
+    String name = args.get(0);
+    Environment environment = Environment.EMPTY.equals(name)
+        ? Environment.empty()
+        : environmentRepository.getEnvironment(context.configPath(), name)
+            .orElseThrow(() -> new ExecutionException("Environment \"%s\" does not exist.".formatted(name)));
+    context.environment(environment);
+  }
+
+  void executeTiming(CommandContext context, Session session, List<String> args) {
+    if (args.isEmpty()) {
+      session.timing = !session.timing;
+    } else if ("on".equals(args.get(0)) || "off".equals(args.get(0))) {
+      session.timing = "on".equals(args.get(0));
+    } else {
+      throw new UsageException("Expected \"on\" or \"off\", but got \"%s\".".formatted(args.get(0)));
+    }
+    context.out().line("Timing is " + (session.timing ? "on." : "off."));
+  }
+
+  static String recallHistory(Session session, String reference) {
+    if (session.history.isEmpty()) {
+      return null;
+    }
+    if ("!".equals(reference)) {
+      return session.history.get(session.history.size() - 1);
+    }
+    try {
+      int index = Integer.parseInt(reference) - session.historyOffset - 1;
+      return index >= 0 && index < session.history.size() ? session.history.get(index) : null;
+    } catch (NumberFormatException nfe) {
+      return null;
+    }
+  }
+
+  static void addHistory(Session session, String line) {
+    if (session.history.size() == MAX_HISTORY_SIZE) {
+      session.history.remove(0);
+      session.historyOffset++;
+    }
+    session.history.add(line);
+  }
+
+  static List<String> splitWords(String line) {
+    List<String> words = new ArrayList<>();
+    StringBuilder word = null;
+    char quote = 0;
+    for (int i = 0; i < line.length(); i++) {
+      char ch = line.charAt(i);
+      if (quote == '\'') {
+        if (ch == '\'') {
+          quote = 0;
+        } else {
+          word.append(ch);
+        }
+      } else if (ch == '\\' && i + 1 < line.length() && (quote == 0 || "\"\\$`".indexOf(line.charAt(i + 1)) >= 0)) {
+        word = word == null ? new StringBuilder() : word;
+        word.append(line.charAt(++i));
+      } else if (quote == '"') {
+        if (ch == '"') {
+          quote = 0;
+        } else {
+          word.append(ch);
+        }
+      } else if (Character.isWhitespace(ch)) {
+        if (word != null) {
+          words.add(word.toString());
+          word = null;
+        }
+      } else {
+        word = word == null ? new StringBuilder() : word;
+        if (ch == '\'' || ch == '"') {
+          quote = ch;
+        } else {
+          word.append(ch);
+        }
+      }
+    }
+    if (quote != 0) {
+      throw new UsageException("Unterminated quote in line.");
+    }
+    if (word != null) {
+      words.add(word.toString());
+    }
+    return words;
+  }
+
+  static class Session {
+
+    final List<String> history = new ArrayList<>();
+    int historyOffset;
+    boolean timing;
+    boolean quit;
+    boolean lastResult = true;
+  }
+}
@@ -63,7 +63,10 @@ public abstract class CfgCommandBase extends BuiltinCommand {
         CfgCommandBase::setOutputWidth),
     OUTPUT_WITH_STYLES("output-with-styles",
         config -> String.valueOf(config.isOutputWithStyles()),
-        CfgCommandBase::setOutputWithStyles);
+        CfgCommandBase::setOutputWithStyles),
+    PERSISTENT_CALL_CACHE("persistent-call-cache",
+        config -> String.valueOf(config.isPersistentCallCache()),
+        CfgCommandBase::setPersistentCallCache);
 
     private final String name;
     private final Function<ApplicationConfig, String> getter;
@@ -100,6 +103,7 @@ public abstract class CfgCommandBase extends BuiltinCommand {
       |default-template  |String |Specifies how to output HTTP responses unless something more specific was given by the request or the environment. Type `${applicationName} help :template` for more information about templates.|
       |output-width      |Integer|Defines the preferred output width. At least the output generated by the application itself is restricted to the given width as far as possible - it tries to wrap the lines if possible to not exceed the output width. Some output may still be longer. Negative values do not limit the output in width, so no line wrapping will take place. Default value is `80`.|
       |output-with-styles|Boolean|If set to `true`, ANSI escape codes are added to the applications output to highlight sections or key values. If `false`, no escape codes are emitted. Default is `true`.|
+      |persistent-call-cache|Boolean|If set to `true`, the results of the template API functions `cached_call` and `cached_sh` are additionally stored encrypted in the configuration directory, so that they survive the current invocation until their time to live is over. Default is `false`.|
       """);
 
   @Inject
@@ -121,6 +125,10 @@ public abstract class CfgCommandBase extends BuiltinCommand {
     config.setOutputWithStyles(Boolean.parseBoolean(value));
   }
 
+  protected void setPersistentCallCache(CommandContext context, ApplicationConfig config, String value) {
+    config.setPersistentCallCache(Boolean.parseBoolean(value));
+  }
+
   protected void setRequestTimeout(CommandContext context, ApplicationConfig config, String value) {
     try {
       config.setRequestTimeout(Long.parseLong(value));
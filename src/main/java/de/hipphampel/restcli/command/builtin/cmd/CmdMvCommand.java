@@ -115,7 +115,6 @@ public class CmdMvCommand extends CmdWriteCommandBase {
 
     checkIfValidCustomCommandAddress(context, address);
     checkIfReplacementValid(context, address, replace, force);
-    commandConfigRepository.delete(context.configPath(), address, true);
-    commandConfigRepository.move(context.configPath(), source, address);
+    commandConfigRepository.move(context.configPath(), source, address, true);
   }
 }
@@ -28,6 +28,10 @@ import static de.hipphampel.restcli.command.builtin.cmd.CmdCommandUtils.CMD_ARG_
 import static de.hipphampel.restcli.command.builtin.cmd.CmdCommandUtils.CMD_OPT_FORCE;
 import static de.hipphampel.restcli.command.builtin.cmd.CmdCommandUtils.CMD_OPT_REPLACE;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import de.hipphampel.restcli.cli.commandline.CommandLine;
 import de.hipphampel.restcli.cli.commandline.CommandLineSpec;
 import de.hipphampel.restcli.cli.commandline.CommandLineSpec.Option;
@@ -40,6 +44,7 @@ import de.hipphampel.restcli.command.HelpSection;
 import de.hipphampel.restcli.command.HelpSnippets;
 import de.hipphampel.restcli.command.builtin.cmd.openapi.Spec;
 import de.hipphampel.restcli.command.builtin.cmd.openapi.Spec.OperationCoordinate;
+import de.hipphampel.restcli.command.builtin.cmd.openapi.SpecCache;
 import de.hipphampel.restcli.command.config.BodyConfig;
 import de.hipphampel.restcli.command.config.CommandConfig;
 import de.hipphampel.restcli.command.config.CommandConfig.Type;
@@ -47,28 +52,45 @@ import de.hipphampel.restcli.command.config.CommandConfigTree;
 import de.hipphampel.restcli.command.config.ParameterConfig;
 import de.hipphampel.restcli.command.config.ParameterConfig.Style;
 import de.hipphampel.restcli.command.config.ParameterListConfig;
+import de.hipphampel.restcli.command.config.PartConfig;
 import de.hipphampel.restcli.command.config.RestCommandConfig;
+import de.hipphampel.restcli.env.Environment;
 import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.io.InputStreamProviderConfig;
+import de.hipphampel.restcli.template.TemplateRepository;
+import de.hipphampel.restcli.utils.FileUtils;
 import de.hipphampel.restcli.utils.Pair;
 import io.quarkus.arc.Unremovable;
 import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.parser.OpenAPIV3Parser;
 import io.swagger.v3.parser.converter.SwaggerConverter;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -79,6 +101,7 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
 
   static final String NAME = "openapi";
   static final String BODY_VAR = "_body";
+  static final String SYNC_MANIFEST = "openapi-sync.json";
 
   static final Option CMD_OPT_GROUP_BY_TAG = option("-g", "--group-by-tag")
       .build();
@@ -107,6 +130,8 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
   static final Option CMD_OPT_ACCEPT_OPT = option("-a", "--accept-option")
       .parameter(CMD_ARG_ACCEPT_OPT)
       .build();
+  static final Option CMD_OPT_SYNC = option("-s", "--sync")
+      .build();
   static final Positional CMD_ARG_SPEC = positional("<spec>")
       .optional()
       .build();
@@ -134,6 +159,9 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
             
       >The source where to read the OpenAPI specification from. If reading from a file, prefix the file name with an `@` sign: this is
       specified as an *input source* (see section "Further Infos").
+      
+      >If the source is a `url:` with an `http` or `https` URL, the specification is cached in the configuration directory. Subsequent
+      imports of the same URL just revalidate the cached copy via a conditional request and skip parsing, if it is unchanged.
             
       -a | --accept-option <option-name>
             
@@ -184,6 +212,13 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
       >>This option is required in case that the command to replace has sub-commands. Note that when replacing a group command, all its
       sub commands are implicitly removed.
             
+      -s | --sync
+            
+      >Synchronizes an already imported command with the OpenAPI specification: only those commands are written that were added or changed
+      since the last import, and commands for operations no longer present in the specification are removed. Unchanged commands -
+      including their templates - as well as commands not created by the import are left untouched. If the existing command was not
+      imported by this command before, the options `--replace` and `--force` are required as for a normal import.
+            
       -t | --tag <tag>
             
       >If specified, import only those commands belonging to the specified `<tag>`. You may specify this option more than once.
@@ -197,11 +232,16 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
                """ +
           HelpSnippets.FURTHER_INFOS_INPUT_SOURCE);
 
+  @Inject
+  ObjectMapper objectMapper;
+  @Inject
+  TemplateRepository templateRepository;
+
   public CmdOpenApiCommand() {
     super(NAME,
         "Imports commands from an OpenAPI spec.",
         new CommandLineSpec(true, CMD_OPT_BASE_URI, CMD_OPT_ACCEPT_OPT, CMD_OPT_CONTENT_TYPE_OPT, CMD_OPT_INCLUDE_DEPRECATED_OPERATIONS,
-            CMD_OPT_GROUP_BY_TAG, CMD_OPT_TAG, CMD_OPT_OPERATIONS, CMD_OPT_REPLACE, CMD_ARG_ADDRESS, CMD_ARG_SPEC),
+            CMD_OPT_GROUP_BY_TAG, CMD_OPT_TAG, CMD_OPT_OPERATIONS, CMD_OPT_REPLACE, CMD_OPT_SYNC, CMD_ARG_ADDRESS, CMD_ARG_SPEC),
         Map.of(
             HelpSection.DESCRIPTION, HELP_SECTION_DESCRIPTION,
             HelpSection.ARGS_AND_OPTIONS, HELP_SECTION_ARGS_AND_OPTIONS,
@@ -226,6 +266,7 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
     importContext.tags = commandLine.getValues(CMD_ARG_TAG);
     importContext.includeDeprecated = commandLine.hasOption(CMD_OPT_INCLUDE_DEPRECATED_OPERATIONS);
     importContext.grouped = commandLine.hasOption(CMD_OPT_GROUP_BY_TAG);
+    importContext.sync = commandLine.hasOption(CMD_OPT_SYNC);
 
     importOpenApi(context, importContext, specName);
     return true;
@@ -234,7 +275,14 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
   void importOpenApi(CommandContext context, ImportContext importContext, InputStreamProviderConfig specName) {
 
     checkIfValidCustomCommandAddress(context, importContext.address);
-    checkIfReplacementValid(context, importContext.address, importContext.replace, importContext.force);
+    Optional<Map<CommandAddress, String>> previousHashes = importContext.sync
+        && commandRepository.getCommandInfo(context.configPath(), importContext.address).isPresent()
+        ? loadSyncManifest(context, importContext.address)
+        : Optional.empty();
+    if (previousHashes.isEmpty()) {
+      // Without a manifest it is unknown which of the existing commands were imported, so this is a plain replacement
+      checkIfReplacementValid(context, importContext.address, importContext.replace, importContext.force);
+    }
 
     Spec spec = readOpenAPISpec(context, specName);
     List<OperationCoordinate> coordinates = spec.allOperationCoordinates().stream()
@@ -247,26 +295,144 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
     } else {
       commands = createUngroupedOperations(spec, coordinates, importContext);
     }
-    store(context, importContext.address, commands);
+
+    Map<CommandAddress, String> hashes = computeHashes(commands);
+    if (previousHashes.isPresent()) {
+      hashes = syncCommands(context, importContext.address, commands, hashes, previousHashes.get(),
+          availableAddresses(spec, importContext.grouped));
+    } else {
+      store(context, importContext.address, commands);
+    }
+    storeSyncManifest(context, importContext.address, hashes);
+  }
+
+  Map<CommandAddress, String> syncCommands(CommandContext context, CommandAddress address, CommandConfigTree commands,
+      Map<CommandAddress, String> hashes, Map<CommandAddress, String> previousHashes, Set<CommandAddress> available) {
+    Map<CommandAddress, CommandConfig> configs = new HashMap<>();
+    flatten(commands, CommandAddress.ROOT, configs);
+
+    // Commands filtered out by the current options are kept; only those no longer in the spec are removed
+    Map<CommandAddress, String> manifest = new HashMap<>(hashes);
+    List<CommandAddress> obsolete = new ArrayList<>();
+    previousHashes.forEach((relative, hash) -> {
+      if (available.contains(relative)) {
+        manifest.putIfAbsent(relative, hash);
+      } else if (!hashes.containsKey(relative)) {
+        obsolete.add(relative);
+      }
+    });
+
+    obsolete.stream()
+        .sorted(Comparator.comparing(CmdOpenApiCommand::depthOf).reversed())
+        .map(address::child)
+        .filter(child -> commandRepository.getCommandInfo(context.configPath(), child)
+            .filter(info -> info.children().isEmpty())
+            .isPresent())
+        .forEach(child -> {
+          templateRepository.deleteTemplatesForCommand(context.configPath(), child, true);
+          commandConfigRepository.delete(context.configPath(), child, true);
+        });
+
+    hashes.entrySet().stream()
+        .filter(entry -> !Objects.equals(previousHashes.get(entry.getKey()), entry.getValue())
+            || commandRepository.getCommandInfo(context.configPath(), address.child(entry.getKey())).isEmpty())
+        .map(Entry::getKey)
+        .sorted(Comparator.comparing(CmdOpenApiCommand::depthOf))
+        .forEach(relative -> commandConfigRepository.store(context.configPath(), address.child(relative), configs.get(relative)));
+    return manifest;
+  }
+
+  static Set<CommandAddress> availableAddresses(Spec spec, boolean grouped) {
+    Set<CommandAddress> addresses = new HashSet<>();
+    addresses.add(CommandAddress.ROOT);
+    for (OperationCoordinate coordinate : spec.allOperationCoordinates()) {
+      if (spec.operationOf(coordinate).map(Operation::getOperationId).isEmpty()) {
+        continue;
+      }
+      String name = commandNameOf(spec, coordinate);
+      if (grouped) {
+        for (String tag : spec.tagsOf(coordinate)) {
+          CommandAddress group = CommandAddress.ROOT.child(openApiToCommandName(tag));
+          addresses.add(group);
+          addresses.add(group.child(name));
+        }
+      } else {
+        addresses.add(CommandAddress.ROOT.child(name));
+      }
+    }
+    return addresses;
   }
 
-  static Spec readOpenAPISpec(CommandContext context, InputStreamProviderConfig name) {
-    String content = CommandUtils.toString(context, name, Map.of());
+  Optional<Map<CommandAddress, String>> loadSyncManifest(CommandContext context, CommandAddress address) {
+    Path path = commandConfigRepository.getDescriptorDir(context.configPath(), address).resolve(SYNC_MANIFEST);
+    if (!Files.isRegularFile(path)) {
+      return Optional.empty();
+    }
+    try {
+      Map<String, String> manifest = objectMapper.readValue(path.toFile(), new TypeReference<Map<String, String>>() {
+      });
+      return Optional.of(manifest.entrySet().stream()
+          .collect(Collectors.toMap(entry -> CommandAddress.fromString(entry.getKey()), Entry::getValue)));
+    } catch (IOException | IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
 
-    // Try version 3.x
-    ParseOptions resolve = new ParseOptions();
-    resolve.setResolve(true);
-    resolve.setFlatten(true);
-    resolve.setResolveFully(true);
-    SwaggerParseResult result = new OpenAPIV3Parser().readContents(content, List.of(), resolve);
+  void storeSyncManifest(CommandContext context, CommandAddress address, Map<CommandAddress, String> hashes) {
+    Path path = commandConfigRepository.getDescriptorDir(context.configPath(), address).resolve(SYNC_MANIFEST);
+    Map<String, String> manifest = new TreeMap<>();
+    hashes.forEach((relative, hash) -> manifest.put(relative.toString(), hash));
+    try {
+      FileUtils.writeAtomically(path, objectMapper.writeValueAsBytes(manifest));
+    } catch (IOException ioe) {
+      throw new ExecutionException("Failed to store the synchronization state for command \"%s\".".formatted(address), ioe);
+    }
+  }
 
-    // Try Version 2.x
-    if (result.getOpenAPI() == null) {
-      result = new SwaggerConverter().readContents(content, List.of(), resolve);
+  Map<CommandAddress, String> computeHashes(CommandConfigTree commands) {
+    Map<CommandAddress, CommandConfig> configs = new HashMap<>();
+    flatten(commands, CommandAddress.ROOT, configs);
+    ObjectWriter writer = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    return configs.entrySet().parallelStream()
+        .collect(Collectors.toMap(Entry::getKey, entry -> hashOf(writer, entry.getValue())));
+  }
+
+  static String hashOf(ObjectWriter writer, CommandConfig config) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(writer.writeValueAsBytes(config)));
+    } catch (IOException | NoSuchAlgorithmException e) {
+      throw new ExecutionException("Failed to compute hash for command configuration.", e);
+    }
+  }
+
+  static void flatten(CommandConfigTree tree, CommandAddress relative, Map<CommandAddress, CommandConfig> configs) {
+    if (tree.getConfig() != null) {
+      configs.put(relative, tree.getConfig());
+    }
+    if (tree.getSubCommands() != null) {
+      tree.getSubCommands().forEach((name, child) -> flatten(child, relative.child(name), configs));
+    }
+  }
+
+  static int depthOf(CommandAddress address) {
+    return address.isRoot() ? 0 : depthOf(address.parent()) + 1;
+  }
+
+  Spec readOpenAPISpec(CommandContext context, InputStreamProviderConfig name) {
+    SwaggerParseResult result;
+    if (isCacheableUrl(name) && context.configPath() != null) {
+      // Remote specs are revalidated with a conditional GET; unchanged ones are taken from the cache without parsing
+      Environment environment = context.environment();
+      Duration timeout = Duration.ofMillis(environment.getRequestTimeout() == null ? context.applicationConfig().getRequestTimeout()
+          : environment.getRequestTimeout());
+      result = new SpecCache(objectMapper, context.configPath(), timeout)
+          .fetch(SpecCache.newHttpClient(context.httpClient(), timeout), URI.create(name.value()), CmdOpenApiCommand::parseOpenAPISpec);
+    } else {
+      result = parseOpenAPISpec(CommandUtils.toString(context, name, Map.of()));
     }
 
     if (result.getOpenAPI() != null) {
-      for (String message : result.getMessages()) {
+      for (String message : Optional.ofNullable(result.getMessages()).orElse(List.of())) {
         CommandUtils.showWarning(context, "While reading OpenAPI Spec: %s.", message);
       }
       return new Spec(result.getOpenAPI());
@@ -275,6 +441,31 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
     throw new ExecutionException("OpenAPI specification contains problems: %s".formatted(String.join("\n", result.getMessages())));
   }
 
+  static boolean isCacheableUrl(InputStreamProviderConfig name) {
+    if (name.type() != InputStreamProviderConfig.Type.url || name.interpolate()) {
+      return false;
+    }
+    try {
+      String scheme = new URI(name.value()).getScheme();
+      return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+    } catch (URISyntaxException e) {
+      return false;
+    }
+  }
+
+  static SwaggerParseResult parseOpenAPISpec(String content) {
+    // Try version 3.x; internal references are resolved lazily by the Spec, only for what the imported operations need
+    ParseOptions resolve = new ParseOptions();
+    resolve.setResolve(true);
+    SwaggerParseResult result = new OpenAPIV3Parser().readContents(content, List.of(), resolve);
+
+    // Try Version 2.x
+    if (result.getOpenAPI() == null) {
+      result = new SwaggerConverter().readContents(content, List.of(), resolve);
+    }
+    return result;
+  }
+
   static boolean isOperationRelevant(Spec spec, OperationCoordinate coordinate, ImportContext importContext) {
     Operation operation = spec.operationOf(coordinate).orElse(null);
     if (operation == null || operation.getOperationId() == null) {
@@ -356,8 +547,8 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
 
   static Map<String, CommandConfig> createCommandsForOperations(Spec spec, List<OperationCoordinate> operations,
       ImportContext importContext) {
-    return operations.stream()
-        .collect(Collectors.toMap(
+    return operations.parallelStream()
+        .collect(Collectors.toConcurrentMap(
             coordinate -> commandNameOf(spec, coordinate),
             coordinate -> createCommandForOperation(spec, coordinate, importContext)));
   }
@@ -449,11 +640,17 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
   }
 
   static BodyConfig createBody(Spec spec, OperationCoordinate coordinate) {
-    Operation operation = spec.operationOf(coordinate).orElseThrow();
-    if (operation.getRequestBody() == null) {
+    if (spec.requestBodyOf(coordinate).isEmpty()) {
       return null;
     }
 
+    Schema<?> multipartSchema = spec.multipartSchemaOf(coordinate).orElse(null);
+    if (multipartSchema != null) {
+      return new BodyConfig(null, null, multipartSchema.getProperties().keySet().stream()
+          .map(name -> new PartConfig(name, null, openApiToVariableName(name), null, null))
+          .toList());
+    }
+
     return new BodyConfig(null, BODY_VAR);
   }
 
@@ -466,21 +663,38 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
                 .map(p -> new Pair<>(p, createParameterConfig(p))),
             spec.parametersOf(coordinate).stream()
                 .map(p -> new Pair<>(p, createParameterConfig(p))),
-            createBodyParameterPair(spec, coordinate).stream())
+            createBodyParameterPairs(spec, coordinate).stream())
         .flatMap(Function.identity())
         .toList();
   }
 
+  static List<Pair<Parameter, ParameterConfig>> createBodyParameterPairs(Spec spec, OperationCoordinate coordinate) {
+    Schema<?> multipartSchema = spec.multipartSchemaOf(coordinate).orElse(null);
+    if (multipartSchema == null) {
+      return createBodyParameterPair(spec, coordinate).stream().toList();
+    }
+
+    Set<String> required = multipartSchema.getRequired() == null ? Set.of() : new HashSet<>(multipartSchema.getRequired());
+    return multipartSchema.getProperties().entrySet().stream()
+        .map(entry -> {
+          Parameter parameter = new Parameter();
+          parameter.setRequired(required.contains(entry.getKey()));
+          parameter.setName(entry.getKey());
+          parameter.setDescription(spec.descriptionOfSchema(entry.getValue(), "No description."));
+          return new Pair<>(parameter, createParameterConfig(parameter));
+        })
+        .toList();
+  }
+
   static Optional<Pair<Parameter, ParameterConfig>> createBodyParameterPair(Spec spec, OperationCoordinate coordinate) {
-    Operation operation = spec.operationOf(coordinate).orElseThrow();
-    if (operation.getRequestBody() == null) {
+    RequestBody requestBody = spec.requestBodyOf(coordinate).orElse(null);
+    if (requestBody == null) {
       return Optional.empty();
     }
     Parameter parameter = new Parameter();
-    parameter.setRequired(Boolean.TRUE.equals(operation.getRequestBody().getRequired()));
+    parameter.setRequired(Boolean.TRUE.equals(requestBody.getRequired()));
     parameter.setName(BODY_VAR);
-    parameter.setDescription(
-        operation.getRequestBody().getDescription() == null ? "No description." : operation.getRequestBody().getDescription());
+    parameter.setDescription(requestBody.getDescription() == null ? "No description." : requestBody.getDescription());
     ParameterConfig config = new ParameterConfig(
         Boolean.TRUE.equals(parameter.getRequired()) ? Style.RequiredPositional : Style.OptionalPositional,
         openApiToArgumentName(parameter.getName()),
@@ -641,5 +855,6 @@ public class CmdOpenApiCommand extends CmdWriteCommandBase {
     List<String> tags;
     boolean includeDeprecated;
     boolean grouped;
+    boolean sync;
   }
 }
@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.builtin.cmd;
+
+import static de.hipphampel.restcli.cli.commandline.CommandLineSpec.option;
+import static de.hipphampel.restcli.cli.commandline.CommandLineSpec.positional;
+
+import de.hipphampel.restcli.cli.commandline.CommandLine;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec.Option;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec.Positional;
+import de.hipphampel.restcli.cli.commandline.Validators;
+import de.hipphampel.restcli.cli.format.Block;
+import de.hipphampel.restcli.command.CommandContext;
+import de.hipphampel.restcli.command.CommandUtils;
+import de.hipphampel.restcli.command.HelpSection;
+import de.hipphampel.restcli.command.config.CommandSearchResult;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@ApplicationScoped
+@Unremovable
+public class CmdSearchCommand extends CmdCommandBase {
+
+  static final String NAME = "search";
+
+  static final Option CMD_OPT_REBUILD = option("-r", "--rebuild")
+      .build();
+  static final Positional CMD_ARG_LIMIT = positional("<limit>")
+      .validator(Validators.POSITIVE_LONG_VALIDATOR)
+      .build();
+  static final Option CMD_OPT_LIMIT = option("-l", "--limit")
+      .parameter(CMD_ARG_LIMIT)
+      .build();
+  static final Positional CMD_ARG_TERM = positional("<term>")
+      .repeatable()
+      .build();
+
+  static final Function<CommandContext, Block> HELP_SECTION_DESCRIPTION = CommandUtils.helpSection("""
+      Searches the custom commands for the given terms and lists the matching commands, best matches first.
+            
+      The search is done on an index containing the command names, their synopsis and descriptions, and - for HTTP commands - the HTTP
+      method and base URI. A command matches if each term is found in the index, where a term also matches words starting with it.
+      The index is maintained automatically when commands are created, changed, moved, or deleted via this application.
+      """);
+  static final Function<CommandContext, Block> HELP_SECTION_ARGS_AND_OPTIONS = CommandUtils.helpSection("""
+      <term>...
+            
+      >The terms to search for. The search is case-insensitive.
+       
+       -l | --limit <limit>
+       
+       >If specified, at most `limit` commands are shown.
+       
+       -r | --rebuild
+       
+       >Rebuilds the index before searching. This is only required if the command configurations were changed without using this
+       application.
+      """);
+
+  public CmdSearchCommand() {
+    super(NAME,
+        "Searches for commands.",
+        new CommandLineSpec(true, CMD_OPT_LIMIT, CMD_OPT_REBUILD, CMD_ARG_TERM),
+        Map.of(
+            HelpSection.DESCRIPTION, HELP_SECTION_DESCRIPTION,
+            HelpSection.ARGS_AND_OPTIONS, HELP_SECTION_ARGS_AND_OPTIONS));
+  }
+
+  @Override
+  public boolean execute(CommandContext context, CommandLine commandLine) {
+    List<String> terms = commandLine.getValues(CMD_ARG_TERM);
+    long limit = commandLine.getValue(CMD_ARG_LIMIT)
+        .map(Long::parseLong)
+        .orElse(Long.MAX_VALUE);
+
+    if (commandLine.hasOption(CMD_OPT_REBUILD)) {
+      commandConfigRepository.rebuildSearchIndex(context.configPath());
+    }
+
+    commandConfigRepository.search(context.configPath(), String.join(" ", terms)).stream()
+        .limit(limit)
+        .forEach(result -> printResult(context, result));
+    return true;
+  }
+
+  void printResult(CommandContext context, CommandSearchResult result) {
+    if (result.synopsis() == null || result.synopsis().isBlank()) {
+      context.out().line(result.address().toString());
+    } else {
+      context.out().linef("%s - %s", result.address(), result.synopsis());
+    }
+  }
+}
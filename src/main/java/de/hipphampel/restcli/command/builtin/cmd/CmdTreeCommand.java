@@ -34,6 +34,7 @@ import de.hipphampel.restcli.cli.format.Block;
 import de.hipphampel.restcli.command.CommandAddress;
 import de.hipphampel.restcli.command.CommandContext;
 import de.hipphampel.restcli.command.CommandInfo;
+import de.hipphampel.restcli.command.CommandTree;
 import de.hipphampel.restcli.command.CommandUtils;
 import de.hipphampel.restcli.command.HelpSection;
 import de.hipphampel.restcli.command.HelpSnippets;
@@ -44,6 +45,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @ApplicationScoped
@@ -58,6 +60,12 @@ public class CmdTreeCommand extends CmdCommandBase {
       .build();
   static final Option CMD_OPT_DETAILS = option("-d", "--details")
       .build();
+  static final Positional CMD_ARG_MAX_DEPTH = positional("<depth>")
+      .validator(Validators.POSITIVE_LONG_VALIDATOR)
+      .build();
+  static final Option CMD_OPT_MAX_DEPTH = option("-m", "--max-depth")
+      .parameter(CMD_ARG_MAX_DEPTH)
+      .build();
   static final Positional CMD_ARG_ADDRESS = positional("<address>")
       .validator(Validators.COMMAND_ADDRESS_VALIDATOR)
       .optional()
@@ -85,6 +93,11 @@ public class CmdTreeCommand extends CmdCommandBase {
        -d | --details
        
        >If specified, additional information about the commands are shown, without this option just the name or address.
+       
+       -m | --max-depth <depth>
+       
+       >If specified, only commands up to the given depth below the root of the tree are shown. A `depth` of `1` shows only the direct
+       children of the root.
       """);
   static final Function<CommandContext, Block> HELP_SECTION_FURTHER_INFOS = CommandUtils.helpSection(
       HelpSnippets.FURTHER_INFOS_COMMAND_ADDRESS);
@@ -92,7 +105,7 @@ public class CmdTreeCommand extends CmdCommandBase {
   public CmdTreeCommand() {
     super(NAME,
         "Shows a tree of the available commands.",
-        new CommandLineSpec(true, CMD_OPT_DETAILS, CMD_OPT_BEAUTIFY, CMD_OPT_ADDRESS, CMD_ARG_ADDRESS),
+        new CommandLineSpec(true, CMD_OPT_DETAILS, CMD_OPT_BEAUTIFY, CMD_OPT_ADDRESS, CMD_OPT_MAX_DEPTH, CMD_ARG_ADDRESS),
         Map.of(
             HelpSection.DESCRIPTION, HELP_SECTION_DESCRIPTION,
             HelpSection.ARGS_AND_OPTIONS, HELP_SECTION_ARGS_AND_OPTIONS,
@@ -108,16 +121,21 @@ public class CmdTreeCommand extends CmdCommandBase {
     boolean showAddress = commandLine.hasOption(CMD_OPT_ADDRESS);
     boolean beautify = commandLine.hasOption(CMD_OPT_BEAUTIFY);
     boolean details = commandLine.hasOption(CMD_OPT_DETAILS);
+    int maxDepth = commandLine.getValue(CMD_ARG_MAX_DEPTH)
+        .map(Long::parseLong)
+        .map(depth -> (int) Math.min(depth, Integer.MAX_VALUE))
+        .orElse(-1);
 
-    CommandInfo info = commandRepository.getCommandInfo(context.configPath(), address)
+    CommandTree tree = commandRepository.loadSubtree(context.configPath(), address, maxDepth, child -> true, details)
         .orElseThrow(() -> new ExecutionException("Cannot find command \"%s\".".formatted(address)));
 
-    printCommandSummary(context, info, "", details, showAddress);
-    printCommandChildTree(context, info, "", beautify, details, showAddress);
+    printCommandSummary(context, tree, "", details, showAddress);
+    printCommandChildTree(context, tree, "", beautify, details, showAddress);
     return true;
   }
 
-  void printCommandSummary(CommandContext context, CommandInfo info, String prefix, boolean showDetails, boolean showAddress) {
+  void printCommandSummary(CommandContext context, CommandTree tree, String prefix, boolean showDetails, boolean showAddress) {
+    CommandInfo info = tree.info();
     CommandAddress address = info.address();
     String label = context.applicationName();
     if (!address.isRoot()) {
@@ -129,7 +147,8 @@ public class CmdTreeCommand extends CmdCommandBase {
       StringBuilder buffer = new StringBuilder(" (");
       buffer.append(info.builtin() ? "builtin" : "custom");
       if (!info.builtin()) {
-        CommandConfig config = commandConfigRepository.load(context.configPath(), address);
+        CommandConfig config = Optional.ofNullable(tree.config())
+            .orElseGet(() -> commandConfigRepository.load(context.configPath(), address));
         switch (config.getType()) {
           case Parent -> buffer.append(", parent)");
           case Alias -> buffer.append(", alias): ").append(String.join(" ", config.getAliasConfig()));
@@ -147,12 +166,14 @@ public class CmdTreeCommand extends CmdCommandBase {
 
   }
 
-  void printCommandChildTree(CommandContext context, CommandInfo info, String prefix, boolean beautify, boolean showDetails,
+  void printCommandChildTree(CommandContext context, CommandTree tree, String prefix, boolean beautify, boolean showDetails,
       boolean showAddress) {
-    if (info.parent()) {
-      List<CommandAddress> children = info.children().stream().sorted(Comparator.comparing(CommandAddress::name)).toList();
+    if (tree.info().parent()) {
+      List<CommandTree> children = tree.children().stream()
+          .sorted(Comparator.comparing(child -> child.info().address().name()))
+          .toList();
       for (int i = 0; i < children.size(); i++) {
-        CommandAddress child = children.get(i);
+        CommandTree child = children.get(i);
         String childPrefix;
         String grandChildPrefix;
         if (beautify) {
@@ -168,11 +189,8 @@ public class CmdTreeCommand extends CmdCommandBase {
           grandChildPrefix = prefix + "    ";
         }
 
-        CommandInfo childInfo = commandRepository.getCommandInfo(context.configPath(), child)
-            .orElseThrow(() -> new ExecutionException("Cannot find command \"%s\".".formatted(child)));
-
-        printCommandSummary(context, childInfo, childPrefix, showDetails, showAddress);
-        printCommandChildTree(context, childInfo, grandChildPrefix, beautify, showDetails, showAddress);
+        printCommandSummary(context, child, childPrefix, showDetails, showAddress);
+        printCommandChildTree(context, child, grandChildPrefix, beautify, showDetails, showAddress);
       }
 
     }
@@ -34,7 +34,6 @@ import de.hipphampel.restcli.exception.ExecutionException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.function.Function;
 
 public abstract class CmdWriteCommandBase extends CmdCommandBase {
@@ -85,9 +84,6 @@ public abstract class CmdWriteCommandBase extends CmdCommandBase {
   }
 
   protected void store(CommandContext context, CommandAddress address, CommandConfigTree tree) {
-    CommandAddress tmpAddress = address.parent().child("_%s".formatted(UUID.randomUUID()));
-    commandConfigRepository.store(context.configPath(), tmpAddress, tree);
-    commandConfigRepository.delete(context.configPath(), address, true);
-    commandConfigRepository.move(context.configPath(), tmpAddress, address);
+    commandConfigRepository.store(context.configPath(), address, tree);
   }
 }
@@ -22,24 +22,29 @@
  */
 package de.hipphampel.restcli.command.builtin.cmd.openapi;
 
+import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.PathItem.HttpMethod;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.tags.Tag;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class Spec {
 
   public static final String NO_TAG = " no tag ";
+  public static final String MULTIPART_FORM_DATA = "multipart/form-data";
 
   private static final Map<HttpMethod, Function<PathItem, Operation>> OPERATIONS = Map.of(
       HttpMethod.DELETE, PathItem::getDelete,
@@ -51,7 +56,11 @@ public class Spec {
       HttpMethod.PUT, PathItem::getPut,
       HttpMethod.TRACE, PathItem::getTrace);
 
+  // Bounds the length of $ref chains, so that cyclic references terminate
+  private static final int MAX_REF_DEPTH = 32;
+
   private final OpenAPI spec;
+  private final Map<String, Optional<Object>> resolvedRefs = new ConcurrentHashMap<>();
 
   public Spec(OpenAPI spec) {
     this.spec = Objects.requireNonNull(spec);
@@ -79,8 +88,10 @@ public class Spec {
   public List<String> responseMediaTypesOf(OperationCoordinate coordinate) {
     return operationOf(coordinate).stream()
         .map(Operation::getResponses)
+        .filter(Objects::nonNull)
         .map(LinkedHashMap::values)
         .flatMap(Collection::stream)
+        .map(this::resolve)
         .map(ApiResponse::getContent)
         .filter(Objects::nonNull)
         .map(Content::keySet)
@@ -90,20 +101,39 @@ public class Spec {
   }
 
   public List<String> requestBodyMediaTypesOf(OperationCoordinate coordinate) {
-    return operationOf(coordinate)
-        .map(Operation::getRequestBody)
+    return requestBodyOf(coordinate)
         .map(RequestBody::getContent)
         .filter(content -> !content.isEmpty())
         .map(content -> (List<String>) new ArrayList<>(content.keySet()))
         .orElse(List.of());
   }
 
+  public Optional<Schema<?>> multipartSchemaOf(OperationCoordinate coordinate) {
+    List<String> mediaTypes = requestBodyMediaTypesOf(coordinate);
+    if (mediaTypes.isEmpty() || !MULTIPART_FORM_DATA.equalsIgnoreCase(mediaTypes.get(0))) {
+      return Optional.empty();
+    }
+    return requestBodyOf(coordinate)
+        .map(RequestBody::getContent)
+        .map(content -> content.get(mediaTypes.get(0)))
+        .map(MediaType::getSchema)
+        .map(this::resolve)
+        .filter(schema -> schema.getProperties() != null && !schema.getProperties().isEmpty());
+  }
+
+  public Optional<RequestBody> requestBodyOf(OperationCoordinate coordinate) {
+    return operationOf(coordinate)
+        .map(Operation::getRequestBody)
+        .map(this::resolve);
+  }
+
   public List<Parameter> parametersOf(OperationCoordinate coordinate) {
     return Stream.concat(
             pathItemOf(coordinate).stream()
                 .flatMap(pi -> pi.getParameters() == null ? Stream.empty() : pi.getParameters().stream()),
             operationOf(coordinate).stream()
                 .flatMap(op -> op.getParameters() == null ? Stream.empty() : op.getParameters().stream()))
+        .map(this::resolve)
         .toList();
   }
 
@@ -149,14 +179,58 @@ public class Spec {
     if (parameter.getDescription() != null && !parameter.getDescription().isBlank()) {
       return parameter.getDescription();
     }
-    if (parameter.getSchema() != null && parameter.getSchema().getDescription() != null && !parameter.getSchema().getDescription()
-        .isBlank()) {
-      return parameter.getSchema().getDescription();
+    Schema<?> schema = parameter.getSchema() == null ? null : resolve(parameter.getSchema());
+    if (schema != null && schema.getDescription() != null && !schema.getDescription().isBlank()) {
+      return schema.getDescription();
+    }
+
+    return defaultDescription;
+  }
+
+  public String descriptionOfSchema(Schema<?> schema, String defaultDescription) {
+    Schema<?> resolved = schema == null ? null : resolve(schema);
+    if (resolved != null && resolved.getDescription() != null && !resolved.getDescription().isBlank()) {
+      return resolved.getDescription();
     }
 
     return defaultDescription;
   }
 
+  Parameter resolve(Parameter parameter) {
+    return resolve(parameter, Parameter::get$ref, Parameter.class, Components::getParameters);
+  }
+
+  RequestBody resolve(RequestBody requestBody) {
+    return resolve(requestBody, RequestBody::get$ref, RequestBody.class, Components::getRequestBodies);
+  }
+
+  ApiResponse resolve(ApiResponse response) {
+    return resolve(response, ApiResponse::get$ref, ApiResponse.class, Components::getResponses);
+  }
+
+  Schema<?> resolve(Schema<?> schema) {
+    return resolve(schema, Schema::get$ref, Schema.class, components -> components.getSchemas());
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> T resolve(T object, Function<T, String> refGetter, Class<?> type, Function<Components, Map<String, ? extends T>> componentsGetter) {
+    T current = object;
+    for (int depth = 0; current != null && refGetter.apply(current) != null && depth < MAX_REF_DEPTH; depth++) {
+      String ref = refGetter.apply(current);
+      current = (T) resolvedRefs.computeIfAbsent(type.getSimpleName() + ":" + ref,
+              ignore -> Optional.ofNullable(spec.getComponents())
+                  .map(componentsGetter)
+                  .map(components -> components.get(refNameOf(ref))))
+          .orElse(null);
+    }
+    return current == null || refGetter.apply(current) != null ? object : current;
+  }
+
+  static String refNameOf(String ref) {
+    String name = ref.substring(ref.lastIndexOf('/') + 1);
+    return name.replace("~1", "/").replace("~0", "~");
+  }
+
   public record OperationCoordinate(String path, HttpMethod method) {
 
   }
@@ -0,0 +1,246 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.builtin.cmd.openapi;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.exception.ExecutionException;
+import de.hipphampel.restcli.utils.FileUtils;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+public class SpecCache {
+
+  public static final String CACHE_DIR = "cache/openapi";
+
+  private final ObjectMapper objectMapper;
+  private final Path cacheDir;
+  private final Duration timeout;
+
+  public SpecCache(ObjectMapper objectMapper, Path rootDir, Duration timeout) {
+    this.objectMapper = Objects.requireNonNull(objectMapper);
+    this.cacheDir = rootDir.resolve(CACHE_DIR);
+    this.timeout = Objects.requireNonNull(timeout);
+  }
+
+  public static HttpClient newHttpClient(HttpClient template, Duration connectTimeout) {
+    // Same settings as the given client, but follows redirects like URL.openStream() does, which is used for not cached URLs
+    HttpClient.Builder builder = HttpClient.newBuilder()
+        .followRedirects(Redirect.NORMAL)
+        .version(template.version())
+        .sslContext(template.sslContext())
+        .sslParameters(template.sslParameters())
+        .connectTimeout(template.connectTimeout().orElse(connectTimeout));
+    template.proxy().ifPresent(builder::proxy);
+    template.authenticator().ifPresent(builder::authenticator);
+    template.cookieHandler().ifPresent(builder::cookieHandler);
+    template.executor().ifPresent(builder::executor);
+    return builder.build();
+  }
+
+  public SwaggerParseResult fetch(HttpClient client, URI uri, Function<String, SwaggerParseResult> parser) {
+    String key = hashOf(uri.toString());
+    Optional<Metadata> metadata = loadMetadata(key)
+        .filter(candidate -> Objects.equals(candidate.url(), uri.toString()));
+
+    HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+    metadata.map(Metadata::etag).ifPresent(etag -> request.header("If-None-Match", etag));
+    metadata.map(Metadata::lastModified).ifPresent(lastModified -> request.header("If-Modified-Since", lastModified));
+    HttpResponse<byte[]> response = send(client, request.build(), uri);
+
+    if (response.statusCode() == 304 && metadata.isPresent()) {
+      Optional<SwaggerParseResult> cached = loadModel(key, metadata.get());
+      if (cached.isPresent()) {
+        return cached.get();
+      }
+      return parseAndStore(key, uri, readContent(key).orElseGet(() -> fetchContent(client, uri)), response, metadata.get(), parser);
+    }
+    if (response.statusCode() / 100 != 2) {
+      throw new ExecutionException("Failed to fetch \"%s\": status %d.".formatted(uri, response.statusCode()));
+    }
+
+    String content = new String(response.body(), StandardCharsets.UTF_8);
+    String contentHash = hashOf(content);
+    if (metadata.isPresent() && Objects.equals(metadata.get().contentHash(), contentHash)) {
+      Optional<SwaggerParseResult> cached = loadModel(key, metadata.get());
+      if (cached.isPresent()) {
+        storeMetadata(key, metadataOf(uri, response, contentHash, metadata.get().openapi31(), metadata.get().messages()));
+        return cached.get();
+      }
+    }
+    return parseAndStore(key, uri, content, response, null, parser);
+  }
+
+  SwaggerParseResult parseAndStore(String key, URI uri, String content, HttpResponse<?> response, Metadata previous,
+      Function<String, SwaggerParseResult> parser) {
+    SwaggerParseResult result = parser.apply(content);
+    OpenAPI openAPI = result.getOpenAPI();
+    if (openAPI == null) {
+      return result;
+    }
+
+    boolean openapi31 = openAPI.getSpecVersion() == SpecVersion.V31;
+    List<String> messages = Optional.ofNullable(result.getMessages()).orElse(List.of());
+    try {
+      FileUtils.writeAtomically(cacheDir.resolve(key + ".spec"), content.getBytes(StandardCharsets.UTF_8));
+      FileUtils.writeAtomically(cacheDir.resolve(key + ".model.json"),
+          (openapi31 ? Json31.mapper() : Json.mapper()).writeValueAsBytes(openAPI));
+      Metadata metadata = metadataOf(uri, response, hashOf(content), openapi31, messages);
+      if (previous != null && metadata.etag() == null && metadata.lastModified() == null) {
+        metadata = new Metadata(metadata.url(), previous.etag(), previous.lastModified(), metadata.contentHash(), openapi31, messages);
+      }
+      storeMetadata(key, metadata);
+    } catch (IOException ioe) {
+      // Ignored, see FileUtils.writeAtomically
+    }
+    return result;
+  }
+
+  Optional<Metadata> loadMetadata(String key) {
+    Path file = cacheDir.resolve(key + ".json");
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(objectMapper.readValue(file.toFile(), Metadata.class));
+    } catch (IOException ioe) {
+      return Optional.empty();
+    }
+  }
+
+  void storeMetadata(String key, Metadata metadata) {
+    try {
+      FileUtils.writeAtomically(cacheDir.resolve(key + ".json"), objectMapper.writeValueAsBytes(metadata));
+    } catch (IOException ioe) {
+      // Ignored, see FileUtils.writeAtomically
+    }
+  }
+
+  Optional<SwaggerParseResult> loadModel(String key, Metadata metadata) {
+    Path file = cacheDir.resolve(key + ".model.json");
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try {
+      OpenAPI openAPI = (metadata.openapi31() ? Json31.mapper() : Json.mapper()).readValue(file.toFile(), OpenAPI.class);
+      if (metadata.openapi31()) {
+        openAPI.setSpecVersion(SpecVersion.V31);
+      }
+      SwaggerParseResult result = new SwaggerParseResult();
+      result.setOpenAPI(openAPI);
+      result.setMessages(metadata.messages());
+      return Optional.of(result);
+    } catch (IOException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+
+  Optional<String> readContent(String key) {
+    try {
+      return Optional.of(Files.readString(cacheDir.resolve(key + ".spec"), StandardCharsets.UTF_8));
+    } catch (IOException ioe) {
+      return Optional.empty();
+    }
+  }
+
+  String fetchContent(HttpClient client, URI uri) {
+    HttpResponse<byte[]> response = send(client, HttpRequest.newBuilder(uri).timeout(timeout).GET().build(), uri);
+    if (response.statusCode() / 100 != 2) {
+      throw new ExecutionException("Failed to fetch \"%s\": status %d.".formatted(uri, response.statusCode()));
+    }
+    return new String(response.body(), StandardCharsets.UTF_8);
+  }
+
+  static HttpResponse<byte[]> send(HttpClient client, HttpRequest request, URI uri) {
+    try {
+      return client.send(request, BodyHandlers.ofByteArray());
+    } catch (IOException ioe) {
+      throw new ExecutionException("Failed to fetch \"%s\": %s".formatted(uri, ioe.getMessage()), ioe);
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new ExecutionException("Interrupted while fetching \"%s\".".formatted(uri), ie);
+    }
+  }
+
+  static Metadata metadataOf(URI uri, HttpResponse<?> response, String contentHash, boolean openapi31, List<String> messages) {
+    return new Metadata(
+        uri.toString(),
+        response.headers().firstValue("ETag").orElse(null),
+        response.headers().firstValue("Last-Modified").orElse(null),
+        contentHash,
+        openapi31,
+        messages);
+  }
+
+  static String hashOf(String str) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(str.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new ExecutionException("Failed to compute hash.", e);
+    }
+  }
+
+  @RegisterForReflection
+  record Metadata(String url, String etag, String lastModified, String contentHash, boolean openapi31, List<String> messages) {
+
+    @JsonCreator
+    Metadata(
+        @JsonProperty("url") String url,
+        @JsonProperty("etag") String etag,
+        @JsonProperty("lastModified") String lastModified,
+        @JsonProperty("contentHash") String contentHash,
+        @JsonProperty("openapi31") boolean openapi31,
+        @JsonProperty("messages") List<String> messages) {
+      this.url = Objects.requireNonNull(url);
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.contentHash = contentHash;
+      this.openapi31 = openapi31;
+      this.messages = messages == null ? List.of() : List.copyOf(messages);
+    }
+  }
+}
@@ -38,9 +38,12 @@ import de.hipphampel.restcli.command.CommandContext;
 import de.hipphampel.restcli.command.CommandUtils;
 import de.hipphampel.restcli.command.HelpSection;
 import de.hipphampel.restcli.env.Environment;
+import de.hipphampel.restcli.env.EnvironmentConfig;
 import de.hipphampel.restcli.exception.ExecutionException;
+import de.hipphampel.restcli.utils.Pair;
 import io.quarkus.arc.Unremovable;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -156,6 +159,8 @@ public class EnvGetCommand extends EnvCommandBase {
 
     Map<Position, Block> cells = new HashMap<>();
     int row = 0;
+    // The local configurations of the environment and its ancestors, nearest first; resolved once for all headers and variables
+    List<Pair<String, EnvironmentConfig>> lineage = lineageOf(context, environment, local);
 
     if (common) {
       cells.put(new Position(row, 0), new ParagraphBlock("Common:"));
@@ -164,12 +169,12 @@ public class EnvGetCommand extends EnvCommandBase {
 
     if (headers) {
       cells.put(new Position(row, 0), new ParagraphBlock("Headers:"));
-      cells.put(new Position(row++, 1), buildHeadersTable(context, environment, local, origin, beautify));
+      cells.put(new Position(row++, 1), buildHeadersTable(environment, lineage, local, origin, beautify));
     }
 
     if (variables) {
       cells.put(new Position(row, 0), new ParagraphBlock("Variables:"));
-      cells.put(new Position(row, 1), buildVariablesTable(context, environment, local, origin, beautify));
+      cells.put(new Position(row, 1), buildVariablesTable(environment, lineage, local, origin, beautify));
 
     }
 
@@ -197,7 +202,8 @@ public class EnvGetCommand extends EnvCommandBase {
     return new GridBlock(cells).toTable(beautify);
   }
 
-  Block buildHeadersTable(CommandContext context, Environment environment, boolean local, boolean origin, boolean beautify) {
+  Block buildHeadersTable(Environment environment, List<Pair<String, EnvironmentConfig>> lineage, boolean local, boolean origin,
+      boolean beautify) {
     List<String> headers = (local ? environment.getLocalHeaders().keySet() : environment.getHeaders().keySet()).stream()
         .sorted()
         .toList();
@@ -220,39 +226,32 @@ public class EnvGetCommand extends EnvCommandBase {
 
     for (String header : headers) {
       cells.put(new Position(row, 0), new ParagraphBlock(beautify ? header : header + ":"));
-      row = builderHeaderRows(context, environment, cells, row, header, local, origin, beautify);
+      row = builderHeaderRows(lineage, cells, row, header, origin, beautify);
     }
 
     return new GridBlock(cells).toTable(beautify);
   }
 
-  int builderHeaderRows(CommandContext context, Environment environment, Map<Position, Block> cells, int row, String header, boolean local,
+  int builderHeaderRows(List<Pair<String, EnvironmentConfig>> lineage, Map<Position, Block> cells, int row, String header,
       boolean origin, boolean beautify) {
-    while (environment != null) {
-      List<String> values = environment.getLocalHeader(header);
+    for (Pair<String, EnvironmentConfig> ancestor : lineage) {
+      List<String> values = ancestor.second().headers().get(header);
       if (values != null) {
         for (String value : values) {
           int column = 1;
           if (origin) {
-            cells.put(new Position(row, column++), originParagraphBlock(environment.getName(), beautify));
+            cells.put(new Position(row, column++), originParagraphBlock(ancestor.first(), beautify));
           }
           cells.put(new Position(row, column), new PreformattedBlock(value));
           row++;
         }
       }
-      if (!local) {
-        environment = Optional.ofNullable(environment.getParent())
-            .map(parent -> environmentRepository.getEnvironment(context.configPath(), parent)
-                .orElseThrow(() -> new ExecutionException("Internal error: cannot find environment \"%s\"".formatted(parent))))
-            .orElse(null);
-      } else {
-        environment = null;
-      }
     }
     return row;
   }
 
-  Block buildVariablesTable(CommandContext context, Environment environment, boolean local, boolean origin, boolean beautify) {
+  Block buildVariablesTable(Environment environment, List<Pair<String, EnvironmentConfig>> lineage, boolean local, boolean origin,
+      boolean beautify) {
     List<String> variables = (local ? environment.getLocalVariables().keySet() : environment.getVariables().keySet()).stream()
         .sorted()
         .toList();
@@ -278,7 +277,7 @@ public class EnvGetCommand extends EnvCommandBase {
           new ParagraphBlock(beautify ? variable : variable + ":"));
       if (origin) {
         cells.put(new Position(row, column++),
-            originParagraphBlock(determineVariableOrigin(context, environment, variable).orElse("???"), beautify));
+            originParagraphBlock(determineVariableOrigin(lineage, variable).orElse("???"), beautify));
       }
       cells.put(new Position(row, column),
           new PreformattedBlock(String.valueOf(environment.getVariables().get(variable))));
@@ -288,17 +287,25 @@ public class EnvGetCommand extends EnvCommandBase {
     return new GridBlock(cells).toTable(beautify);
   }
 
-  Optional<String> determineVariableOrigin(CommandContext context, Environment environment, String variable) {
-    while (environment != null) {
-      if (environment.getLocalVariables().containsKey(variable)) {
-        return Optional.of(environment.getName());
-      }
-      environment = Optional.ofNullable(environment.getParent())
-          .map(parent -> environmentRepository.getEnvironment(context.configPath(), parent)
-              .orElseThrow(() -> new ExecutionException("Internal error: cannot find environment \"%s\"".formatted(parent))))
-          .orElse(null);
+  Optional<String> determineVariableOrigin(List<Pair<String, EnvironmentConfig>> lineage, String variable) {
+    return lineage.stream()
+        .filter(ancestor -> ancestor.second().variables().containsKey(variable))
+        .map(Pair::first)
+        .findFirst();
+  }
+
+  List<Pair<String, EnvironmentConfig>> lineageOf(CommandContext context, Environment environment, boolean local) {
+    List<Pair<String, EnvironmentConfig>> lineage = new ArrayList<>();
+    lineage.add(new Pair<>(environment.getName(), environment.getLocalConfig()));
+    String parent = local ? null : environment.getParent();
+    while (parent != null) {
+      String name = parent;
+      EnvironmentConfig config = environmentRepository.getConfig(context.configPath(), name)
+          .orElseThrow(() -> new ExecutionException("Internal error: cannot find environment \"%s\"".formatted(name)));
+      lineage.add(new Pair<>(name, config));
+      parent = config.parent();
     }
-    return Optional.empty();
+    return lineage;
   }
 
   ParagraphBlock originParagraphBlock(String origin, boolean beautify) {
@@ -33,9 +33,7 @@ import de.hipphampel.restcli.cli.format.Block;
 import de.hipphampel.restcli.command.CommandContext;
 import de.hipphampel.restcli.command.CommandUtils;
 import de.hipphampel.restcli.command.HelpSection;
-import de.hipphampel.restcli.env.EnvironmentConfig;
 import de.hipphampel.restcli.exception.ExecutionException;
-import de.hipphampel.restcli.utils.Pair;
 import io.quarkus.arc.Unremovable;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.util.List;
@@ -43,7 +41,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @ApplicationScoped
@@ -101,8 +98,7 @@ public class EnvLsCommand extends EnvCommandBase {
     boolean beautify = commandLine.hasOption(CMD_OPT_BEAUTIFY);
     boolean tree = commandLine.hasOption(CMD_OPT_TREE);
 
-    Map<String, EnvironmentConfig> configs = environmentRepository.streamConfigs(context.configPath())
-        .collect(Collectors.toMap(Pair::first, Pair::second));
+    Map<String, String> configs = environmentRepository.getEnvironmentGraph(context.configPath());
 
     if (tree) {
       getRoots(configs, root).forEach(env -> {
@@ -120,7 +116,7 @@ public class EnvLsCommand extends EnvCommandBase {
     return true;
   }
 
-  void showChildTree(CommandContext context, Map<String, EnvironmentConfig> configs, String parent, String prefix, boolean beautify) {
+  void showChildTree(CommandContext context, Map<String, String> configs, String parent, String prefix, boolean beautify) {
     List<String> children = getChildrenOf(configs, parent)
         .toList();
     for (int i = 0; i < children.size(); i++) {
@@ -144,7 +140,7 @@ public class EnvLsCommand extends EnvCommandBase {
     }
   }
 
-  List<String> getRoots(Map<String, EnvironmentConfig> configs, String root) {
+  List<String> getRoots(Map<String, String> configs, String root) {
     if (root == null) {
       return getChildrenOf(configs, null)
           .toList();
@@ -155,12 +151,12 @@ public class EnvLsCommand extends EnvCommandBase {
     }
   }
 
-  Stream<String> getChildrenOf(Map<String, EnvironmentConfig> configs, String parent) {
+  Stream<String> getChildrenOf(Map<String, String> configs, String parent) {
     if (parent != null && !configs.containsKey(parent)) {
       throw new ExecutionException("Environment \"%s\" does not exist.".formatted(parent));
     }
     return configs.entrySet().stream()
-        .filter(entry -> Objects.equals(parent, entry.getValue().parent()))
+        .filter(entry -> Objects.equals(parent, entry.getValue()))
         .map(Entry::getKey)
         .sorted();
   }
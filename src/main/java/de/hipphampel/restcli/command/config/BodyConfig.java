@@ -23,18 +23,27 @@
 package de.hipphampel.restcli.command.config;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import de.hipphampel.restcli.io.InputStreamProviderConfig;
 import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.util.List;
 
 @RegisterForReflection
-public record BodyConfig(InputStreamProviderConfig content, String variable) {
+public record BodyConfig(InputStreamProviderConfig content, String variable, @JsonInclude(Include.NON_EMPTY) List<PartConfig> parts) {
 
   @JsonCreator
   public BodyConfig(
       @JsonProperty("content") InputStreamProviderConfig content,
-      @JsonProperty("variable") String variable) {
+      @JsonProperty("variable") String variable,
+      @JsonProperty("parts") List<PartConfig> parts) {
     this.content = content;
     this.variable = variable;
+    this.parts = parts == null ? List.of() : List.copyOf(parts);
+  }
+
+  public BodyConfig(InputStreamProviderConfig content, String variable) {
+    this(content, variable, null);
   }
 }
@@ -26,15 +26,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.hipphampel.restcli.command.CommandAddress;
 import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.utils.FileUtils;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 @ApplicationScoped
@@ -42,10 +49,27 @@ public class CommandConfigRepository {
 
   private static final String CONFIG_NAME = "command.json";
   private static final String COMMAND_DIR = "commands";
+  // Names starting with a dot are no valid command names, so this directory is never taken for a command
+  static final String BACKUP_DIR = ".backups";
 
   @Inject
   ObjectMapper objectMapper;
 
+  private final Map<Path, CommandIndex> indexes = new ConcurrentHashMap<>();
+  private final Map<Path, CommandSearchIndex> searchIndexes = new ConcurrentHashMap<>();
+  // One entry per modified address, so the modification count is the size of this list
+  private final List<CommandAddress> modifiedAddresses = Collections.synchronizedList(new ArrayList<>());
+
+  public long getModificationCount() {
+    return modifiedAddresses.size();
+  }
+
+  public List<CommandAddress> getModifiedAddresses(long fromCount, long toCount) {
+    synchronized (modifiedAddresses) {
+      return List.copyOf(modifiedAddresses.subList((int) fromCount, (int) toCount));
+    }
+  }
+
   public Optional<Path> getPath(Path rootDir, CommandAddress address) {
     return Optional.ofNullable(rootDir)
         .flatMap(dir -> Optional.ofNullable(address).map(addr -> getDescriptorDir(dir, address)))
@@ -53,39 +77,41 @@ public class CommandConfigRepository {
   }
 
   public Optional<Path> getValidatedPath(Path rootDir, CommandAddress address) {
+    return getPath(rootDir, address)
+        .filter(ignore -> getSummary(rootDir, address).isPresent());
+  }
+
+  public Optional<CommandSummary> getSummary(Path rootDir, CommandAddress address) {
+    if (rootDir == null || address == null) {
+      return Optional.empty();
+    }
+    return getIndex(rootDir).getSummary(address);
+  }
+
+  public Optional<CommandConfig> find(Path rootDir, CommandAddress address) {
     try {
-      Optional<Path> path = getPath(rootDir, address);
-      path.ifPresent(ignore -> load(rootDir, address));
-      return path;
+      return getPath(rootDir, address).map(ignore -> load(rootDir, address));
     } catch (ExecutionException ee) {
       return Optional.empty();
     }
   }
 
+  public List<CommandSearchResult> search(Path rootDir, String query) {
+    return getSearchIndex(rootDir).search(query);
+  }
+
+  public void rebuildSearchIndex(Path rootDir) {
+    getSearchIndex(rootDir).rebuild();
+  }
+
   public List<CommandAddress> getChildren(Path rootDir, CommandAddress address) {
     if (rootDir == null || address == null) {
       return List.of();
     }
 
-    Path dir = getDescriptorDir(rootDir, address);
-    if (!Files.isReadable(dir) || !Files.isDirectory(dir)) {
-      return List.of();
-    }
-
-    try (Stream<Path> children = Files.list(dir)) {
-      return children
-          .filter(Files::isDirectory)
-          .map(Path::getFileName)
-          .map(Path::toString)
-          .filter(CommandAddress::isValidCommandName)
-          .map(address::child)
-          .filter(child -> getPath(rootDir, child)
-              .filter(path -> Files.isRegularFile(path) && Files.isReadable(path))
-              .isPresent())
-          .toList();
-    } catch (IOException ioe) {
-      throw new ExecutionException("Failed to read directory \"%s\".".formatted(dir), ioe);
-    }
+    return getIndex(rootDir).getChildren(address).stream()
+        .map(address::child)
+        .toList();
   }
 
   public CommandConfig load(Path rootDir, CommandAddress address) {
@@ -100,11 +126,14 @@ public class CommandConfigRepository {
   public void store(Path rootDir, CommandAddress address, CommandConfig config) {
     Path path = getDescriptorDir(rootDir, address).resolve(CONFIG_NAME);
     FileUtils.createDirectoryIfNotExists(path.getParent());
+    getIndex(rootDir).invalidate(address);
+    modifiedAddresses.add(address);
     try {
       objectMapper.writeValue(path.toFile(), config);
     } catch (IOException ioe) {
       throw new ExecutionException("Failed to store the configuration for command \"%s\".".formatted(address), ioe);
     }
+    getSearchIndex(rootDir).update(address, config);
   }
 
   public void store(Path rootDir, CommandAddress address, CommandConfigTree configTree) {
@@ -112,15 +141,31 @@ public class CommandConfigRepository {
       throw new ExecutionException("Cannot store at root address.");
     }
 
-    Path configDir = getDescriptorDir(rootDir, address);
-    FileUtils.deleteRecursively(configDir, true);
+    Map<CommandAddress, CommandConfig> configs = new LinkedHashMap<>();
+    collectConfigs(address, configTree, configs);
 
-    store(rootDir, address, configTree.getConfig());
-    if (configTree.getSubCommands() != null) {
-      for (Map.Entry<String, CommandConfigTree> entry : configTree.getSubCommands().entrySet()) {
-        store(rootDir, address.child(entry.getKey()), entry.getValue());
-      }
+    // The whole tree is written to a staging directory first and then swapped in, so that an interrupted store leaves either the
+    // old or the new tree behind; if the process dies in the middle of the swap, the next process restores the old one, see
+    // recoverBackups
+    Path configDir = getDescriptorDir(rootDir, address);
+    FileUtils.createDirectoryIfNotExists(configDir.getParent());
+    Path stagingDir = siblingOf(configDir, "staging");
+    try {
+      configs.entrySet().parallelStream()
+          .forEach(entry -> writeConfig(
+              stagingDir.resolve(configDir.relativize(getDescriptorDir(rootDir, entry.getKey()))).resolve(CONFIG_NAME),
+              entry.getKey(),
+              entry.getValue()));
+      getIndex(rootDir).invalidateSubtree(address);
+      getSearchIndex(rootDir).removeSubtree(address);
+      modifiedAddresses.add(address);
+      replaceDirectory(rootDir.resolve(COMMAND_DIR), stagingDir, configDir);
+    } catch (IOException ioe) {
+      throw new ExecutionException("Failed to store the configuration for command \"%s\".".formatted(address), ioe);
+    } finally {
+      FileUtils.deleteRecursively(stagingDir, true);
     }
+    configs.forEach((child, config) -> getSearchIndex(rootDir).update(child, config));
   }
 
   public void delete(Path rootDir, CommandAddress address, boolean recursive) {
@@ -129,6 +174,9 @@ public class CommandConfigRepository {
     }
 
     Path configDir = getDescriptorDir(rootDir, address);
+    getIndex(rootDir).invalidateSubtree(address);
+    getSearchIndex(rootDir).removeSubtree(address);
+    modifiedAddresses.add(address);
 
     if (address.isRoot()) {
       FileUtils.deleteRecursively(configDir.resolve(CONFIG_NAME), false);
@@ -138,22 +186,129 @@ public class CommandConfigRepository {
   }
 
   public void move(Path rootDir, CommandAddress address, CommandAddress newAddress) {
+    move(rootDir, address, newAddress, false);
+  }
+
+  public void move(Path rootDir, CommandAddress address, CommandAddress newAddress, boolean replace) {
     if (Objects.equals(address, newAddress)) {
       return;
     }
     Path newPath = getDescriptorDir(rootDir, newAddress);
-    if (Files.exists(newPath)) {
+    if (!replace && Files.exists(newPath)) {
       throw new ExecutionException("Command \"%s\" already exists.".formatted(newAddress));
     }
     Path path = getDescriptorDir(rootDir, address);
     if (!Files.exists(path)) {
       throw new ExecutionException("Command \"%s\" not exists.".formatted(address));
     }
+    getIndex(rootDir).invalidateSubtree(address);
+    getIndex(rootDir).invalidateSubtree(newAddress);
+    getSearchIndex(rootDir).removeSubtree(newAddress);
+    FileUtils.createDirectoryIfNotExists(newPath.getParent());
+    modifiedAddresses.addAll(List.of(address, newAddress));
     try {
-      Files.move(path, newPath);
+      replaceDirectory(rootDir.resolve(COMMAND_DIR), path, newPath);
     } catch (IOException ioe) {
       throw new ExecutionException("Failed to move command \"%s\" to \"%s\".".formatted(address, newAddress), ioe);
     }
+    getSearchIndex(rootDir).move(address, newAddress);
+  }
+
+  @PreDestroy
+  public void flushIndexes() {
+    indexes.values().forEach(CommandIndex::flush);
+    searchIndexes.values().forEach(CommandSearchIndex::flush);
+  }
+
+  CommandIndex getIndex(Path rootDir) {
+    return indexes.computeIfAbsent(rootDir.toAbsolutePath().normalize(), dir -> {
+      recoverBackups(dir.resolve(COMMAND_DIR));
+      return new CommandIndex(objectMapper, dir, dir.resolve(COMMAND_DIR), CONFIG_NAME);
+    });
+  }
+
+  CommandSearchIndex getSearchIndex(Path rootDir) {
+    return searchIndexes.computeIfAbsent(rootDir.toAbsolutePath().normalize(),
+        dir -> new CommandSearchIndex(objectMapper, dir, dir.resolve(COMMAND_DIR), CONFIG_NAME));
+  }
+
+  void collectConfigs(CommandAddress address, CommandConfigTree configTree, Map<CommandAddress, CommandConfig> configs) {
+    configs.put(address, configTree.getConfig());
+    if (configTree.getSubCommands() != null) {
+      configTree.getSubCommands().forEach((name, subTree) -> collectConfigs(address.child(name), subTree, configs));
+    }
+  }
+
+  void writeConfig(Path path, CommandAddress address, CommandConfig config) {
+    try {
+      Files.createDirectories(path.getParent());
+      objectMapper.writeValue(path.toFile(), config);
+    } catch (IOException ioe) {
+      throw new ExecutionException("Failed to store the configuration for command \"%s\".".formatted(address), ioe);
+    }
+  }
+
+  static void replaceDirectory(Path commandDir, Path source, Path target) throws IOException {
+    if (!Files.exists(target)) {
+      FileUtils.moveAtomically(source, target);
+      return;
+    }
+
+    // The target is recorded before it is moved away, so that recoverBackups can restore it if the process dies before the
+    // source is moved in
+    String id = UUID.randomUUID().toString();
+    Path backupDir = commandDir.resolve(BACKUP_DIR).resolve(id);
+    Path targetFile = commandDir.resolve(BACKUP_DIR).resolve(id + ".target");
+    FileUtils.writeAtomically(targetFile, commandDir.relativize(target).toString().getBytes(StandardCharsets.UTF_8));
+    FileUtils.moveAtomically(target, backupDir);
+    try {
+      FileUtils.moveAtomically(source, target);
+    } catch (IOException ioe) {
+      FileUtils.moveAtomically(backupDir, target);
+      Files.delete(targetFile);
+      deleteIfEmpty(backupDir.getParent());
+      throw ioe;
+    }
+    FileUtils.deleteRecursively(backupDir, true);
+    Files.delete(targetFile);
+    deleteIfEmpty(backupDir.getParent());
+  }
+
+  static void recoverBackups(Path commandDir) {
+    Path backups = commandDir.resolve(BACKUP_DIR);
+    if (!Files.isDirectory(backups)) {
+      return;
+    }
+    try (Stream<Path> files = Files.list(backups)) {
+      for (Path targetFile : files.filter(file -> file.getFileName().toString().endsWith(".target")).toList()) {
+        String id = targetFile.getFileName().toString().replaceFirst("\\.target$", "");
+        Path backupDir = backups.resolve(id);
+        Path target = commandDir.resolve(Files.readString(targetFile, StandardCharsets.UTF_8));
+        // Without the target the swap was interrupted after the target was moved away, otherwise the backup is obsolete
+        if (Files.isDirectory(backupDir) && !Files.exists(target)) {
+          FileUtils.moveAtomically(backupDir, target);
+        }
+        FileUtils.deleteRecursively(backupDir, true);
+        Files.delete(targetFile);
+      }
+    } catch (IOException | ExecutionException e) {
+      // Ignored, the recovery is retried by the next process
+      return;
+    }
+    deleteIfEmpty(backups);
+  }
+
+  static void deleteIfEmpty(Path dir) {
+    try {
+      Files.deleteIfExists(dir);
+    } catch (IOException ioe) {
+      // Ignored, the directory is still in use by another swap
+    }
+  }
+
+  static Path siblingOf(Path dir, String kind) {
+    // Names starting with a dot are no valid command names, so these directories are never taken for commands
+    return dir.resolveSibling(".%s.%s-%s".formatted(dir.getFileName(), kind, UUID.randomUUID()));
   }
 
   public Path getDescriptorDir(Path rootPath, CommandAddress address) {
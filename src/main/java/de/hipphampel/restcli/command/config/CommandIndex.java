@@ -0,0 +1,248 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.config;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.command.CommandAddress;
+import de.hipphampel.restcli.command.config.CommandConfig.Type;
+import de.hipphampel.restcli.utils.FileUtils;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+class CommandIndex {
+
+  static final String INDEX_FILE = "cache/commands.json";
+
+  private final ObjectMapper objectMapper;
+  private final Path rootDir;
+  private final Path commandDir;
+  private final Path indexFile;
+  private final String configName;
+  private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+  private volatile boolean loaded;
+  private volatile boolean dirty;
+
+  CommandIndex(ObjectMapper objectMapper, Path rootDir, Path commandDir, String configName) {
+    this.objectMapper = Objects.requireNonNull(objectMapper);
+    this.rootDir = Objects.requireNonNull(rootDir);
+    this.commandDir = Objects.requireNonNull(commandDir);
+    this.indexFile = rootDir.resolve(INDEX_FILE);
+    this.configName = Objects.requireNonNull(configName);
+  }
+
+  Optional<CommandSummary> getSummary(CommandAddress address) {
+    return getNode(address, false)
+        .filter(Node::isValid)
+        .map(node -> new CommandSummary(node.type(), node.synopsis()));
+  }
+
+  List<String> getChildren(CommandAddress address) {
+    Path dir = getDir(address);
+    if (!Files.isDirectory(dir) || !Files.isReadable(dir)) {
+      return List.of();
+    }
+    return getNode(address, true)
+        .map(Node::children)
+        .orElse(List.of());
+  }
+
+  void invalidate(CommandAddress address) {
+    loadIfRequired();
+    if (nodes.remove(address.toString()) != null) {
+      dirty = true;
+    }
+    if (!address.isRoot() && nodes.remove(address.parent().toString()) != null) {
+      dirty = true;
+    }
+  }
+
+  void invalidateSubtree(CommandAddress address) {
+    loadIfRequired();
+    String key = address.toString();
+    String prefix = key + "/";
+    if (nodes.keySet().removeIf(name -> address.isRoot() || name.equals(key) || name.startsWith(prefix))) {
+      dirty = true;
+    }
+    invalidate(address);
+  }
+
+  Optional<Node> getNode(CommandAddress address, boolean withChildren) {
+    loadIfRequired();
+    Path dir = getDir(address);
+    BasicFileAttributes configAttributes = readAttributes(dir.resolve(configName));
+    if (configAttributes != null && !configAttributes.isRegularFile()) {
+      configAttributes = null;
+    }
+    String key = address.toString();
+    if (configAttributes == null && !Files.isDirectory(dir)) {
+      if (nodes.remove(key) != null) {
+        dirty = true;
+      }
+      return Optional.empty();
+    }
+
+    Node node = nodes.get(key);
+    Node newNode = node;
+    if (node == null || !node.matchesConfig(configAttributes)) {
+      CommandConfig config = configAttributes == null ? null : parse(dir.resolve(configName));
+      newNode = new Node(
+          config == null ? null : config.getType(),
+          config == null ? null : config.getSynopsis(),
+          configAttributes == null ? -1 : FileUtils.lastModifiedNanos(configAttributes),
+          configAttributes == null ? -1 : configAttributes.size(),
+          node == null ? null : node.children(),
+          node == null ? 0 : node.dirModified());
+    }
+    if (withChildren) {
+      BasicFileAttributes dirAttributes = readAttributes(dir);
+      if (dirAttributes != null && (newNode.children() == null || !newNode.matchesDir(dirAttributes))) {
+        newNode = new Node(newNode.type(), newNode.synopsis(), newNode.lastModified(), newNode.size(),
+            listChildren(dir), FileUtils.lastModifiedNanos(dirAttributes));
+      }
+    }
+    if (!newNode.equals(node)) {
+      nodes.put(key, newNode);
+      dirty = true;
+    }
+    return Optional.of(newNode);
+  }
+
+  List<String> listChildren(Path dir) {
+    try (Stream<Path> children = Files.list(dir)) {
+      return children
+          .filter(Files::isDirectory)
+          .map(Path::getFileName)
+          .map(Path::toString)
+          .filter(CommandAddress::isValidCommandName)
+          .filter(name -> {
+            Path path = dir.resolve(name).resolve(configName);
+            return Files.isRegularFile(path) && Files.isReadable(path);
+          })
+          .sorted()
+          .toList();
+    } catch (IOException ioe) {
+      return List.of();
+    }
+  }
+
+  CommandConfig parse(Path path) {
+    try {
+      return objectMapper.readValue(path.toFile(), CommandConfig.class);
+    } catch (IOException ioe) {
+      return null;
+    }
+  }
+
+  Path getDir(CommandAddress address) {
+    return commandDir.resolve(address.toPath()).normalize();
+  }
+
+  void loadIfRequired() {
+    if (loaded) {
+      return;
+    }
+    synchronized (this) {
+      if (loaded) {
+        return;
+      }
+      if (Files.isRegularFile(indexFile)) {
+        try {
+          nodes.putAll(objectMapper.readValue(indexFile.toFile(), new TypeReference<Map<String, Node>>() {
+          }));
+        } catch (IOException ioe) {
+          // A broken index is simply rebuilt
+          nodes.clear();
+        }
+      }
+      loaded = true;
+    }
+  }
+
+  synchronized void flush() {
+    if (!dirty || !Files.isDirectory(rootDir)) {
+      return;
+    }
+    dirty = false;
+    try {
+      FileUtils.writeAtomically(indexFile, objectMapper.writeValueAsBytes(new TreeMap<>(nodes)));
+    } catch (IOException ioe) {
+      // Ignored, see FileUtils.writeAtomically
+    }
+  }
+
+  static BasicFileAttributes readAttributes(Path path) {
+    try {
+      return Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (IOException ioe) {
+      return null;
+    }
+  }
+
+  @RegisterForReflection
+  record Node(Type type, String synopsis, long lastModified, long size, List<String> children, long dirModified) {
+
+    @JsonCreator
+    Node(
+        @JsonProperty("type") Type type,
+        @JsonProperty("synopsis") String synopsis,
+        @JsonProperty("lastModified") long lastModified,
+        @JsonProperty("size") long size,
+        @JsonProperty("children") List<String> children,
+        @JsonProperty("dirModified") long dirModified) {
+      this.type = type;
+      this.synopsis = synopsis;
+      this.lastModified = lastModified;
+      this.size = size;
+      this.children = children;
+      this.dirModified = dirModified;
+    }
+
+    boolean isValid() {
+      return type != null;
+    }
+
+    boolean matchesConfig(BasicFileAttributes attributes) {
+      if (attributes == null) {
+        return size == -1;
+      }
+      return lastModified == FileUtils.lastModifiedNanos(attributes) && size == attributes.size() && !FileUtils.isRacilyModified(attributes);
+    }
+
+    boolean matchesDir(BasicFileAttributes attributes) {
+      return dirModified == FileUtils.lastModifiedNanos(attributes) && !FileUtils.isRacilyModified(attributes);
+    }
+  }
+}
@@ -0,0 +1,314 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.config;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.command.CommandAddress;
+import de.hipphampel.restcli.utils.FileUtils;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+class CommandSearchIndex {
+
+  static final String INDEX_FILE = "cache/command-search.json";
+
+  static final int WEIGHT_NAME = 8;
+  static final int WEIGHT_SYNOPSIS = 4;
+  static final int WEIGHT_HTTP = 2;
+  static final int WEIGHT_PATH = 2;
+  static final int WEIGHT_DESCRIPTION = 1;
+
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern CAMEL_CASE_BOUNDARY = Pattern.compile("(?<=\\p{Ll})(?=\\p{Lu})|(?<=\\p{L})(?=\\p{N})|(?<=\\p{N})(?=\\p{L})");
+
+  private final ObjectMapper objectMapper;
+  private final Path rootDir;
+  private final Path commandDir;
+  private final Path indexFile;
+  private final String configName;
+  private final Map<String, Document> documents = new HashMap<>();
+  private final TreeMap<String, Map<String, Integer>> postings = new TreeMap<>();
+  private boolean loaded;
+  private boolean dirty;
+
+  CommandSearchIndex(ObjectMapper objectMapper, Path rootDir, Path commandDir, String configName) {
+    this.objectMapper = Objects.requireNonNull(objectMapper);
+    this.rootDir = Objects.requireNonNull(rootDir);
+    this.commandDir = Objects.requireNonNull(commandDir);
+    this.indexFile = rootDir.resolve(INDEX_FILE);
+    this.configName = Objects.requireNonNull(configName);
+  }
+
+  synchronized List<CommandSearchResult> search(String query) {
+    ensureLoaded(true);
+    List<String> terms = tokenize(query).distinct().toList();
+    if (terms.isEmpty()) {
+      return List.of();
+    }
+
+    Map<String, Integer> scores = null;
+    for (String term : terms) {
+      Map<String, Integer> termScores = new HashMap<>();
+      SortedMap<String, Map<String, Integer>> matches = postings.subMap(term, term + Character.MAX_VALUE);
+      matches.forEach((indexTerm, weights) -> {
+        boolean exact = indexTerm.equals(term);
+        weights.forEach((address, weight) -> termScores.merge(address, exact ? 2 * weight : weight, Math::max));
+      });
+      if (scores == null) {
+        scores = termScores;
+      } else {
+        scores.keySet().retainAll(termScores.keySet());
+        scores.replaceAll((address, score) -> score + termScores.get(address));
+      }
+    }
+
+    return scores.entrySet().stream()
+        .map(entry -> new CommandSearchResult(
+            CommandAddress.fromString(entry.getKey()),
+            documents.get(entry.getKey()).synopsis(),
+            entry.getValue()))
+        .sorted(Comparator.comparing(CommandSearchResult::score).reversed()
+            .thenComparing(result -> result.address().toString()))
+        .toList();
+  }
+
+  synchronized void update(CommandAddress address, CommandConfig config) {
+    if (address.isRoot() || !ensureLoaded(false)) {
+      return;
+    }
+    String key = address.toString();
+    removeDocument(key);
+    addDocument(key, Document.of(config));
+  }
+
+  synchronized void removeSubtree(CommandAddress address) {
+    if (address.isRoot() || !ensureLoaded(false)) {
+      return;
+    }
+    getSubtreeKeys(address).forEach(this::removeDocument);
+  }
+
+  synchronized void move(CommandAddress address, CommandAddress newAddress) {
+    if (!ensureLoaded(false)) {
+      return;
+    }
+    String oldKey = address.toString();
+    for (String key : getSubtreeKeys(address)) {
+      Document document = documents.get(key);
+      removeDocument(key);
+      String relative = key.substring(oldKey.length()).replaceFirst("^/", "");
+      addDocument(newAddress.child(CommandAddress.fromString(relative)).toString(), document);
+    }
+  }
+
+  synchronized void rebuild() {
+    documents.clear();
+    postings.clear();
+    loaded = true;
+    dirty = true;
+    if (!Files.isDirectory(commandDir)) {
+      return;
+    }
+    try (Stream<Path> files = Files.walk(commandDir)) {
+      files.filter(path -> path.getFileName().toString().equals(configName) && Files.isRegularFile(path))
+          .forEach(path -> {
+            Path relative = commandDir.relativize(path.getParent());
+            CommandAddress address = toAddress(relative);
+            if (address == null || address.isRoot()) {
+              return;
+            }
+            try {
+              CommandConfig config = objectMapper.readValue(path.toFile(), CommandConfig.class);
+              addDocument(address.toString(), Document.of(config));
+            } catch (IOException ioe) {
+              // Broken configurations are not searchable
+            }
+          });
+    } catch (IOException ioe) {
+      // The index stays partial, since it is just a cache
+    }
+  }
+
+  synchronized void flush() {
+    if (!dirty || !Files.isDirectory(rootDir)) {
+      return;
+    }
+    dirty = false;
+    try {
+      FileUtils.writeAtomically(indexFile, objectMapper.writeValueAsBytes(new TreeMap<>(documents)));
+    } catch (IOException ioe) {
+      // Ignored, see FileUtils.writeAtomically
+    }
+  }
+
+  boolean ensureLoaded(boolean buildIfMissing) {
+    if (loaded) {
+      return true;
+    }
+    if (Files.isRegularFile(indexFile)) {
+      try {
+        Map<String, Document> stored = objectMapper.readValue(indexFile.toFile(), new TypeReference<Map<String, Document>>() {
+        });
+        stored.forEach(this::addDocument);
+        loaded = true;
+        return true;
+      } catch (IOException ioe) {
+        documents.clear();
+        postings.clear();
+      }
+    }
+    if (buildIfMissing) {
+      rebuild();
+      return true;
+    }
+    return false;
+  }
+
+  List<String> getSubtreeKeys(CommandAddress address) {
+    String key = address.toString();
+    String prefix = key + "/";
+    return documents.keySet().stream()
+        .filter(name -> address.isRoot() || name.equals(key) || name.startsWith(prefix))
+        .toList();
+  }
+
+  void addDocument(String key, Document document) {
+    documents.put(key, document);
+    getTerms(CommandAddress.fromString(key), document).forEach((term, weight) -> postings.computeIfAbsent(term, ignore -> new HashMap<>()).put(key, weight));
+    dirty = true;
+  }
+
+  void removeDocument(String key) {
+    Document document = documents.remove(key);
+    if (document == null) {
+      return;
+    }
+    getTerms(CommandAddress.fromString(key), document).keySet().forEach(term -> {
+      Map<String, Integer> weights = postings.get(term);
+      if (weights != null) {
+        weights.remove(key);
+        if (weights.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    });
+    dirty = true;
+  }
+
+  static Map<String, Integer> getTerms(CommandAddress address, Document document) {
+    Map<String, Integer> terms = new HashMap<>();
+    addTerms(terms, WEIGHT_NAME, address.name());
+    addTerms(terms, WEIGHT_PATH, parentPathOf(address));
+    addTerms(terms, WEIGHT_SYNOPSIS, document.synopsis());
+    addTerms(terms, WEIGHT_HTTP, document.method());
+    addTerms(terms, WEIGHT_HTTP, document.baseUri());
+    document.descriptions().forEach(description -> addTerms(terms, WEIGHT_DESCRIPTION, description));
+    return terms;
+  }
+
+  static String parentPathOf(CommandAddress address) {
+    return address.isRoot() || address.parent() == null ? null : address.parent().toString();
+  }
+
+  static void addTerms(Map<String, Integer> terms, int weight, String text) {
+    tokenize(text).forEach(term -> terms.merge(term, weight, Math::max));
+  }
+
+  static Stream<String> tokenize(String text) {
+    if (text == null || text.isBlank()) {
+      return Stream.empty();
+    }
+    List<String> tokens = new ArrayList<>();
+    for (String word : TOKEN_SEPARATOR.split(text)) {
+      if (word.isEmpty()) {
+        continue;
+      }
+      tokens.add(word.toLowerCase(Locale.ROOT));
+      String[] parts = CAMEL_CASE_BOUNDARY.split(word);
+      if (parts.length > 1) {
+        for (String part : parts) {
+          tokens.add(part.toLowerCase(Locale.ROOT));
+        }
+      }
+    }
+    return tokens.stream();
+  }
+
+  static CommandAddress toAddress(Path relative) {
+    CommandAddress address = CommandAddress.ROOT;
+    for (Path segment : relative) {
+      String name = segment.toString();
+      if (name.isEmpty()) {
+        continue;
+      }
+      if (!CommandAddress.isValidCommandName(name)) {
+        return null;
+      }
+      address = address.child(name);
+    }
+    return address;
+  }
+
+  @RegisterForReflection
+  record Document(String synopsis, String method, String baseUri, List<String> descriptions) {
+
+    @JsonCreator
+    Document(
+        @JsonProperty("synopsis") String synopsis,
+        @JsonProperty("method") String method,
+        @JsonProperty("baseUri") String baseUri,
+        @JsonProperty("descriptions") List<String> descriptions) {
+      this.synopsis = synopsis;
+      this.method = method;
+      this.baseUri = baseUri;
+      this.descriptions = descriptions == null ? List.of() : List.copyOf(descriptions);
+    }
+
+    static Document of(CommandConfig config) {
+      RestCommandConfig restConfig = config.getRestConfig();
+      return new Document(
+          config.getSynopsis(),
+          restConfig == null ? null : restConfig.getMethod(),
+          restConfig == null ? null : restConfig.getBaseUri(),
+          config.getDescriptions() == null ? List.of() : config.getDescriptions().values().stream()
+              .filter(Objects::nonNull)
+              .toList());
+    }
+  }
+}
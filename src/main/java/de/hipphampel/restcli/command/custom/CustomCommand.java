@@ -59,7 +59,7 @@ public abstract class CustomCommand implements Command {
   @Override
   public Optional<Block> helpSection(CommandContext context, HelpSection section) {
     return Optional.ofNullable(config().getDescriptions().get(section))
-        .map(description -> CommandUtils.helpSection(description).apply(context))
+        .map(description -> CommandUtils.renderHelpText(context, description))
         .or(() -> Command.super.helpSection(context, section));
   }
 }
@@ -32,12 +32,14 @@ import de.hipphampel.restcli.command.config.BodyConfig;
 import de.hipphampel.restcli.command.config.CommandConfig;
 import de.hipphampel.restcli.command.config.ParameterConfig;
 import de.hipphampel.restcli.command.config.ParameterListConfig;
+import de.hipphampel.restcli.command.config.PartConfig;
 import de.hipphampel.restcli.command.config.RestCommandConfig;
 import de.hipphampel.restcli.config.ApplicationConfig;
 import de.hipphampel.restcli.env.Environment;
 import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.io.InputStreamProvider;
 import de.hipphampel.restcli.io.InputStreamProviderConfig;
+import de.hipphampel.restcli.io.MultipartInputStreamProvider.Part;
 import de.hipphampel.restcli.rest.RequestContext;
 import de.hipphampel.restcli.rest.RequestExecutor;
 import de.hipphampel.restcli.rest.RequestExecutorFactory;
@@ -47,9 +49,12 @@ import de.hipphampel.restcli.rest.ResponseActionFactory;
 import de.hipphampel.restcli.template.TemplateRepository;
 import de.hipphampel.restcli.utils.CollectionUtils;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -112,7 +117,41 @@ public class CustomHttpCommand extends CustomCommand {
         .queryParameters(restConfig.getQueryParameters())
         .expectContinue(false) // Currently unsupported
         .timeout(Duration.of(timeout, ChronoUnit.MILLIS))
-        .requestBody(body);
+        .requestBody(body)
+        .parts(createParts(context, requestContext));
+  }
+
+  List<Part> createParts(CommandContext context, RequestContext requestContext) {
+    RestCommandConfig restConfig = config().getRestConfig();
+    if (restConfig.getBody() == null) {
+      return List.of();
+    }
+    List<Part> parts = new ArrayList<>();
+    for (PartConfig partConfig : restConfig.getBody().parts()) {
+      InputStreamProviderConfig config;
+      if (partConfig.variable() != null) {
+        if (!requestContext.templateModel().containsKey(partConfig.variable())) {
+          continue;
+        }
+        Object variableContent = requestContext.templateModel().get(partConfig.variable());
+        config = InputStreamProviderConfig.fromString(String.valueOf(variableContent));
+      } else {
+        config = partConfig.content();
+      }
+      if (config == null) {
+        continue;
+      }
+      String fileName = partConfig.fileName();
+      if (fileName == null && config.type() == InputStreamProviderConfig.Type.path) {
+        fileName = String.valueOf(Path.of(config.value()).getFileName());
+      }
+      parts.add(new Part(
+          partConfig.name(),
+          fileName,
+          partConfig.contentType(),
+          CommandUtils.createInputStreamProvider(context, config, requestContext.templateModel())));
+    }
+    return parts;
   }
 
   InputStreamProvider createBody(CommandContext context, RequestContext requestContext) {
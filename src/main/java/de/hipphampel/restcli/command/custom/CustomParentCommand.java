@@ -46,7 +46,7 @@ public class CustomParentCommand extends CustomCommand implements ParentCommand
   @Override
   public Optional<Block> helpSection(CommandContext context, HelpSection section) {
     return Optional.ofNullable(config().getDescriptions().get(section))
-        .map(description -> CommandUtils.helpSection(description).apply(context))
+        .map(description -> CommandUtils.renderHelpText(context, description))
         .or(() -> ParentCommand.super.helpSection(context, section));
   }
 }
@@ -0,0 +1,330 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.completion;
+
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec.Option;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec.Parameters;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec.Positional;
+import de.hipphampel.restcli.command.Command;
+import de.hipphampel.restcli.command.CommandAddress;
+import de.hipphampel.restcli.command.CommandInfo;
+import de.hipphampel.restcli.command.CommandRepository;
+import de.hipphampel.restcli.command.CommandTree;
+import de.hipphampel.restcli.command.config.CommandConfigRepository;
+import de.hipphampel.restcli.env.Environment;
+import de.hipphampel.restcli.env.EnvironmentRepository;
+import de.hipphampel.restcli.exception.ExecutionException;
+import de.hipphampel.restcli.template.TemplateAddress;
+import de.hipphampel.restcli.template.TemplateRepository;
+import de.hipphampel.restcli.utils.FileUtils;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@ApplicationScoped
+public class CompletionCache {
+
+  public static final String CACHE_FILE = "cache/completion.txt";
+
+  static final String HEADER = "# restcli completion cache v1";
+  static final String KIND_COMMAND = "cmd";
+  static final String KIND_ENVIRONMENT = "env";
+  static final String KIND_TEMPLATE = "tpl";
+  static final String KIND_DIRECTORY = "dir";
+  static final String KIND_ARGUMENT = "arg";
+
+  @Inject
+  CommandRepository commandRepository;
+  @Inject
+  CommandConfigRepository commandConfigRepository;
+  @Inject
+  EnvironmentRepository environmentRepository;
+  @Inject
+  TemplateRepository templateRepository;
+
+  private final Map<Path, Generation> generations = new ConcurrentHashMap<>();
+  private final Set<Path> unwritable = ConcurrentHashMap.newKeySet();
+
+  // Updates the cache only if something was modified by this process; the initial cache is written by the `completion` command.
+  // Only the sections of the modified repositories are regenerated, for the commands only the modified subtrees
+  public void updateIfModified(Path rootDir) {
+    Path key = rootDir.toAbsolutePath().normalize();
+    Generation previous = generations.getOrDefault(key, Generation.INITIAL);
+    Generation current = currentGeneration();
+    if (current.equals(previous) || unwritable.contains(key)) {
+      return;
+    }
+    try {
+      Optional<Content> existing = readContent(rootDir);
+      if (existing.isEmpty()) {
+        update(rootDir);
+        return;
+      }
+      Content content = existing.get();
+      if (current.commands() != previous.commands()) {
+        updateCommands(rootDir, content, commandConfigRepository.getModifiedAddresses(previous.commands(), current.commands()));
+      }
+      if (current.environments() != previous.environments()) {
+        content.environments = environmentsLine(rootDir);
+      }
+      if (current.templates() != previous.templates()) {
+        content.templates = templatesLine(rootDir);
+      }
+      write(rootDir, current, content);
+    } catch (RuntimeException e) {
+      // Ignored, see FileUtils.writeAtomically; the config directory is not retried until the next explicit update
+      unwritable.add(key);
+    }
+  }
+
+  public void update(Path rootDir) {
+    Generation generation = currentGeneration();
+    write(rootDir, generation, createContent(rootDir));
+  }
+
+  void write(Path rootDir, Generation generation, Content content) {
+    Path file = rootDir.resolve(CACHE_FILE);
+    try {
+      FileUtils.writeAtomically(file, content.format().getBytes(StandardCharsets.UTF_8));
+    } catch (IOException ioe) {
+      throw new ExecutionException("Failed to write completion cache \"%s\".".formatted(file), ioe);
+    }
+    Path key = rootDir.toAbsolutePath().normalize();
+    generations.put(key, generation);
+    unwritable.remove(key);
+  }
+
+  Optional<Content> readContent(Path rootDir) {
+    Path file = rootDir.resolve(CACHE_FILE);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try {
+      return Content.parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+    } catch (IOException ioe) {
+      return Optional.empty();
+    }
+  }
+
+  Content createContent(Path rootDir) {
+    Content content = new Content();
+    content.commands.putAll(commandLines(rootDir, CommandAddress.ROOT, true));
+    content.environments = environmentsLine(rootDir);
+    content.templates = templatesLine(rootDir);
+    return content;
+  }
+
+  void updateCommands(Path rootDir, Content content, List<CommandAddress> modified) {
+    if (modified.stream().anyMatch(CommandAddress::isRoot)) {
+      content.commands.clear();
+      content.commands.putAll(commandLines(rootDir, CommandAddress.ROOT, true));
+      return;
+    }
+    // A modification affects the subtree of the address and the list of children of its parent
+    content.commands.keySet()
+        .removeIf(address -> modified.stream().anyMatch(changed -> isAffected(CommandAddress.fromString(address), changed)));
+    for (CommandAddress address : modified) {
+      content.commands.putAll(commandLines(rootDir, address.parent(), false));
+      content.commands.putAll(commandLines(rootDir, address, true));
+    }
+  }
+
+  static boolean isAffected(CommandAddress address, CommandAddress changed) {
+    if (address.equals(changed.parent())) {
+      return true;
+    }
+    for (CommandAddress current = address; current != null; current = current.parent()) {
+      if (current.equals(changed)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  Map<String, List<String>> commandLines(Path rootDir, CommandAddress address, boolean recursive) {
+    List<CommandTree> trees = new ArrayList<>();
+    commandRepository.loadSubtree(rootDir, address, recursive ? -1 : 1, child -> true, false)
+        .ifPresent(tree -> {
+          if (recursive) {
+            collectTrees(tree, trees);
+          } else {
+            trees.add(tree);
+          }
+        });
+    return trees.parallelStream()
+        .collect(Collectors.toMap(tree -> tree.info().address().toString(), tree -> linesFor(rootDir, tree).toList()));
+  }
+
+  String environmentsLine(Path rootDir) {
+    TreeSet<String> environments = new TreeSet<>(environmentRepository.listEnvironments(rootDir));
+    environments.add(Environment.EMPTY);
+    return line("e", "", environments.stream());
+  }
+
+  String templatesLine(Path rootDir) {
+    return line("t", "", Stream.concat(
+            templateRepository.getAllTemplates(rootDir).stream(),
+            templateRepository.getEffectiveTemplates(rootDir, CommandAddress.ROOT).stream())
+        .map(TemplateAddress::name)
+        .distinct()
+        .sorted());
+  }
+
+  Stream<String> linesFor(Path rootDir, CommandTree tree) {
+    CommandInfo info = tree.info();
+    String address = info.address().toString();
+    List<String> lines = new ArrayList<>();
+    if (!tree.children().isEmpty()) {
+      lines.add(line("c", address, tree.children().stream().map(child -> child.info().address().name())));
+    }
+
+    Optional<Parameters> params;
+    try {
+      params = commandRepository.getCommand(rootDir, info.address()).map(Command::commandLineSpec).map(spec -> spec.params());
+    } catch (RuntimeException e) {
+      // Broken commands just offer no options
+      params = Optional.empty();
+    }
+    params.ifPresent(p -> {
+      List<String> options = new ArrayList<>();
+      collectOptions(info.address(), p, options);
+      if (!options.isEmpty()) {
+        lines.add(line("o", address, options.stream()));
+      }
+      if (!info.parent()) {
+        p.positionals().stream()
+            .findFirst()
+            .map(positional -> kindOf(info.address(), positional))
+            .filter(kind -> !KIND_ARGUMENT.equals(kind) && !KIND_DIRECTORY.equals(kind))
+            .ifPresent(kind -> lines.add(line("p", address, Stream.of(kind))));
+      }
+    });
+    return lines.stream();
+  }
+
+  static void collectTrees(CommandTree tree, List<CommandTree> trees) {
+    trees.add(tree);
+    tree.children().forEach(child -> collectTrees(child, trees));
+  }
+
+  static void collectOptions(CommandAddress address, Parameters params, List<String> options) {
+    for (Option option : params.options()) {
+      String kind = option.params().positionals().stream()
+          .findFirst()
+          .map(positional -> kindOf(address, positional))
+          .orElse(null);
+      option.names().forEach(name -> options.add(kind == null ? name : name + ":" + kind));
+      collectOptions(address, option.params(), options);
+    }
+  }
+
+  static String kindOf(CommandAddress address, Positional positional) {
+    return switch (positional.name()) {
+      case "<environment>" -> KIND_ENVIRONMENT;
+      case "<template>", "<template-address>", "<name-or-address>" -> KIND_TEMPLATE;
+      case "<config-dir>" -> KIND_DIRECTORY;
+      case "<address>", "<command-address>", "<sub-command>" -> KIND_COMMAND;
+      case "<name>", "<source>", "<target>", "<parent>" -> kindOfFamily(address);
+      default -> KIND_ARGUMENT;
+    };
+  }
+
+  static String kindOfFamily(CommandAddress address) {
+    CommandAddress family = address;
+    while (!family.isRoot() && !family.parent().isRoot()) {
+      family = family.parent();
+    }
+    return switch (family.isRoot() ? "" : family.name()) {
+      case "env" -> KIND_ENVIRONMENT;
+      case "template" -> KIND_TEMPLATE;
+      case "cmd" -> KIND_COMMAND;
+      default -> KIND_ARGUMENT;
+    };
+  }
+
+  static String line(String type, String address, Stream<String> values) {
+    return type + "\t" + address + "\t" + values
+        .filter(value -> value.chars().noneMatch(Character::isWhitespace))
+        .collect(Collectors.joining(" "));
+  }
+
+  Generation currentGeneration() {
+    return new Generation(
+        commandConfigRepository.getModificationCount(),
+        environmentRepository.getModificationCount(),
+        templateRepository.getModificationCount());
+  }
+
+  record Generation(long commands, long environments, long templates) {
+
+    static final Generation INITIAL = new Generation(0, 0, 0);
+  }
+
+  // The cache file consists of the header, the lines per command ordered by address, and the environment and template lines
+  static class Content {
+
+    final Map<String, List<String>> commands = new TreeMap<>();
+    String environments = line("e", "", Stream.of());
+    String templates = line("t", "", Stream.of());
+
+    static Optional<Content> parse(List<String> lines) {
+      if (lines.isEmpty() || !HEADER.equals(lines.get(0))) {
+        return Optional.empty();
+      }
+      Content content = new Content();
+      for (String line : lines.subList(1, lines.size())) {
+        String[] fields = line.split("\t", 3);
+        if (fields.length != 3) {
+          return Optional.empty();
+        }
+        switch (fields[0]) {
+          case "e" -> content.environments = line;
+          case "t" -> content.templates = line;
+          default -> content.commands.computeIfAbsent(fields[1], ignore -> new ArrayList<>()).add(line);
+        }
+      }
+      return Optional.of(content);
+    }
+
+    String format() {
+      StringBuilder buffer = new StringBuilder(HEADER).append('\n');
+      commands.values().forEach(lines -> lines.forEach(line -> buffer.append(line).append('\n')));
+      buffer.append(environments).append('\n');
+      buffer.append(templates).append('\n');
+      return buffer.toString();
+    }
+  }
+}
@@ -34,6 +34,7 @@ public class ApplicationConfig {
   private boolean outputWithStyles;
   private String outputTemplate;
   private long requestTimeout;
+  private boolean persistentCallCache;
 
   public ApplicationConfig() {
     this.environment = Environment.EMPTY;
@@ -41,6 +42,7 @@ public class ApplicationConfig {
     this.outputWithStyles = true;
     this.outputTemplate = "default";
     this.requestTimeout = 30_000L;
+    this.persistentCallCache = false;
 
   }
 
@@ -80,6 +82,15 @@ public class ApplicationConfig {
     return this;
   }
 
+  public boolean isPersistentCallCache() {
+    return persistentCallCache;
+  }
+
+  public ApplicationConfig setPersistentCallCache(boolean persistentCallCache) {
+    this.persistentCallCache = persistentCallCache;
+    return this;
+  }
+
   public String getEnvironment() {
     return environment;
   }
@@ -98,11 +109,11 @@ public class ApplicationConfig {
     }
     ApplicationConfig config = (ApplicationConfig) o;
     return outputWidth == config.outputWidth && outputWithStyles == config.outputWithStyles && requestTimeout == config.requestTimeout
-        && Objects.equals(environment, config.environment) && Objects.equals(outputTemplate, config.outputTemplate);
+        && persistentCallCache == config.persistentCallCache && Objects.equals(environment, config.environment) && Objects.equals(outputTemplate, config.outputTemplate);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(environment, outputWidth, outputWithStyles, outputTemplate, requestTimeout);
+    return Objects.hash(environment, outputWidth, outputWithStyles, outputTemplate, requestTimeout, persistentCallCache);
   }
 }
@@ -24,6 +24,7 @@ package de.hipphampel.restcli.env;
 
 import de.hipphampel.restcli.utils.ChangeDetector;
 import de.hipphampel.restcli.utils.CollectionUtils;
+import de.hipphampel.restcli.utils.VariableScope;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -37,7 +38,7 @@ public class Environment {
   private final ChangeDetector<String> name;
   private final EnvironmentConfig parentConfig;
   private EnvironmentConfig localConfig;
-  private Map<String, Object> variables;
+  private VariableScope variables;
   private Map<String, List<String>> headers;
 
   public static Environment empty() {
@@ -102,7 +103,7 @@ public class Environment {
   }
 
   public Map<String, Object> getVariables() {
-    return Collections.unmodifiableMap(this.variables);
+    return this.variables;
   }
 
   public Object getLocalVariable(String name) {
@@ -201,7 +202,7 @@ public class Environment {
   }
 
   Environment recalculate() {
-    this.variables = CollectionUtils.mergeVariables(parentConfig.variables(), localConfig.variables());
+    this.variables = VariableScope.of(parentConfig.variables()).with(localConfig.variables());
     this.headers = CollectionUtils.mergeHeaders(parentConfig.headers(), localConfig.headers());
     return this;
   }
@@ -0,0 +1,254 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.env;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.exception.ExecutionException;
+import de.hipphampel.restcli.utils.FileUtils;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+class EnvironmentIndex {
+
+  static final String INDEX_FILE = "cache/environments.json";
+
+  private final ObjectMapper objectMapper;
+  private final Path envDir;
+  private final Path indexFile;
+  private final Map<String, Entry> entries = new HashMap<>();
+  private final Map<String, EnvironmentConfig> configs = new HashMap<>();
+  private final Map<String, MergedSnapshot> snapshots = new HashMap<>();
+  private boolean loaded;
+
+  EnvironmentIndex(ObjectMapper objectMapper, Path rootDir, Path envDir) {
+    this.objectMapper = Objects.requireNonNull(objectMapper);
+    this.envDir = Objects.requireNonNull(envDir);
+    this.indexFile = rootDir.resolve(INDEX_FILE);
+  }
+
+  synchronized Map<String, Entry> getEntries() {
+    loadIfRequired();
+    Set<String> existing = new HashSet<>();
+    boolean changed = false;
+    try (Stream<Path> listing = Files.list(envDir)) {
+      for (Path path : listing.toList()) {
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+          continue;
+        }
+        String name = path.getFileName().toString();
+        existing.add(name);
+        changed |= refresh(name, path, false);
+      }
+    } catch (IOException ioe) {
+      throw new ExecutionException("Failed to list environments.", ioe);
+    }
+    changed |= entries.keySet().retainAll(existing);
+    configs.keySet().retainAll(existing);
+    snapshots.keySet().retainAll(existing);
+    if (changed) {
+      persist();
+    }
+    return new TreeMap<>(entries);
+  }
+
+  synchronized Optional<EnvironmentConfig> getConfig(String environmentName) {
+    loadIfRequired();
+    Path path = getPath(environmentName);
+    if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+      invalidate(environmentName);
+      return Optional.empty();
+    }
+    if (refresh(environmentName, path, true)) {
+      persist();
+    }
+    return Optional.ofNullable(configs.get(environmentName));
+  }
+
+  synchronized Optional<EnvironmentConfig> getMergedSnapshot(String environmentName, String child) {
+    loadIfRequired();
+    MergedSnapshot snapshot = snapshots.get(environmentName);
+    if (snapshot == null) {
+      return Optional.empty();
+    }
+    return getAncestorHashes(environmentName, child)
+        .filter(hashes -> hashes.equals(snapshot.hashes()))
+        .map(ignore -> snapshot.config());
+  }
+
+  synchronized void putMergedSnapshot(String environmentName, String child, EnvironmentConfig config) {
+    loadIfRequired();
+    getAncestorHashes(environmentName, child)
+        .map(hashes -> new MergedSnapshot(hashes, config))
+        .ifPresent(snapshot -> snapshots.put(environmentName, snapshot));
+  }
+
+  synchronized void invalidate(String environmentName) {
+    loadIfRequired();
+    configs.remove(environmentName);
+    entries.remove(environmentName);
+  }
+
+  Path getPath(String environmentName) {
+    return envDir.resolve(environmentName);
+  }
+
+  Optional<List<String>> getAncestorHashes(String environmentName, String child) {
+    List<String> hashes = new ArrayList<>();
+    Set<String> visited = new HashSet<>();
+    visited.add(child);
+    String current = environmentName;
+    while (current != null) {
+      if (!visited.add(current) || getConfig(current).isEmpty()) {
+        return Optional.empty();
+      }
+      Entry entry = entries.get(current);
+      hashes.add(entry.hash());
+      current = entry.parent();
+    }
+    return Optional.of(hashes);
+  }
+
+  // Only the entries are persisted, the parsed configs and merged snapshots live in memory. So a lookup parses just the
+  // environments it touches, whereas listing them parses none as long as their files are unchanged
+  boolean refresh(String environmentName, Path path, boolean withConfig) {
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (IOException ioe) {
+      return false;
+    }
+    Entry entry = entries.get(environmentName);
+    if (entry != null && entry.matches(attributes) && !FileUtils.isRacilyModified(attributes) && (!withConfig || !entry.isValid() || configs.containsKey(environmentName))) {
+      return false;
+    }
+
+    try {
+      byte[] content = Files.readAllBytes(path);
+      String hash = hash(content);
+      EnvironmentConfig config = parse(content);
+      if (config == null) {
+        configs.remove(environmentName);
+        hash = null;
+      } else {
+        configs.put(environmentName, config);
+      }
+      Entry newEntry = new Entry(config == null ? null : config.parent(), FileUtils.lastModifiedNanos(attributes), attributes.size(), hash);
+      entries.put(environmentName, newEntry);
+      return !newEntry.equals(entry);
+    } catch (IOException ioe) {
+      configs.remove(environmentName);
+      return entries.remove(environmentName) != null;
+    }
+  }
+
+  EnvironmentConfig parse(byte[] content) {
+    try {
+      return objectMapper.readValue(content, EnvironmentConfig.class);
+    } catch (IOException ioe) {
+      return null;
+    }
+  }
+
+  void loadIfRequired() {
+    if (loaded) {
+      return;
+    }
+    loaded = true;
+    if (!Files.isRegularFile(indexFile)) {
+      return;
+    }
+    try {
+      entries.putAll(objectMapper.readValue(indexFile.toFile(), new TypeReference<Map<String, Entry>>() {
+      }));
+    } catch (IOException ioe) {
+      // A broken index is simply rebuilt
+      entries.clear();
+    }
+  }
+
+  void persist() {
+    try {
+      FileUtils.writeAtomically(indexFile,
+          objectMapper.writeValueAsBytes(new TreeMap<>(entries)));
+    } catch (IOException ioe) {
+      // Ignored, see FileUtils.writeAtomically
+    }
+  }
+
+  static String hash(byte[] content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    } catch (NoSuchAlgorithmException e) {
+      throw new ExecutionException("Failed to compute hash.", e);
+    }
+  }
+
+  @RegisterForReflection
+  record Entry(String parent, long lastModified, long size, String hash) {
+
+    @JsonCreator
+    Entry(
+        @JsonProperty("parent") String parent,
+        @JsonProperty("lastModified") long lastModified,
+        @JsonProperty("size") long size,
+        @JsonProperty("hash") String hash) {
+      this.parent = parent;
+      this.lastModified = lastModified;
+      this.size = size;
+      this.hash = hash;
+    }
+
+    @JsonIgnore
+    boolean isValid() {
+      return hash != null;
+    }
+
+    boolean matches(BasicFileAttributes attributes) {
+      return lastModified == FileUtils.lastModifiedNanos(attributes) && size == attributes.size();
+    }
+  }
+
+  record MergedSnapshot(List<String> hashes, EnvironmentConfig config) {
+
+  }
+}
@@ -32,6 +32,7 @@ import jakarta.inject.Inject;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -39,6 +40,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 @ApplicationScoped
@@ -49,6 +52,13 @@ public class EnvironmentRepository {
   @Inject
   ObjectMapper objectMapper;
 
+  private final Map<Path, EnvironmentIndex> indexes = new ConcurrentHashMap<>();
+  private final AtomicLong modificationCount = new AtomicLong();
+
+  public long getModificationCount() {
+    return modificationCount.get();
+  }
+
   public boolean existsEnvironment(Path rootDir, String environmentName) {
     Path path = getPath(rootDir, environmentName);
     return Environment.EMPTY.equals(environmentName) || (Files.isRegularFile(path) && Files.isReadable(path));
@@ -62,10 +72,33 @@ public class EnvironmentRepository {
         .map(config -> new Environment(
             config.parent(),
             environmentName,
-            getMergedConfig(rootDir, config.parent(), new LinkedHashSet<>(List.of(environmentName))),
+            getMergedParentConfig(rootDir, environmentName, config.parent()),
             config));
   }
 
+  EnvironmentConfig getMergedParentConfig(Path rootDir, String environmentName, String parent) {
+    if (parent == null) {
+      return EnvironmentConfig.EMPTY;
+    }
+    EnvironmentIndex index = getIndex(rootDir);
+    return index.getMergedSnapshot(parent, environmentName)
+        .orElseGet(() -> {
+          EnvironmentConfig merged = getMergedConfig(rootDir, parent, new LinkedHashSet<>(List.of(environmentName)));
+          index.putMergedSnapshot(parent, environmentName, merged);
+          return merged;
+        });
+  }
+
+  public Map<String, String> getEnvironmentGraph(Path rootDir) {
+    Map<String, String> graph = new HashMap<>();
+    getIndex(rootDir).getEntries().forEach((name, entry) -> {
+      if (entry.isValid()) {
+        graph.put(name, entry.parent());
+      }
+    });
+    return graph;
+  }
+
   public List<String> listEnvironments(Path rootDir) {
     try (Stream<Path> listing = Files.list(getPath(rootDir, "."))) {
       return listing
@@ -78,9 +111,9 @@ public class EnvironmentRepository {
   }
 
   public List<String> listEnvironments(Path rootDir, String parent) {
-    return streamConfigs(rootDir)
-        .filter(p -> Objects.equals(p.second().parent(), parent))
-        .map(Pair::first)
+    return getIndex(rootDir).getEntries().entrySet().stream()
+        .filter(entry -> entry.getValue().isValid() && Objects.equals(entry.getValue().parent(), parent))
+        .map(Map.Entry::getKey)
         .toList();
   }
 
@@ -111,21 +144,21 @@ public class EnvironmentRepository {
     if (environment.isNamedChanged()) {
       deleteConfig(rootDir, environment.getOriginalName());
       String oldName = environment.getOriginalName();
-      streamConfigs(rootDir)
-          .filter(entry -> Objects.equals(entry.second().parent(), oldName))
-          .forEach(entry -> storeConfig(
-              rootDir,
-              entry.first(),
-              new EnvironmentConfig(
-                  environment.getName(),
-                  entry.second().variables(),
-                  entry.second().headers(),
-                  entry.second().requestTimeout())));
+      listEnvironments(rootDir, oldName)
+          .forEach(child -> getConfig(rootDir, child)
+              .ifPresent(config -> storeConfig(
+                  rootDir,
+                  child,
+                  new EnvironmentConfig(
+                      environment.getName(),
+                      config.variables(),
+                      config.headers(),
+                      config.requestTimeout()))));
     }
   }
 
   public void deleteEnvironment(Path rootDir, String environmentName, boolean force) {
-    if (!force && streamConfigs(rootDir).anyMatch(config -> Objects.equals(config.second().parent(), environmentName))) {
+    if (!force && !listEnvironments(rootDir, environmentName).isEmpty()) {
       throw new ExecutionException("Environment \"%s\" cannot be deleted, since it is in use.".formatted(environmentName));
     }
     deleteConfig(rootDir, environmentName);
@@ -133,6 +166,8 @@ public class EnvironmentRepository {
 
   void deleteConfig(Path rootDir, String environmentName) {
     Path path = getPath(rootDir, environmentName);
+    getIndex(rootDir).invalidate(environmentName);
+    modificationCount.incrementAndGet();
     try {
       Files.delete(path);
     } catch (IOException ioe) {
@@ -148,6 +183,8 @@ public class EnvironmentRepository {
 
   void storeConfig(Path rootDir, String environmentName, EnvironmentConfig config) {
     Path path = getPath(rootDir, environmentName);
+    getIndex(rootDir).invalidate(environmentName);
+    modificationCount.incrementAndGet();
     try {
       Files.write(path, objectMapper.writeValueAsBytes(config));
     } catch (IOException e) {
@@ -181,12 +218,12 @@ public class EnvironmentRepository {
   }
 
   public Optional<EnvironmentConfig> getConfig(Path rootDir, String environmentName) {
-    Path path = getPath(rootDir, environmentName);
-    try {
-      return Optional.of(objectMapper.readValue(Files.readAllBytes(path), EnvironmentConfig.class));
-    } catch (IOException e) {
-      return Optional.empty();
-    }
+    return getIndex(rootDir).getConfig(environmentName);
+  }
+
+  EnvironmentIndex getIndex(Path rootDir) {
+    return indexes.computeIfAbsent(rootDir.toAbsolutePath().normalize(),
+        dir -> new EnvironmentIndex(objectMapper, dir, getPath(dir, ".").normalize()));
   }
 
   Path getPath(Path rootDir, String environmentName) {
@@ -49,18 +49,9 @@ public sealed interface ClosableInputStreamProvider extends Openable, Closeable
     private final Path file;
 
     public InputStreamWrapper(InputStream stream, int maxMemorySize) throws IOException {
-
-
-      byte[] buffer = new byte[maxMemorySize + 1];
-      int len = 0;
-      int count = 0;
-      do {
-        count = stream.read(buffer, len, buffer.length - len);
-        len += Math.max(0, count);
-      }
-      while (count != -1 && len < buffer.length);
-
-      if (len == buffer.length) {
+      // readNBytes grows its buffer with the data read, so small bodies do not allocate maxMemorySize bytes
+      byte[] buffer = stream.readNBytes(maxMemorySize + 1);
+      if (buffer.length > maxMemorySize) {
         this.byteArray = null;
         this.file = Files.createTempFile("rest-cli", "tmp");
         try (OutputStream fileOut = new FileOutputStream(file.toFile())) {
@@ -69,9 +60,7 @@ public sealed interface ClosableInputStreamProvider extends Openable, Closeable
         }
       } else {
         this.file = null;
-
-        this.byteArray = new byte[Math.max(0, len)];
-        System.arraycopy(buffer, 0, byteArray, 0, Math.max(0, len));
+        this.byteArray = buffer;
       }
     }
 
@@ -36,10 +36,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
 
-public sealed interface InputStreamProvider extends Openable {
+public sealed interface InputStreamProvider extends Openable permits InputStreamProvider.SupplierInputStreamProvider,
+    InputStreamProvider.StringInputStreamProvider, InputStreamProvider.PathInputStreamProvider, MultipartInputStreamProvider {
 
   static InputStreamProvider ofString(String str) {
-    return new SupplierInputStreamProvider(() -> new ByteArrayInputStream(str.getBytes(StandardCharsets.UTF_8)));
+    return new StringInputStreamProvider(str);
   }
 
   static InputStreamProvider ofURL(URL url) {
@@ -57,13 +58,7 @@ public sealed interface InputStreamProvider extends Openable {
   }
 
   static InputStreamProvider ofPath(Path path) {
-    return new SupplierInputStreamProvider(() -> {
-      try {
-        return new FileInputStream(path.toFile());
-      } catch (IOException e) {
-        throw new ExecutionException("Failed to open \"%s\" for reading.".formatted(path), e);
-      }
-    });
+    return new PathInputStreamProvider(path);
   }
 
   static InputStreamProvider interpolated(InputStreamProvider source, TemplateRenderer renderer, TemplateModel model) {
@@ -84,4 +79,32 @@ public sealed interface InputStreamProvider extends Openable {
       return supplier.get();
     }
   }
+
+  record StringInputStreamProvider(String value) implements InputStreamProvider {
+
+    public StringInputStreamProvider(String value) {
+      this.value = Objects.requireNonNull(value);
+    }
+
+    @Override
+    public InputStream open() {
+      return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  record PathInputStreamProvider(Path path) implements InputStreamProvider {
+
+    public PathInputStreamProvider(Path path) {
+      this.path = Objects.requireNonNull(path);
+    }
+
+    @Override
+    public InputStream open() {
+      try {
+        return new FileInputStream(path.toFile());
+      } catch (IOException e) {
+        throw new ExecutionException("Failed to open \"%s\" for reading.".formatted(path), e);
+      }
+    }
+  }
 }
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public record MultipartInputStreamProvider(String boundary, List<Part> parts) implements InputStreamProvider {
+
+  public record Part(String name, String fileName, String contentType, InputStreamProvider content) {
+
+    public Part(String name, String fileName, String contentType, InputStreamProvider content) {
+      this.name = Objects.requireNonNull(name);
+      this.fileName = fileName;
+      this.contentType = contentType;
+      this.content = Objects.requireNonNull(content);
+    }
+  }
+
+  public MultipartInputStreamProvider(String boundary, List<Part> parts) {
+    this.boundary = Objects.requireNonNull(boundary);
+    this.parts = List.copyOf(parts);
+  }
+
+  public static String newBoundary() {
+    return "restcli-" + UUID.randomUUID().toString().replace("-", "");
+  }
+
+  public String contentType() {
+    return "multipart/form-data; boundary=" + boundary;
+  }
+
+  public byte[] partHeader(int index) {
+    Part part = parts.get(index);
+    StringBuilder buffer = new StringBuilder();
+    if (index > 0) {
+      buffer.append("\r\n");
+    }
+    buffer.append("--").append(boundary).append("\r\n")
+        .append("Content-Disposition: form-data; name=\"").append(escape(part.name())).append('"');
+    if (part.fileName() != null) {
+      buffer.append("; filename=\"").append(escape(part.fileName())).append('"');
+    }
+    buffer.append("\r\n");
+    String contentType = part.contentType() == null && part.fileName() != null ? "application/octet-stream" : part.contentType();
+    if (contentType != null) {
+      buffer.append("Content-Type: ").append(contentType).append("\r\n");
+    }
+    buffer.append("\r\n");
+    return buffer.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  public byte[] trailer() {
+    return ((parts.isEmpty() ? "" : "\r\n") + "--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public InputStream open() {
+    List<Supplier<InputStream>> streams = new ArrayList<>();
+    for (int i = 0; i < parts.size(); i++) {
+      byte[] header = partHeader(i);
+      streams.add(() -> new ByteArrayInputStream(header));
+      streams.add(parts.get(i).content()::open);
+    }
+    streams.add(() -> new ByteArrayInputStream(trailer()));
+
+    Iterator<Supplier<InputStream>> iterator = streams.iterator();
+    return new SequenceInputStream(new Enumeration<>() {
+      @Override
+      public boolean hasMoreElements() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public InputStream nextElement() {
+        return iterator.next().get();
+      }
+    });
+  }
+
+  static String escape(String str) {
+    return str.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+  }
+}
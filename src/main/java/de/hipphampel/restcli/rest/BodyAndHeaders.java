@@ -47,6 +47,7 @@ public abstract class BodyAndHeaders<T extends Openable> {
 
   private final ObjectMapper objectMapper;
   private final DocumentBuilderFactory documentBuilderFactory;
+  private Object jsonBody;
 
   public BodyAndHeaders(ObjectMapper objectMapper, DocumentBuilderFactory documentBuilderFactory) {
     this.objectMapper = objectMapper;
@@ -66,17 +67,24 @@ public abstract class BodyAndHeaders<T extends Openable> {
     return getBody() != null;
   }
 
+  public InputStream openBodyStream() throws IOException {
+    return getBody().open();
+  }
+
   public String getStringBody() throws IOException {
-    try (InputStream in = getBody().open(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-      in.transferTo(out);
-      return out.toString(StandardCharsets.UTF_8);
+    try (InputStream in = getBody().open()) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
     }
   }
 
   @JsonIgnore
   public Object getJsonBody() throws IOException {
+    if (jsonBody != null) {
+      return jsonBody;
+    }
     try (InputStream in = getBody().open()) {
-      return objectMapper.readValue(in, Object.class);
+      jsonBody = objectMapper.readValue(in, Object.class);
+      return jsonBody;
     }
   }
 
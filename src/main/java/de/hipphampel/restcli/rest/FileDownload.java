@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.rest;
+
+import de.hipphampel.restcli.exception.ExecutionException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class FileDownload implements BodyHandler<InputStream> {
+
+  public static final String VALIDATOR_SUFFIX = ".restcli-validator";
+  static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes\\s+(\\d+)-\\d+/(\\d+|\\*)");
+
+  private final Path file;
+  private final Path validatorFile;
+  private long offset;
+  private boolean written;
+
+  public FileDownload(Path file) {
+    this.file = Objects.requireNonNull(file);
+    this.validatorFile = file.resolveSibling(file.getFileName() + VALIDATOR_SUFFIX);
+  }
+
+  public HttpRequest prepare(HttpRequest request) throws IOException {
+    // The validator file only exists while a download is incomplete, so an already existing, complete file is never appended to
+    offset = 0;
+    written = false;
+    if (!Files.isRegularFile(file) || !Files.isRegularFile(validatorFile)) {
+      return request;
+    }
+    String validator = Files.readString(validatorFile, StandardCharsets.UTF_8).trim();
+    long size = Files.size(file);
+    if (validator.isEmpty() || size == 0) {
+      return request;
+    }
+    offset = size;
+    return HttpRequest.newBuilder(request, (name, value) -> true)
+        .header("Range", "bytes=" + size + "-")
+        .header("If-Range", validator)
+        .build();
+  }
+
+  public void complete() throws IOException {
+    if (written) {
+      Files.deleteIfExists(validatorFile);
+    }
+  }
+
+  @Override
+  public BodySubscriber<InputStream> apply(ResponseInfo responseInfo) {
+    int statusCode = responseInfo.statusCode();
+    try {
+      if (statusCode == 206 && offset > 0 && contentRangeStartOf(responseInfo.headers()).orElse(-1L) == offset) {
+        return writeTo(StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+      } else if (statusCode >= 200 && statusCode < 300 && statusCode != 206) {
+        storeValidator(responseInfo.headers());
+        return writeTo(StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      } else if (statusCode == 416) {
+        // The stored state does not match the resource anymore, so the next attempt starts from scratch
+        Files.deleteIfExists(validatorFile);
+      }
+    } catch (IOException e) {
+      throw new ExecutionException("Failed to write to \"%s\".".formatted(file), e);
+    }
+    return BodySubscribers.ofInputStream();
+  }
+
+  BodySubscriber<InputStream> writeTo(OpenOption... options) {
+    written = true;
+    return BodySubscribers.mapping(BodySubscribers.ofFile(file, options), ignore -> InputStream.nullInputStream());
+  }
+
+  void storeValidator(HttpHeaders headers) throws IOException {
+    // Weak entity tags must not be used in an If-Range header, in this case the last modification date is used
+    Optional<String> validator = headers.firstValue("ETag")
+        .filter(etag -> !etag.startsWith("W/"))
+        .or(() -> headers.firstValue("Last-Modified"));
+    if (validator.isPresent()) {
+      Files.writeString(validatorFile, validator.get(), StandardCharsets.UTF_8);
+    } else {
+      Files.deleteIfExists(validatorFile);
+    }
+  }
+
+  static Optional<Long> contentRangeStartOf(HttpHeaders headers) {
+    return headers.firstValue("Content-Range")
+        .map(CONTENT_RANGE_PATTERN::matcher)
+        .filter(Matcher::matches)
+        .map(matcher -> Long.parseLong(matcher.group(1)));
+  }
+}
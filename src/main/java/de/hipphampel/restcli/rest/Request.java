@@ -25,7 +25,11 @@ package de.hipphampel.restcli.rest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.io.InputStreamProvider;
+import de.hipphampel.restcli.io.InputStreamProvider.PathInputStreamProvider;
+import de.hipphampel.restcli.io.InputStreamProvider.StringInputStreamProvider;
+import de.hipphampel.restcli.io.MultipartInputStreamProvider;
 import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.io.FileNotFoundException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpRequest;
@@ -33,6 +37,7 @@ import java.net.http.HttpRequest.BodyPublisher;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpRequest.Builder;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -60,7 +65,7 @@ public class Request extends BodyAndHeaders<InputStreamProvider> {
   }
 
   public HttpRequest toHttpRequest() {
-    BodyPublisher publisher = getBody() == null ? BodyPublishers.noBody() : BodyPublishers.ofInputStream(getBody()::open);
+    BodyPublisher publisher = bodyPublisherOf(getBody());
     try {
       Builder builder = HttpRequest.newBuilder();
       if (timeout != null) {
@@ -81,6 +86,31 @@ public class Request extends BodyAndHeaders<InputStreamProvider> {
     }
   }
 
+  static BodyPublisher bodyPublisherOf(InputStreamProvider body) {
+    if (body == null) {
+      return BodyPublishers.noBody();
+    } else if (body instanceof StringInputStreamProvider string) {
+      return BodyPublishers.ofString(string.value());
+    } else if (body instanceof PathInputStreamProvider path) {
+      // Streams the file in fixed size chunks and knows its length, so no need to buffer it on the heap
+      try {
+        return BodyPublishers.ofFile(path.path());
+      } catch (FileNotFoundException e) {
+        throw new ExecutionException("Failed to open \"%s\" for reading.".formatted(path.path()), e);
+      }
+    } else if (body instanceof MultipartInputStreamProvider multipart) {
+      // The resulting publisher has a known content length only if all its parts have one
+      List<BodyPublisher> publishers = new ArrayList<>();
+      for (int i = 0; i < multipart.parts().size(); i++) {
+        publishers.add(BodyPublishers.ofByteArray(multipart.partHeader(i)));
+        publishers.add(bodyPublisherOf(multipart.parts().get(i).content()));
+      }
+      publishers.add(BodyPublishers.ofByteArray(multipart.trailer()));
+      return BodyPublishers.concat(publishers.toArray(BodyPublisher[]::new));
+    }
+    return BodyPublishers.ofInputStream(body::open);
+  }
+
   public String getMethod() {
     return method;
   }
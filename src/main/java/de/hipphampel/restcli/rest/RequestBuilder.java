@@ -23,6 +23,8 @@
 package de.hipphampel.restcli.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.io.InputStreamProvider;
+import de.hipphampel.restcli.io.MultipartInputStreamProvider;
 import de.hipphampel.restcli.template.TemplateModel;
 import de.hipphampel.restcli.template.TemplateRenderer;
 import de.hipphampel.restcli.utils.Pair;
@@ -30,7 +32,9 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -48,17 +52,43 @@ public class RequestBuilder {
   TemplateRenderer renderer;
 
   public Request buildRequest(RequestTemplate template, RequestContext context) {
+    InputStreamProvider body = createBody(template);
     return new Request(
         objectMapper,
         documentBuilderFactory,
         template.method(),
         createRenderedURIString(template, context),
-        createRenderedHeaders(template, context),
-        template.requestBody(),
+        addMultipartContentType(createRenderedHeaders(template, context), body),
+        body,
         template.timeout(),
         template.expectContinue());
   }
 
+  InputStreamProvider createBody(RequestTemplate template) {
+    if (template.parts().isEmpty()) {
+      return template.requestBody();
+    }
+    return new MultipartInputStreamProvider(MultipartInputStreamProvider.newBoundary(), template.parts());
+  }
+
+  static Map<String, List<String>> addMultipartContentType(Map<String, List<String>> headers, InputStreamProvider body) {
+    if (!(body instanceof MultipartInputStreamProvider multipart)) {
+      return headers;
+    }
+    Map<String, List<String>> result = new HashMap<>(headers);
+    String key = headers.keySet().stream()
+        .filter(name -> name.equalsIgnoreCase("Content-Type"))
+        .findFirst()
+        .orElse("Content-Type");
+    String contentType = result.getOrDefault(key, List.of()).stream().findFirst().orElse(null);
+    if (contentType == null) {
+      result.put(key, List.of(multipart.contentType()));
+    } else if (contentType.toLowerCase(Locale.ROOT).startsWith("multipart/") && !contentType.contains("boundary=")) {
+      result.put(key, List.of(contentType + "; boundary=" + multipart.boundary()));
+    }
+    return result;
+  }
+
   String createRenderedURIString(RequestTemplate template, RequestContext context) {
     String uri = render(template.baseUri(), context.templateModel());
     String queryString = createRenderedQueryString(template, context);
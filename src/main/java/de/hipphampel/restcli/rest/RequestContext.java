@@ -26,6 +26,7 @@ import de.hipphampel.restcli.cli.Output;
 import de.hipphampel.restcli.io.InputStreamProvider;
 import de.hipphampel.restcli.template.TemplateModel;
 import java.net.http.HttpClient;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Objects;
 
@@ -35,7 +36,8 @@ public record RequestContext(
     OutputFormat format,
     Output out,
     Output err,
-    boolean interactive) {
+    boolean interactive,
+    Path outputFile) {
 
   public RequestContext(
       HttpClient client,
@@ -43,13 +45,25 @@ public record RequestContext(
       OutputFormat format,
       Output out,
       Output err,
-      boolean interactive) {
+      boolean interactive,
+      Path outputFile) {
     this.client = Objects.requireNonNull(client);
     this.templateModel = Objects.requireNonNull(templateModel);
     this.format = Objects.requireNonNull(format);
     this.out = Objects.requireNonNull(out);
     this.err = Objects.requireNonNull(err);
     this.interactive = interactive;
+    this.outputFile = outputFile;
+  }
+
+  public RequestContext(
+      HttpClient client,
+      TemplateModel templateModel,
+      OutputFormat format,
+      Output out,
+      Output err,
+      boolean interactive) {
+    this(client, templateModel, format, out, err, interactive, null);
   }
 
   public record OutputFormat(InputStreamProvider format, Map<String, String> parameters) {
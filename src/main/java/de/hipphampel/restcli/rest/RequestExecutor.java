@@ -44,6 +44,9 @@ public class RequestExecutor {
   public Response execute(Request request) throws IOException {
     try {
       HttpRequest httpRequest = request.toHttpRequest();
+      if (context.outputFile() != null) {
+        return download(httpRequest, new FileDownload(context.outputFile()));
+      }
       HttpResponse<InputStream> response = context.client().send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
       return responseBuilder.toResponse(response);
     } catch (InterruptedException ie) {
@@ -52,6 +55,13 @@ public class RequestExecutor {
     }
   }
 
+  Response download(HttpRequest httpRequest, FileDownload download) throws IOException, InterruptedException {
+    // The body is written by the HTTP client directly to the file, so the response passed to the output format has an empty body
+    HttpResponse<InputStream> response = context.client().send(download.prepare(httpRequest), download);
+    download.complete();
+    return responseBuilder.toResponse(response);
+  }
+
   public <T> T execute(RequestTemplate requestTemplate, ResponseAction<T> responseAction) throws IOException {
     Request request = requestBuilder.buildRequest(requestTemplate, context);
     try (Response response = execute(request)) {
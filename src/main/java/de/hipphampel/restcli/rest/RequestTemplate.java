@@ -23,6 +23,7 @@
 package de.hipphampel.restcli.rest;
 
 import de.hipphampel.restcli.io.InputStreamProvider;
+import de.hipphampel.restcli.io.MultipartInputStreamProvider.Part;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,8 @@ public class RequestTemplate {
   private Map<String, String> queryParameters = Map.of();
   private Map<String, List<String>> headers = Map.of();
   private InputStreamProvider requestBody;
+  private List<Part> parts = List.of();
+
   public boolean expectContinue() {
     return this.expectContinue;
   }
@@ -92,7 +95,7 @@ public class RequestTemplate {
   }
 
   public boolean hasRequestBody() {
-    return this.requestBody != null;
+    return this.requestBody != null || !this.parts.isEmpty();
   }
 
   public InputStreamProvider requestBody() {
@@ -103,4 +106,13 @@ public class RequestTemplate {
     this.requestBody = requestBody;
     return this;
   }
+
+  public List<Part> parts() {
+    return this.parts;
+  }
+
+  public RequestTemplate parts(List<Part> parts) {
+    this.parts = Objects.requireNonNull(parts);
+    return this;
+  }
 }
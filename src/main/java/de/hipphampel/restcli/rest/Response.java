@@ -37,23 +37,53 @@ import javax.xml.parsers.DocumentBuilderFactory;
 @RegisterForReflection
 public class Response extends BodyAndHeaders<ClosableInputStreamProvider> implements AutoCloseable {
 
+  public static final int DEFAULT_MAX_RESPONSE_BODY_BYTES_DRAINED = 64 * 1024;
+
   private final HttpResponse<InputStream> httpResponse;
   private final int maxResponseBodyBytesKeptInMemory;
+  private final int maxResponseBodyBytesDrained;
   private ClosableInputStreamProvider body;
 
   public Response(DocumentBuilderFactory documentBuilderFactory, ObjectMapper objectMapper, HttpResponse<InputStream> httpResponse,
       int maxResponseBodyBytesKeptInMemory) {
+    this(documentBuilderFactory, objectMapper, httpResponse, maxResponseBodyBytesKeptInMemory, DEFAULT_MAX_RESPONSE_BODY_BYTES_DRAINED);
+  }
+
+  public Response(DocumentBuilderFactory documentBuilderFactory, ObjectMapper objectMapper, HttpResponse<InputStream> httpResponse,
+      int maxResponseBodyBytesKeptInMemory, int maxResponseBodyBytesDrained) {
     super(objectMapper, documentBuilderFactory);
     this.httpResponse = httpResponse;
     this.maxResponseBodyBytesKeptInMemory = maxResponseBodyBytesKeptInMemory;
+    this.maxResponseBodyBytesDrained = maxResponseBodyBytesDrained;
     this.body = null;
   }
 
   @Override
   public void close() throws IOException {
-    if (body != null) {
-      body.close();
+    try (InputStream in = httpResponse.body()) {
+      if (body == null) {
+        // The body was never read: a small body is drained, so that the connection can be reused, otherwise the exchange is aborted by
+        // closing the stream before its end
+        drain(in, maxResponseBodyBytesDrained);
+      }
+    } finally {
+      if (body != null) {
+        body.close();
+      }
+    }
+  }
+
+  static boolean drain(InputStream in, int maxBytes) throws IOException {
+    if (in == null) {
+      return true;
+    }
+    byte[] buffer = new byte[Math.min(8192, maxBytes + 1)];
+    long remaining = maxBytes + 1L;
+    int count = 0;
+    while (remaining > 0 && (count = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+      remaining -= count;
     }
+    return count == -1;
   }
 
   public int getStatusCode() {
@@ -75,6 +105,16 @@ public class Response extends BodyAndHeaders<ClosableInputStreamProvider> implem
     return body;
   }
 
+  @Override
+  public InputStream openBodyStream() throws IOException {
+    if (body != null) {
+      return body.open();
+    }
+    // Hand out the network stream directly; since it can be read only once, the body appears empty afterwards
+    body = ClosableInputStreamProvider.ofStream(InputStream.nullInputStream(), 0);
+    return httpResponse.body();
+  }
+
   @Override
   public String toString() {
     return "Response{" +
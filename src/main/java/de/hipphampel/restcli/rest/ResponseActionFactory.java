@@ -27,9 +27,9 @@ import de.hipphampel.restcli.io.InputStreamProvider;
 import de.hipphampel.restcli.template.TemplateModel;
 import de.hipphampel.restcli.template.TemplateRenderer;
 import de.hipphampel.restcli.utils.Categorizer;
+import de.hipphampel.restcli.utils.VariableScope;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -83,10 +83,10 @@ public class ResponseActionFactory {
   }
 
   private TemplateModel createTemplateModel(RequestContext context, Request request, Response response) {
-    Map<String, Object> model = new HashMap<>(context.format().parameters());
-    model.put("_request", request);
-    model.put("_response", response);
-    model.put("_env", context.templateModel());
+    Map<String, Object> model = VariableScope.of(context.format().parameters()).with(Map.of(
+        "_request", request,
+        "_response", response,
+        "_env", context.templateModel()));
     return new TemplateModel(model, context.templateModel().get_());
   }
 }
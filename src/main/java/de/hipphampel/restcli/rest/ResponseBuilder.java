@@ -39,6 +39,7 @@ public class ResponseBuilder {
   DocumentBuilderFactory documentBuilderFactory;
 
   private int maxResponseBodyBytesKeptInMemory = 1_000_000;
+  private int maxResponseBodyBytesDrained = Response.DEFAULT_MAX_RESPONSE_BODY_BYTES_DRAINED;
 
   public int getMaxResponseBodyBytesKeptInMemory() {
     return maxResponseBodyBytesKeptInMemory;
@@ -48,7 +49,15 @@ public class ResponseBuilder {
     this.maxResponseBodyBytesKeptInMemory = maxResponseBodyBytesKeptInMemory;
   }
 
+  public int getMaxResponseBodyBytesDrained() {
+    return maxResponseBodyBytesDrained;
+  }
+
+  public void setMaxResponseBodyBytesDrained(int maxResponseBodyBytesDrained) {
+    this.maxResponseBodyBytesDrained = maxResponseBodyBytesDrained;
+  }
+
   public Response toResponse(HttpResponse<InputStream> httpResponse) {
-    return new Response(documentBuilderFactory, objectMapper, httpResponse, maxResponseBodyBytesKeptInMemory);
+    return new Response(documentBuilderFactory, objectMapper, httpResponse, maxResponseBodyBytesKeptInMemory, maxResponseBodyBytesDrained);
   }
 }
@@ -0,0 +1,88 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.rest;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.util.Objects;
+
+@RegisterForReflection
+public class ServerSentEvent {
+
+  public static final String DEFAULT_EVENT = "message";
+
+  private final String id;
+  private final String event;
+  private final String data;
+  private final Long retry;
+
+  public ServerSentEvent(String id, String event, String data, Long retry) {
+    this.id = Objects.requireNonNull(id);
+    this.event = Objects.requireNonNull(event);
+    this.data = Objects.requireNonNull(data);
+    this.retry = retry;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getEvent() {
+    return event;
+  }
+
+  public String getData() {
+    return data;
+  }
+
+  public Long getRetry() {
+    return retry;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ServerSentEvent that = (ServerSentEvent) o;
+    return Objects.equals(id, that.id) && Objects.equals(event, that.event) && Objects.equals(data, that.data) && Objects.equals(
+        retry, that.retry);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, event, data, retry);
+  }
+
+  @Override
+  public String toString() {
+    return "ServerSentEvent{" +
+        "id='" + id + '\'' +
+        ", event='" + event + '\'' +
+        ", data='" + data + '\'' +
+        ", retry=" + retry +
+        '}';
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.rest;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Parses a text/event-stream as described in https://html.spec.whatwg.org/multipage/server-sent-events.html
+public class ServerSentEventReader extends StreamingReader<ServerSentEvent> {
+
+  private String lastEventId = "";
+
+  public ServerSentEventReader(Reader reader, Runnable beforeRead) {
+    super(reader, beforeRead);
+  }
+
+  @Override
+  protected ServerSentEvent readNext() throws IOException {
+    StringBuilder data = null;
+    String event = null;
+    Long retry = null;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isEmpty()) {
+        if (data != null) {
+          return new ServerSentEvent(lastEventId, event == null ? ServerSentEvent.DEFAULT_EVENT : event, data.toString(), retry);
+        }
+        event = null;
+        retry = null;
+        continue;
+      }
+      if (line.startsWith(":")) {
+        continue;
+      }
+      int colon = line.indexOf(':');
+      String field = colon == -1 ? line : line.substring(0, colon);
+      String value = colon == -1 ? "" : line.substring(line.startsWith(" ", colon + 1) ? colon + 2 : colon + 1);
+      switch (field) {
+        case "data" -> data = data == null ? new StringBuilder(value) : data.append('\n').append(value);
+        case "event" -> event = value;
+        case "id" -> lastEventId = value.indexOf('\0') == -1 ? value : lastEventId;
+        case "retry" -> retry = value.matches("\\d{1,18}") ? Long.valueOf(value) : retry;
+        default -> {
+          // Unknown fields are ignored
+        }
+      }
+    }
+    // An event that is not terminated by an empty line is discarded
+    return null;
+  }
+}
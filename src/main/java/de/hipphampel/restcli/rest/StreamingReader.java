@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.rest;
+
+import de.hipphampel.restcli.exception.ExecutionException;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+public abstract class StreamingReader<T> implements Iterator<T>, Closeable {
+
+  protected final BufferedReader reader;
+  private final Runnable beforeRead;
+  private T next;
+  private boolean eof;
+
+  protected StreamingReader(Reader reader, Runnable beforeRead) {
+    this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+    this.beforeRead = Objects.requireNonNull(beforeRead);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !eof) {
+      // Reading might block until the server sends the next element, so everything produced so far should be visible before
+      beforeRead.run();
+      try {
+        next = readNext();
+        if (next == null) {
+          eof = true;
+          close();
+        }
+      } catch (IOException ioe) {
+        throw new ExecutionException("Failed to read response body.", ioe);
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    T result = next;
+    next = null;
+    return result;
+  }
+
+  @Override
+  public void close() throws IOException {
+    eof = true;
+    reader.close();
+  }
+
+  protected abstract T readNext() throws IOException;
+}
@@ -25,10 +25,10 @@ package de.hipphampel.restcli.template;
 import de.hipphampel.restcli.exception.ExecutionException;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import java.util.AbstractMap;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.NotNull;
 
 @RegisterForReflection
@@ -41,7 +41,7 @@ public class TemplateModel extends AbstractMap<String, Object> {
   public TemplateModel(Map<String, Object> values, Object api, boolean interactive) {
     this.values = Objects.requireNonNull(values);
     this.api = api;
-    this.computedValues = new HashMap<>();
+    this.computedValues = new ConcurrentHashMap<>();
     this.interactive = interactive;
   }
 
@@ -70,6 +70,11 @@ public class TemplateModel extends AbstractMap<String, Object> {
     return value;
   }
 
+  @Override
+  public boolean containsKey(Object key) {
+    return values.containsKey(key);
+  }
+
   Object onUndefinedVariable(String variable) {
     if (System.console()==null || !interactive) {
       throw new ExecutionException("Reference to unknown variable \"%s\". Consider to start the application with the `--interactive` option.".formatted(variable));
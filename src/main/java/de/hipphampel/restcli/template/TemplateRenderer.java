@@ -24,10 +24,15 @@ package de.hipphampel.restcli.template;
 
 import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.io.InputStreamProvider;
+import de.hipphampel.restcli.rest.Request;
+import de.hipphampel.restcli.rest.Response;
+import freemarker.core.Environment;
+import freemarker.ext.beans.BeansWrapper;
 import freemarker.ext.beans.BeansWrapperBuilder;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import freemarker.template.TemplateModelException;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.io.IOException;
 import java.io.InputStream;
@@ -37,22 +42,42 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
 
 @ApplicationScoped
 public class TemplateRenderer {
 
+  static final int MAX_CACHED_TEMPLATES = 256;
+  static final int MAX_CACHED_TEMPLATE_LENGTH = 64 * 1024;
+
+  // Created in the static initializers, so that the native image contains the configuration, the introspected classes of
+  // the object wrapper and the parsed builtin templates already
+  static final Configuration CONFIGURATION = createConfiguration();
+  static final Map<String, Template> BUILTIN_TEMPLATES = compileBuiltinTemplates(CONFIGURATION);
+
   private final Configuration configuration;
+  private final Map<String, Template> compiledTemplates;
 
   public TemplateRenderer() {
-    this.configuration = new Configuration(Configuration.VERSION_2_3_22);
-    this.configuration.setNumberFormat("c");
-    this.configuration.setLogTemplateExceptions(false);
-    this.configuration.setObjectWrapper(new BeansWrapperBuilder(this.configuration.getIncompatibleImprovements()).build());
+    this.configuration = CONFIGURATION;
+    this.compiledTemplates = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+        return size() > MAX_CACHED_TEMPLATES;
+      }
+    });
   }
 
   public String render(String template, TemplateModel model) {
-    try (StringReader templateReader = new StringReader(template)) {
-      return render(templateReader, model);
+    try (StringWriter out = new StringWriter()) {
+      return render(template, model, out).toString();
+    } catch (IOException e) {
+      throw new ExecutionException("Failed to render template.", e);
     }
   }
 
@@ -62,12 +87,7 @@ public class TemplateRenderer {
   }
 
   public String render(InputStreamProvider templateStreamProvider, TemplateModel model) {
-    try (InputStream templateStream = templateStreamProvider.open()) {
-      InputStreamReader templateReader = new InputStreamReader(templateStream, StandardCharsets.UTF_8);
-      return render(templateReader, model);
-    } catch (IOException ioe) {
-      throw new ExecutionException("Failed to render template.", ioe);
-    }
+    return render(readTemplate(templateStreamProvider), model);
   }
 
   public String render(Reader templateReader, TemplateModel model) {
@@ -78,20 +98,51 @@ public class TemplateRenderer {
     }
   }
 
-
   public <T extends Writer> T render(InputStreamProvider templateStreamProvider, TemplateModel model, T output) {
-    try (InputStream templateStream = templateStreamProvider.open()) {
-      InputStreamReader templateReader = new InputStreamReader(templateStream, StandardCharsets.UTF_8);
-      return render(templateReader, model, output);
-    } catch (IOException ioe) {
-      throw new ExecutionException("Failed to render template.", ioe);
+    return render(readTemplate(templateStreamProvider), model, output);
+  }
+
+  public <T extends Writer> T render(String template, TemplateModel model, T output) {
+    try {
+      return process(getTemplate(template), model, output);
+    } catch (IOException e) {
+      throw new ExecutionException("Failed to render template.", e);
     }
   }
 
   public <T extends Writer> T render(Reader templateReader, TemplateModel model, T output) {
     try {
-      Template template = new Template(null, templateReader, configuration);
-      template.process(model, output);
+      return process(new Template(null, templateReader, configuration), model, output);
+    } catch (IOException e) {
+      throw new ExecutionException("Failed to render template.", e);
+    }
+  }
+
+  Template getTemplate(String template) throws IOException {
+    Template builtin = BUILTIN_TEMPLATES.get(template);
+    if (builtin != null) {
+      return builtin;
+    }
+    if (template.length() > MAX_CACHED_TEMPLATE_LENGTH) {
+      return new Template(null, template, configuration);
+    }
+    Template compiled = compiledTemplates.get(template);
+    if (compiled == null) {
+      // Templates are immutable once parsed, so a compiled template can be shared by all renderings
+      compiled = new Template(null, template, configuration);
+      compiledTemplates.put(template, compiled);
+    }
+    return compiled;
+  }
+
+  <T extends Writer> T process(Template template, TemplateModel model, T output) {
+    try {
+      // The configuration is shared and created at build time for the native image, so the locale and time zone of the runtime
+      // are applied per rendering
+      Environment environment = template.createProcessingEnvironment(model, output);
+      environment.setLocale(Locale.getDefault());
+      environment.setTimeZone(TimeZone.getDefault());
+      environment.process();
       return output;
     } catch (TemplateException | IOException e) {
       if (e.getCause() instanceof ExecutionException ee) {
@@ -100,4 +151,42 @@ public class TemplateRenderer {
       throw new ExecutionException("Failed to render template.", e);
     }
   }
+
+  static Configuration createConfiguration() {
+    Configuration configuration = new Configuration(Configuration.VERSION_2_3_22);
+    configuration.setNumberFormat("c");
+    configuration.setLogTemplateExceptions(false);
+    BeansWrapper objectWrapper = new BeansWrapperBuilder(configuration.getIncompatibleImprovements()).build();
+    try {
+      // Wrapping an instance introspects its class, the introspection result is kept by the wrapper
+      objectWrapper.wrap(new TemplateModel(Map.of()));
+      objectWrapper.wrap(new Request(null, null, "GET", "", Map.of(), null, null, false));
+      objectWrapper.wrap(new Response(null, null, null, 0));
+    } catch (TemplateModelException e) {
+      throw new ExecutionException("Failed to initialize template engine.", e);
+    }
+    configuration.setObjectWrapper(objectWrapper);
+    return configuration;
+  }
+
+  static Map<String, Template> compileBuiltinTemplates(Configuration configuration) {
+    Map<String, Template> templates = new HashMap<>();
+    for (TemplateAddress address : TemplateRepository.BUILTIN_TEMPLATES.keySet()) {
+      String content = TemplateRepository.BUILTIN_TEMPLATES.get(address).config().content();
+      try {
+        templates.put(content, new Template(null, content, configuration));
+      } catch (IOException e) {
+        throw new ExecutionException("Failed to compile builtin template \"%s\".".formatted(address), e);
+      }
+    }
+    return Collections.unmodifiableMap(templates);
+  }
+
+  static String readTemplate(InputStreamProvider templateStreamProvider) {
+    try (InputStream templateStream = templateStreamProvider.open()) {
+      return new String(templateStream.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException ioe) {
+      throw new ExecutionException("Failed to render template.", ioe);
+    }
+  }
 }
@@ -23,6 +23,7 @@
 package de.hipphampel.restcli.template;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.Beans;
 import de.hipphampel.restcli.command.CommandAddress;
 import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.utils.FileUtils;
@@ -34,10 +35,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -46,12 +50,21 @@ public class TemplateRepository {
 
   private static final String TEMPLATE_DIR = "templates";
   private static final String SUFFIX = ".json";
-  private static final Set<TemplateAddress> BUILTINS = Set.of(
-      TemplateAddress.fromString("default@"));
+  // Parsed in the static initializer, so that the native image contains them already parsed
+  static final Map<TemplateAddress, Template> BUILTIN_TEMPLATES = loadBuiltins(Beans.OBJECT_MAPPER,
+      TemplateAddress.fromString("default@"),
+      TemplateAddress.fromString("ndjson@"),
+      TemplateAddress.fromString("sse@"));
+  private static final Set<TemplateAddress> BUILTINS = BUILTIN_TEMPLATES.keySet();
 
   @Inject
   ObjectMapper objectMapper;
 
+  private final AtomicLong modificationCount = new AtomicLong();
+
+  public long getModificationCount() {
+    return modificationCount.get();
+  }
 
   public void storeTemplate(Path rootDir, Template template, boolean replaceAllowed) {
     Path path = getTemplatePath(rootDir, template.address());
@@ -59,6 +72,7 @@ public class TemplateRepository {
     if (existsTemplate(rootDir, template.address()) && !replaceAllowed) {
       throw new ExecutionException("Template \"%s\" for command \"%s\" already exists.".formatted(template.name(), template.command()));
     }
+    modificationCount.incrementAndGet();
     try {
       objectMapper.writeValue(path.toFile(), template.config());
     } catch (IOException ioe) {
@@ -75,7 +89,7 @@ public class TemplateRepository {
     Path path = getTemplatePath(rootDir, address);
     if (!existsTemplatePath(path)) {
       if (isBuiltin(address)) {
-        return Optional.of(loadBuiltin(address));
+        return Optional.of(BUILTIN_TEMPLATES.get(address));
       } else {
         return Optional.empty();
       }
@@ -167,6 +181,7 @@ public class TemplateRepository {
     if (!Files.exists(path)) {
       return false;
     }
+    modificationCount.incrementAndGet();
     try {
       Files.deleteIfExists(path);
       return true;
@@ -178,6 +193,7 @@ public class TemplateRepository {
 
   public void deleteTemplatesForCommand(Path rootDir, CommandAddress commandAddress, boolean recursive) {
     if (recursive) {
+      modificationCount.incrementAndGet();
       FileUtils.deleteRecursively(getTemplateDir(rootDir, commandAddress), !CommandAddress.ROOT.equals(commandAddress));
     } else {
       getTemplatesForCommand(rootDir, commandAddress).forEach(address -> deleteTemplate(rootDir, address));
@@ -199,7 +215,12 @@ public class TemplateRepository {
         .findFirst();
   }
 
-  Template loadBuiltin(TemplateAddress address) {
+  static Map<TemplateAddress, Template> loadBuiltins(ObjectMapper objectMapper, TemplateAddress... addresses) {
+    return Stream.of(addresses)
+        .collect(Collectors.toUnmodifiableMap(Function.identity(), address -> loadBuiltin(objectMapper, address)));
+  }
+
+  static Template loadBuiltin(ObjectMapper objectMapper, TemplateAddress address) {
     try (InputStream in = TemplateRepository.class.getResourceAsStream("/templates/%s.json".formatted(address.name()))) {
       return new Template(
           address,
@@ -24,12 +24,19 @@ package de.hipphampel.restcli.utils;
 
 import de.hipphampel.restcli.exception.ExecutionException;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 public class FileUtils {
 
+  // Files modified more recently than this might change again without a visible change of their timestamp
+  public static final long RACY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(2);
+
   private FileUtils() {
   }
 
@@ -65,4 +72,29 @@ public class FileUtils {
     }
   }
 
+  // Replaces the file via a temporary sibling, so that readers never see partially written content. The caches and indexes below the
+  // config directory are written this way; since they can be rebuilt from their sources at any time, their callers ignore a failing
+  // write instead of failing the command.
+  public static void writeAtomically(Path file, byte[] content) throws IOException {
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.write(tempFile, content);
+    moveAtomically(tempFile, file);
+  }
+
+  public static void moveAtomically(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  public static boolean isRacilyModified(BasicFileAttributes attributes) {
+    return System.currentTimeMillis() * 1_000_000L - lastModifiedNanos(attributes) < RACY_INTERVAL_NANOS;
+  }
+
+  public static long lastModifiedNanos(BasicFileAttributes attributes) {
+    return attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+  }
 }
@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.utils;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+
+public final class VariableScope extends AbstractMap<String, Object> {
+
+  public static final VariableScope EMPTY = new VariableScope(null, Map.of());
+
+  private final VariableScope parent;
+  private final Map<String, ?> layer;
+  private volatile Map<String, Object> flattened;
+
+  private VariableScope(VariableScope parent, Map<String, ?> layer) {
+    this.parent = parent;
+    this.layer = Objects.requireNonNull(layer);
+  }
+
+  public static VariableScope of(Map<String, ?> variables) {
+    if (variables instanceof VariableScope scope) {
+      return scope;
+    }
+    return variables == null || variables.isEmpty() ? EMPTY : new VariableScope(null, variables);
+  }
+
+  public VariableScope with(Map<String, ?> variables) {
+    if (variables == null || variables.isEmpty() || variables == this) {
+      return this;
+    }
+    return this == EMPTY ? of(variables) : new VariableScope(this, variables);
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (key == null) {
+      return null;
+    }
+    for (VariableScope scope = this; scope != null; scope = scope.parent) {
+      Object value = scope.layer.get(key);
+      if (value != null || scope.layer.containsKey(key)) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    if (key == null) {
+      return false;
+    }
+    for (VariableScope scope = this; scope != null; scope = scope.parent) {
+      if (scope.layer.containsKey(key)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (VariableScope scope = this; scope != null; scope = scope.parent) {
+      if (!scope.layer.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int size() {
+    return flatten().size();
+  }
+
+  @NotNull
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return flatten().entrySet();
+  }
+
+  Map<String, Object> flatten() {
+    Map<String, Object> result = flattened;
+    if (result != null) {
+      return result;
+    }
+    if (parent == null) {
+      result = Collections.unmodifiableMap(layer);
+    } else {
+      Deque<Map<String, ?>> layers = new ArrayDeque<>();
+      for (VariableScope scope = this; scope != null; scope = scope.parent) {
+        layers.push(scope.layer);
+      }
+      Map<String, Object> merged = new HashMap<>();
+      layers.forEach(merged::putAll);
+      result = Collections.unmodifiableMap(merged);
+    }
+    flattened = result;
+    return result;
+  }
+}
@@ -0,0 +1,11 @@
+# bash completion for @APPLICATION_NAME@
+# Load it via: source <(@APPLICATION_NAME@ completion bash)
+
+_@FUNCTION_NAME@_awk='@AWK_PROGRAM@'
+
+_@FUNCTION_NAME@() {
+  local IFS=$'\n'
+  COMPREPLY=($(awk "$_@FUNCTION_NAME@_awk" "$HOME/.@APPLICATION_NAME@" "${COMP_WORDS[@]:1:COMP_CWORD}" 2>/dev/null))
+}
+
+complete -o default -F _@FUNCTION_NAME@ @APPLICATION_NAME@
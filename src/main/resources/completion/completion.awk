@@ -0,0 +1,102 @@
+# Arguments: <config-dir> <word>... where the last word is the one to complete.
+# Reads the completion cache of the config dir and prints the matching candidates, one per line.
+BEGIN {
+  FS = sprintf("%c", 9)
+  cache = ARGV[1] "/cache/completion.txt"
+  n = 0
+  for (i = 2; i < ARGC; i++) {
+    words[++n] = ARGV[i]
+    if ((ARGV[i] == "-c" || ARGV[i] == "--config") && i + 1 < ARGC - 1) {
+      cache = ARGV[i + 1] "/cache/completion.txt"
+    }
+  }
+  ARGV[1] = cache
+  ARGC = 2
+}
+
+$1 == "c" { children[$2] = $3 }
+$1 == "o" { options[$2] = $3 }
+$1 == "p" { positionals[$2] = $3 }
+$1 == "e" { values["env"] = $3 }
+$1 == "t" { values["tpl"] = $3 }
+
+END {
+  address = ""
+  pending = ""
+  for (i = 1; i < n; i++) {
+    word = words[i]
+    if (pending != "") {
+      pending = ""
+    } else if (substr(word, 1, 1) == "-") {
+      pending = optionKind(address, word)
+    } else if (contains(children[address], word)) {
+      address = address == "" ? word : address "/" word
+    }
+  }
+
+  current = words[n]
+  if (pending != "") {
+    offerValues(pending, current)
+  } else if (substr(current, 1, 1) == "-") {
+    offerOptions(address, current)
+  } else {
+    offer(children[address], current, "")
+    if (address in positionals) {
+      offerValues(positionals[address], current)
+    }
+  }
+}
+
+function contains(list, word,    items, k, m) {
+  m = split(list, items, " ")
+  for (k = 1; k <= m; k++) {
+    if (items[k] == word) {
+      return 1
+    }
+  }
+  return 0
+}
+
+function optionKind(address, word,    items, k, m, p, name) {
+  m = split(options[address], items, " ")
+  for (k = 1; k <= m; k++) {
+    p = index(items[k], ":")
+    name = p ? substr(items[k], 1, p - 1) : items[k]
+    if (name == word) {
+      return p ? substr(items[k], p + 1) : ""
+    }
+  }
+  return ""
+}
+
+function offerOptions(address, current,    items, k, m, p) {
+  m = split(options[address], items, " ")
+  for (k = 1; k <= m; k++) {
+    p = index(items[k], ":")
+    offerOne(p ? substr(items[k], 1, p - 1) : items[k], current)
+  }
+}
+
+function offerValues(kind, current,    k, parent) {
+  if (kind == "cmd") {
+    for (k = length(current); k > 0 && substr(current, k, 1) != "/"; k--) {
+    }
+    parent = k ? substr(current, 1, k - 1) : ""
+    offer(children[parent], current, k ? parent "/" : "")
+  } else if (kind in values) {
+    offer(values[kind], current, "")
+  }
+}
+
+function offer(list, current, prefix,    items, k, m) {
+  m = split(list, items, " ")
+  for (k = 1; k <= m; k++) {
+    offerOne(prefix items[k], current)
+  }
+}
+
+function offerOne(candidate, current) {
+  if (index(candidate, current) == 1) {
+    print candidate
+  }
+}
@@ -0,0 +1,12 @@
+# fish completion for @APPLICATION_NAME@
+# Load it via: @APPLICATION_NAME@ completion fish | source
+
+set -g __@FUNCTION_NAME@_awk '@AWK_PROGRAM@'
+
+function __@FUNCTION_NAME@_complete
+    set -l tokens (commandline -opc)
+    set -l current (commandline -ct)
+    awk $__@FUNCTION_NAME@_awk $HOME/.@APPLICATION_NAME@ $tokens[2..-1] "$current" 2>/dev/null
+end
+
+complete -c @APPLICATION_NAME@ -a '(__@FUNCTION_NAME@_complete)'
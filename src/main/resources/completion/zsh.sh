@@ -0,0 +1,17 @@
+#compdef @APPLICATION_NAME@
+# zsh completion for @APPLICATION_NAME@
+# Load it via: source <(@APPLICATION_NAME@ completion zsh)
+
+_@FUNCTION_NAME@_awk='@AWK_PROGRAM@'
+
+_@FUNCTION_NAME@() {
+  local -a candidates
+  candidates=("${(@f)$(awk "$_@FUNCTION_NAME@_awk" "$HOME/.@APPLICATION_NAME@" "${(@)words[2,CURRENT]}" 2>/dev/null)}")
+  if [[ -n "${candidates[1]}" ]]; then
+    compadd -Q -- "${candidates[@]}"
+  else
+    _files
+  fi
+}
+
+compdef _@FUNCTION_NAME@ @APPLICATION_NAME@
@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NativeStartupIT {
+
+  static final long MAX_STARTUP_MILLIS = Long.getLong("restcli.native.maxStartupMillis", 250);
+  static final long MAX_RSS_KB = Long.getLong("restcli.native.maxRssKb", 128 * 1024);
+
+  @TempDir
+  Path configDir;
+  Path executable;
+
+  @BeforeEach
+  void beforeEach() {
+    String url = System.getProperty("native.image.url");
+    assumeTrue(url != null && Files.isExecutable(Path.of(url)));
+    executable = Path.of(url);
+  }
+
+  @Test
+  void startup_version() throws Exception {
+    long start = System.nanoTime();
+    Process process = start("--version");
+    process.getOutputStream().close();
+    process.getInputStream().readAllBytes();
+    assertThat(process.waitFor(10, TimeUnit.SECONDS)).isTrue();
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertThat(process.exitValue()).isEqualTo(0);
+    assertThat(millis).isLessThanOrEqualTo(MAX_STARTUP_MILLIS);
+  }
+
+  @Test
+  void startup_rss() throws Exception {
+    assumeTrue(Files.isDirectory(Path.of("/proc/self")));
+    Process process = start("shell");
+    try {
+      // Once the prompt appears, the session has rendered the help once and waits for input
+      writeLine(process.getOutputStream(), "help");
+      awaitPrompt(process.getErrorStream(), 2);
+      long rssKb = readPeakRssKb(process.pid());
+      writeLine(process.getOutputStream(), ":quit");
+      assertThat(process.waitFor(10, TimeUnit.SECONDS)).isTrue();
+
+      assertThat(rssKb).isLessThanOrEqualTo(MAX_RSS_KB);
+    } finally {
+      process.destroyForcibly();
+    }
+  }
+
+  Process start(String... args) throws IOException {
+    List<String> command = new ArrayList<>(List.of(executable.toString(), "-c", configDir.toString()));
+    command.addAll(List.of(args));
+    return new ProcessBuilder(command).start();
+  }
+
+  static void writeLine(OutputStream out, String line) throws IOException {
+    out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+
+  static void awaitPrompt(InputStream err, int count) throws IOException {
+    int found = 0;
+    int last = -1;
+    int ch;
+    while (found < count && (ch = err.read()) != -1) {
+      if (last == '>' && ch == ' ') {
+        found++;
+      }
+      last = ch;
+    }
+  }
+
+  static long readPeakRssKb(long pid) throws IOException {
+    return Files.readAllLines(Path.of("/proc/%d/status".formatted(pid))).stream()
+        .filter(line -> line.startsWith("VmHWM:"))
+        .map(line -> line.replaceAll("\\D", ""))
+        .mapToLong(Long::parseLong)
+        .findFirst()
+        .orElseThrow();
+  }
+}
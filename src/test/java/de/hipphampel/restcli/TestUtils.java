@@ -58,4 +58,19 @@ public class TestUtils {
     }
   }
 
+  public static String jsonPayload(int size) {
+    StringBuilder buffer = new StringBuilder("[");
+    for (int i = 0; buffer.length() < size; i++) {
+      buffer.append(i == 0 ? "" : ",").append("{\"id\":%d,\"name\":\"item %d\",\"tags\":[\"a\",\"b\"]}".formatted(i, i));
+    }
+    return buffer.append("]").toString();
+  }
+
+  public static String xmlPayload(int size) {
+    StringBuilder buffer = new StringBuilder("<items>");
+    for (int i = 0; buffer.length() < size; i++) {
+      buffer.append("<item id=\"%d\"><name>item %d</name><tags><tag>a</tag><tag>b</tag></tags></item>".formatted(i, i));
+    }
+    return buffer.append("</items>").toString();
+  }
 }
@@ -23,6 +23,7 @@
 package de.hipphampel.restcli.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.condition.OS.LINUX;
 import static org.junit.jupiter.api.condition.OS.MAC;
 import static org.junit.jupiter.api.condition.OS.WINDOWS;
@@ -31,6 +32,7 @@ import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.hipphampel.restcli.command.CommandTestBase;
+import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.rest.Response;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
@@ -41,12 +43,15 @@ import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.TransformerException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledOnOs;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 @QuarkusTest
 class ApiTest extends CommandTestBase {
@@ -133,6 +138,40 @@ class ApiTest extends CommandTestBase {
     }
   }
 
+  @ParameterizedTest
+  @CsvSource({
+      "'[{\"a\": 1}, [2, 3], \"x\"]',                 '$',             '{\"a\":1}\n[2,3]\n\"x\"\n'",
+      "'{\"total\": 2, \"items\": [{\"a\": 1}, 2]}',    '$.items',       '{\"a\":1}\n2\n'",
+      "'{\"page\": {\"items\": [], \"x\": 1}}',        '$.page.items',  ''",
+      "'{\"error\": {\"code\": 404}}',                 '$.error',       '{\"code\":404}\n'",
+      "'',                                           '$',             ''",
+  })
+  void ndjson(String body, String path, String expected) throws IOException {
+    HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+    when(httpResponse.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    try (Response response = new Response(documentBuilderFactory, objectMapper, httpResponse, 4)) {
+      assertThat(api.ndjson(response, path)).isEqualTo(expected.replace("\\n", "\n"));
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "'{\"items\": [1]}',   '$.other',  'JSON body has no value at path \"$.other\".'",
+      "'[1, 2',              '$',        'Invalid JSON body: Unexpected end-of-input'",
+      "'[1]',                '$[0]',     'Unsupported path \"$[0]\" - only paths like \"$.field.subfield\" are supported.'",
+  })
+  void ndjson_fail(String body, String path, String message) {
+    HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+    when(httpResponse.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    try (Response response = new Response(documentBuilderFactory, objectMapper, httpResponse, 4)) {
+      assertThatThrownBy(() -> api.ndjson(response, path))
+          .isInstanceOf(ExecutionException.class)
+          .hasMessageStartingWith(message);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   @Test
   void jq() throws IOException {
     HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
@@ -148,6 +187,39 @@ class ApiTest extends CommandTestBase {
     }
   }
 
+  @Test
+  void jq_memoized() throws IOException {
+    HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+    when(httpResponse.body()).thenReturn(new ByteArrayInputStream("""
+        {"items": [{"id": 1 }, {"id": 2 }]}
+        """.getBytes(StandardCharsets.UTF_8)));
+    try (Response response = new Response(documentBuilderFactory, objectMapper, httpResponse, 10000)) {
+      Object first = api.jq(response.getJsonBody(), "$.items[*].id");
+      assertThat(first).isEqualTo(List.of(1, 2));
+      assertThat(api.jq(response.getJsonBody(), "$.items[*].id")).isSameAs(first);
+      assertThat(api.jq(response.getJsonBody(), "$.items[0].id")).isEqualTo(1);
+      assertThat(api.jq(Map.of("items", List.of()), "$.items[*].id")).isEqualTo(List.of());
+      assertThat(api.jq(response.getJsonBody(), "$.items[*].id")).isEqualTo(first).isNotSameAs(first);
+    }
+  }
+
+  @Test
+  void compileJsonPath() {
+    assertThat(api.compileJsonPath("$.a.b")).isSameAs(api.compileJsonPath("$.a.b"));
+    assertThat(apiFactory.createApi(context).compileJsonPath("$.a.b")).isSameAs(api.compileJsonPath("$.a.b"));
+  }
+
+  @Test
+  void cached_call() throws IOException, InterruptedException {
+    String first = api.cached_call(60, "cmd", "tree", "cfg", "-db");
+    assertThat(first).isEqualTo("""
+        cfg (builtin, parent)
+        ├── get (builtin)
+        └── set (builtin)
+        """);
+    assertThat(api.cached_call(60, "cmd", "tree", "cfg", "-db")).isSameAs(first);
+  }
+
   @Test
   void url_encode() {
     assertThat(api.url_encode("some#text")).isEqualTo("some%23text");
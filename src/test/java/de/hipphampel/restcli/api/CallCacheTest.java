@@ -0,0 +1,171 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.restcli.command.CommandTestBase;
+import de.hipphampel.restcli.config.ApplicationConfig;
+import de.hipphampel.restcli.env.Environment;
+import de.hipphampel.restcli.env.EnvironmentConfig;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@QuarkusTest
+class CallCacheTest extends CommandTestBase {
+
+  @Inject
+  CallCache callCache;
+
+  private final AtomicInteger counter = new AtomicInteger();
+
+  @BeforeEach
+  protected void beforeEach(@TempDir Path rootDir) throws IOException {
+    super.beforeEach(rootDir);
+    callCache.clear();
+    setTime(1000);
+  }
+
+  @AfterEach
+  void afterEach() {
+    callCache.clear();
+    callCache.setClock(Clock.systemUTC());
+  }
+
+  @Test
+  void get_inMemory() throws IOException, InterruptedException {
+    assertThat(get(List.of("a"), 10)).isEqualTo("value1");
+    assertThat(get(List.of("a"), 10)).isEqualTo("value1");
+    assertThat(get(List.of("b"), 10)).isEqualTo("value2");
+
+    setTime(11_000);
+    assertThat(get(List.of("a"), 10)).isEqualTo("value3");
+    assertThat(Files.exists(rootDir.resolve(CallCache.CACHE_DIR))).isFalse();
+  }
+
+  @Test
+  void get_zeroTtlDisablesCaching() throws IOException, InterruptedException {
+    assertThat(get(List.of("a"), 0)).isEqualTo("value1");
+    assertThat(get(List.of("a"), 0)).isEqualTo("value2");
+  }
+
+  @Test
+  void get_keyedByEnvironment() throws IOException, InterruptedException {
+    assertThat(get(List.of("a"), 10)).isEqualTo("value1");
+    context.environment(new Environment(null, "other", EnvironmentConfig.EMPTY,
+        new EnvironmentConfig(null, Map.of("foo", "bar"), Map.of(), null)));
+    assertThat(get(List.of("a"), 10)).isEqualTo("value2");
+  }
+
+  @Test
+  void get_failuresAreNotCached() throws IOException, InterruptedException {
+    assertThatThrownBy(() -> callCache.get(context, "test", List.of("a"), 10, () -> {
+      throw new IOException("failed");
+    })).isInstanceOf(IOException.class);
+    assertThat(get(List.of("a"), 10)).isEqualTo("value1");
+  }
+
+  @Test
+  void get_persistent() throws IOException, InterruptedException {
+    context.applicationConfig(new ApplicationConfig().setPersistentCallCache(true));
+
+    assertThat(get(List.of("a"), 10)).isEqualTo("secret1");
+    Path dir = rootDir.resolve(CallCache.CACHE_DIR);
+    try (var files = Files.list(dir)) {
+      List<Path> entries = files.toList();
+      assertThat(entries).hasSize(1);
+      assertThat(new String(Files.readAllBytes(entries.get(0)), StandardCharsets.ISO_8859_1)).doesNotContain("secret1");
+    }
+
+    callCache.clear();
+    assertThat(get(List.of("a"), 10)).isEqualTo("secret1");
+
+    callCache.clear();
+    setTime(11_000);
+    assertThat(get(List.of("a"), 10)).isEqualTo("secret2");
+  }
+
+  @Test
+  void get_persistent_corruptedEntryIsMiss() throws IOException, InterruptedException {
+    context.applicationConfig(new ApplicationConfig().setPersistentCallCache(true));
+    assertThat(get(List.of("a"), 10)).isEqualTo("secret1");
+    try (var files = Files.list(rootDir.resolve(CallCache.CACHE_DIR))) {
+      Files.write(files.findFirst().orElseThrow(), "garbage".getBytes(StandardCharsets.UTF_8));
+    }
+
+    callCache.clear();
+    assertThat(get(List.of("a"), 10)).isEqualTo("secret2");
+  }
+
+  @Test
+  void getOrCreateKey_concurrent() throws Exception {
+    List<Callable<byte[]>> tasks = IntStream.range(0, 8)
+        .mapToObj(i -> (Callable<byte[]>) () -> callCache.getOrCreateKey(rootDir).getEncoded())
+        .toList();
+    ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+    List<Future<byte[]>> results;
+    try {
+      results = executor.invokeAll(tasks);
+    } finally {
+      executor.shutdown();
+    }
+
+    // All callers get the key that is finally stored, none of them replaced the key of another one
+    byte[] key = Files.readAllBytes(rootDir.resolve(CallCache.KEY_FILE));
+    for (Future<byte[]> result : results) {
+      assertThat(result.get()).isEqualTo(key);
+    }
+    try (var files = Files.list(rootDir.resolve(CallCache.KEY_FILE).getParent())) {
+      assertThat(files.map(file -> file.getFileName().toString())).containsExactly("calls.key");
+    }
+  }
+
+  private String get(List<String> args, long ttl) throws IOException, InterruptedException {
+    String prefix = context.applicationConfig().isPersistentCallCache() ? "secret" : "value";
+    return callCache.get(context, "test", args, ttl, () -> prefix + counter.incrementAndGet());
+  }
+
+  private void setTime(long millis) {
+    callCache.setClock(Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+  }
+}
@@ -24,6 +24,7 @@ package de.hipphampel.restcli.cli.format;
 
 import static de.hipphampel.restcli.cli.format.FormatTestBase.assertBlockContent;
 import static de.hipphampel.restcli.cli.format.FormatTestBase.assertBlockGeometry;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import de.hipphampel.restcli.cli.format.GridBlock.Position;
 import de.hipphampel.restcli.cli.format.ParagraphBlock.Alignment;
@@ -131,6 +132,19 @@ class GridBlockTest {
     );
   }
 
+  @Test
+  void copy() {
+    block.setRequestedWidth(40);
+
+    GridBlock copy = block.copy();
+
+    assertThat(copy).isEqualTo(block).isNotSameAs(block);
+    assertThat(copy.getCell(1, 1)).isEqualTo(block.getCell(1, 1)).isNotSameAs(block.getCell(1, 1));
+    copy.setRequestedWidth(30);
+    assertThat(block.getRequestedWidth()).isEqualTo(40);
+    assertThat(block.getCell(0, 0).getRequestedWidth()).isNotEqualTo(copy.getCell(0, 0).getRequestedWidth());
+  }
+
   @Test
   void toTableUndecorated() {
     GridBlock grid = new GridBlock(Map.of(
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.restcli.TestUtils;
+import de.hipphampel.restcli.command.config.CommandConfig;
+import de.hipphampel.restcli.command.config.CommandConfig.Type;
+import de.hipphampel.restcli.command.config.RestCommandConfig;
+import de.hipphampel.restcli.env.Environment;
+import de.hipphampel.restcli.env.EnvironmentRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+// Budgets are the measured bytes allocated by all threads per invocation; they fail the build if exceeded by more than MARGIN
+@QuarkusTest
+class AllocationBudgetTest extends HttpCommandTestBase {
+
+  static final int WARMUP = 20;
+  static final int ITERATIONS = 10;
+  static final double MARGIN = 1.1;
+
+  @Inject
+  EnvironmentRepository environmentRepository;
+
+  @BeforeEach
+  protected void beforeEach(@TempDir Path rootDir) throws IOException {
+    super.beforeEach(rootDir);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "1024,    90",
+      "65536,   1530",
+      "4194304, 84100",
+  })
+  void httpGet(int size, long budgetKb) {
+    String body = TestUtils.jsonPayload(size);
+    dispatchFunction = request -> new MockResponse()
+        .setHeader("Content-Type", "application/json")
+        .setBody(body);
+
+    assertBudget("http get (%d bytes)".formatted(size), budgetKb, "http", List.of("get", "http://${baseUrl}/"));
+  }
+
+  @Test
+  void help() {
+    assertBudget("help", 700, "help", List.of());
+  }
+
+  @Test
+  void cmdTree() {
+    CommandConfig parent = new CommandConfig().setType(Type.Parent);
+    CommandConfig http = new CommandConfig()
+        .setType(Type.Http)
+        .setRestConfig(new RestCommandConfig().setMethod("GET").setBaseUri("https://example.com"));
+    for (int i = 0; i < 20; i++) {
+      storeCommand(CommandAddress.fromString("group" + i), parent);
+      for (int j = 0; j < 49; j++) {
+        storeCommand(CommandAddress.fromString("group%d/command%d".formatted(i, j)), http);
+      }
+    }
+
+    assertBudget("cmd tree (1000 commands)", 5450, "cmd/tree", List.of());
+  }
+
+  @Test
+  void envGet() {
+    Environment parent = null;
+    for (int i = 0; i < 32; i++) {
+      Environment environment = environmentRepository.createTransientEnvironment("env" + i, parent);
+      environment.setLocalVariables(Map.of("var" + i, "value" + i, "shared", "value of env" + i));
+      environment.setLocalHeaders(Map.of("X-Header-" + i, List.of("value" + i)));
+      environmentRepository.storeEnvironment(context.configPath(), environment, false);
+      parent = environment;
+    }
+
+    assertBudget("env get (32 levels)", 510, "env/get", List.of("env31"));
+  }
+
+  void assertBudget(String name, long budgetKb, String command, List<String> args) {
+    CommandAddress address = CommandAddress.fromString(command);
+    long allocatedKb = Measurement.of(WARMUP, ITERATIONS, () -> invoke(address, args)).allocatedPerOp() / 1024;
+
+    assertThat(allocatedKb)
+        .as("Allocation of \"%s\" is %d KB/op, budget is %d KB/op", name, allocatedKb, budgetKb)
+        .isLessThanOrEqualTo((long) (budgetKb * MARGIN));
+  }
+
+  void invoke(CommandAddress address, List<String> args) {
+    out.getBuffer().setLength(0);
+    err.getBuffer().setLength(0);
+    assertThat(commandInvoker.invokeCommand(context, address, args)).isTrue();
+  }
+}
@@ -25,6 +25,7 @@ package de.hipphampel.restcli.command;
 
 import static de.hipphampel.restcli.TestUtils.stringToList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -36,9 +37,12 @@ import de.hipphampel.restcli.command.config.CommandConfig;
 import de.hipphampel.restcli.command.config.CommandConfig.Type;
 import de.hipphampel.restcli.command.config.CommandConfigRepository;
 import de.hipphampel.restcli.command.custom.CustomCommand;
+import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.utils.Pair;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
@@ -105,6 +109,45 @@ class CommandRepositoryTest {
         .isEqualTo(new Pair<>(CommandAddress.fromString(existing), Optional.ofNullable(child)));
   }
 
+  @Test
+  void loadSubtree() {
+    mockCustom(CommandAddress.fromString("test"), "test", true);
+    mockCustom(CommandAddress.fromString("test/foo1"), "foo1", true);
+    mockCustom(CommandAddress.fromString("test/foo1/bar"), "bar", false);
+    mockCustom(CommandAddress.fromString("test/foo2"), "foo2", false);
+    mockCustom(CommandAddress.fromString("test/skipped"), "skipped", true);
+    mockCustom(CommandAddress.fromString("test/skipped/child"), "child", false);
+
+    CommandTree tree = repository.loadSubtree(rootDir, CommandAddress.fromString("test"), -1,
+        address -> !address.name().equals("skipped"), true).orElseThrow();
+
+    assertThat(tree.info().synopsis()).isEqualTo("test");
+    assertThat(tree.config().getSynopsis()).isEqualTo("test");
+    assertThat(tree.children().stream().map(child -> child.info().address().toString()))
+        .containsExactly("test/foo1", "test/foo2");
+    assertThat(tree.children().get(0).children()).hasSize(1);
+    assertThat(tree.children().get(0).children().get(0).config().getSynopsis()).isEqualTo("bar");
+
+    tree = repository.loadSubtree(rootDir, CommandAddress.fromString("test"), 1, address -> true, false).orElseThrow();
+    assertThat(tree.config()).isNull();
+    assertThat(tree.children()).hasSize(3);
+    assertThat(tree.children()).allMatch(child -> child.children().isEmpty());
+
+    assertThat(repository.loadSubtree(rootDir, CommandAddress.fromString("notFound"), -1, address -> true, false)).isEmpty();
+  }
+
+  @Test
+  void loadSubtree_brokenChild() throws IOException {
+    mockCustom(CommandAddress.fromString("test"), "test", true);
+    Path brokenConfig = configRepository.getPath(rootDir, CommandAddress.fromString("test/broken")).orElseThrow();
+    Files.createDirectories(brokenConfig.getParent());
+    Files.writeString(brokenConfig, "not json");
+
+    assertThatThrownBy(() -> repository.loadSubtree(rootDir, CommandAddress.fromString("test"), -1, address -> true, false))
+        .isInstanceOf(ExecutionException.class)
+        .hasMessage("Cannot find command \"test/broken\".");
+  }
+
   @Test
   void getBuiltinRegistryEntry_notFound() {
     mockCustom(CommandAddress.fromString("custom"), "foo", false);
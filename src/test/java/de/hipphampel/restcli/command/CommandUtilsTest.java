@@ -28,6 +28,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import de.hipphampel.restcli.cli.commandline.CommandLineSpec;
+import de.hipphampel.restcli.cli.format.Block;
 import de.hipphampel.restcli.cli.format.FormatBuilder;
 import de.hipphampel.restcli.env.Environment;
 import de.hipphampel.restcli.env.EnvironmentConfig;
@@ -50,6 +51,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -122,6 +124,22 @@ class CommandUtilsTest extends CommandTestBase {
             """);
   }
 
+  @Test
+  void helpSection() {
+    Function<CommandContext, Block> section = CommandUtils.helpSection("Help for `${applicationName}`.");
+
+    Block first = section.apply(context);
+    Block second = section.apply(context);
+    assertThat(second).isEqualTo(first).isNotSameAs(first);
+    assertThat(first).isEqualTo(FormatBuilder.buildFormat("Help for `test-app`."));
+
+    first.setRequestedWidth(5);
+    assertThat(section.apply(context)).isEqualTo(second);
+
+    context.applicationName("other-app");
+    assertThat(section.apply(context)).isEqualTo(FormatBuilder.buildFormat("Help for `other-app`."));
+  }
+
   @Test
   void qualifiedName() {
     CommandAddress address = CommandAddress.fromString("abc/def");
@@ -0,0 +1,199 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.TestUtils;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec;
+import de.hipphampel.restcli.command.config.CommandConfig;
+import de.hipphampel.restcli.command.config.CommandConfig.Type;
+import de.hipphampel.restcli.command.config.RestCommandConfig;
+import io.quarkus.test.junit.QuarkusTest;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.net.ServerSocketFactory;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+// Run with -Drestcli.benchmark=true; the results are written to target/end-to-end-benchmark.json (-Drestcli.benchmark.result=<file>)
+@QuarkusTest
+@EnabledIfSystemProperty(named = "restcli.benchmark", matches = "true")
+class EndToEndBenchmarkTest extends HttpCommandTestBase {
+
+  static final int WARMUP = Integer.getInteger("restcli.benchmark.warmup", 200);
+  static final int ITERATIONS = Integer.getInteger("restcli.benchmark.iterations", 1000);
+  static final String FORMAT = "string:${_response.statusCode} ${_response.stringBody?length}";
+  static final Path RESULT_FILE = Path.of(System.getProperty("restcli.benchmark.result", "target/end-to-end-benchmark.json"));
+  static final List<Result> RESULTS = Collections.synchronizedList(new ArrayList<>());
+  static final Map<String, String> PAYLOADS = Map.of(
+      "json-1k", TestUtils.jsonPayload(1024),
+      "json-64k", TestUtils.jsonPayload(64 * 1024),
+      "xml-1k", TestUtils.xmlPayload(1024),
+      "xml-64k", TestUtils.xmlPayload(64 * 1024));
+
+  @BeforeEach
+  protected void beforeEach(@TempDir Path rootDir) throws IOException {
+    super.beforeEach(rootDir);
+    dispatchFunction = request -> {
+      String payload = request.getPath().substring(1);
+      return new MockResponse()
+          .setHeader("Content-Type", payload.startsWith("json") ? "application/json" : "application/xml")
+          .setBody(PAYLOADS.get(payload));
+    };
+    storeCommand(CommandAddress.fromString("bench-get"), new CommandConfig()
+        .setType(Type.Http)
+        .setRestConfig(new RestCommandConfig()
+            .setMethod("get")
+            .setBaseUri("http://${baseUrl}/${payload}")));
+    storeCommand(CommandAddress.fromString("bench-alias"), new CommandConfig()
+        .setType(Type.Alias)
+        .setAliasConfig(List.of("http", "get", "http://${baseUrl}/${payload}")));
+  }
+
+  @Override
+  protected MockWebServer createServer() {
+    MockWebServer server = new MockWebServer();
+    server.setServerSocketFactory(new NoDelayServerSocketFactory());
+    return server;
+  }
+
+  @AfterAll
+  static void writeResults() throws IOException {
+    Files.createDirectories(RESULT_FILE.toAbsolutePath().getParent());
+    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(RESULT_FILE.toFile(), RESULTS);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "http,        json-1k,  false",
+      "http,        json-1k,  true",
+      "http,        json-64k, false",
+      "http,        json-64k, true",
+      "http,        xml-1k,   false",
+      "http,        xml-64k,  false",
+      "bench-get,   json-1k,  false",
+      "bench-get,   json-1k,  true",
+      "bench-get,   json-64k, false",
+      "bench-get,   xml-64k,  false",
+      "bench-alias, json-1k,  false",
+      "bench-alias, json-1k,  true",
+      "bench-alias, json-64k, false",
+      "bench-alias, xml-64k,  false",
+  })
+  void invokeCommand(String command, String payload, boolean format) {
+    CommandAddress address = CommandAddress.fromString(command);
+    List<String> args = command.equals("http") ? List.of("get", "http://${baseUrl}/${payload}") : List.of();
+    context.environment().setLocalVariable("payload", payload);
+    if (format) {
+      context.rootCommandLine(commandLineParser.parseCommandLine(
+          new CommandLineSpec(true, CommandContext.CMD_OPT_FORMAT),
+          List.of("-f", FORMAT)));
+    }
+    Measurement measurement = Measurement.of(WARMUP, ITERATIONS, () -> invoke(address, args));
+
+    RESULTS.add(new Result(
+        EndToEndBenchmarkTest.class.getName() + ".invokeCommand",
+        "sample",
+        Map.of("command", command, "payload", payload, "output", format ? "format" : "template"),
+        new Metric(measurement.millisPerOp(), "ms/op", Map.of(
+            "50.0", measurement.percentileMillis(50),
+            "99.0", measurement.percentileMillis(99))),
+        Map.of(
+            "throughput", new Metric(measurement.opsPerSecond(), "ops/s", null),
+            "gc.alloc.rate.norm", new Metric(measurement.allocatedPerOp(), "B/op", null))));
+  }
+
+  void invoke(CommandAddress address, List<String> args) {
+    out.getBuffer().setLength(0);
+    assertThat(commandInvoker.invokeCommand(context, address, args)).isTrue();
+  }
+
+  // Without TCP_NODELAY, small responses wait for the delayed ACK of the client, which hides the client side overhead
+  static class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+    @Override
+    public ServerSocket createServerSocket() throws IOException {
+      return new NoDelayServerSocket();
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+      return new NoDelayServerSocket(port, 50, null);
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+      return new NoDelayServerSocket(port, backlog, null);
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+      return new NoDelayServerSocket(port, backlog, address);
+    }
+  }
+
+  static class NoDelayServerSocket extends ServerSocket {
+
+    NoDelayServerSocket() throws IOException {
+    }
+
+    NoDelayServerSocket(int port, int backlog, InetAddress address) throws IOException {
+      super(port, backlog, address);
+    }
+
+    @Override
+    public Socket accept() throws IOException {
+      Socket socket = super.accept();
+      socket.setTcpNoDelay(true);
+      return socket;
+    }
+  }
+
+  // Same layout as the JSON results of JMH, so that the same tools can be used to compare runs
+  record Result(String benchmark, String mode, Map<String, String> params, Metric primaryMetric, Map<String, Metric> secondaryMetrics) {
+
+  }
+
+  @JsonInclude(Include.NON_NULL)
+  record Metric(double score, String scoreUnit, Map<String, Double> scorePercentiles) {
+
+  }
+}
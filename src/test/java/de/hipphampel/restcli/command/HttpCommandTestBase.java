@@ -57,7 +57,7 @@ public class HttpCommandTestBase extends CommandTestBase {
   @BeforeEach
   protected void beforeEach(@TempDir Path rootDir) throws IOException {
     super.beforeEach(rootDir);
-    server = new MockWebServer();
+    server = createServer();
     server.setDispatcher(new Dispatcher() {
       @Override
       public MockResponse dispatch(RecordedRequest recordedRequest) {
@@ -78,6 +78,10 @@ public class HttpCommandTestBase extends CommandTestBase {
     server.shutdown();
   }
 
+  protected MockWebServer createServer() {
+    return new MockWebServer();
+  }
+
   Function<RecordedRequest, MockResponse> defaultDispatchFunction(Predicate<String> headerFilter) {
     return request -> {
       MockResponse response = new MockResponse();
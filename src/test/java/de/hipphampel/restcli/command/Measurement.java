@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Durations and allocations of repeated invocations; allocations are summed over all live threads, so work handed off to other
+// threads (e.g. parallel streams in the common pool) is included
+record Measurement(long[] durations, long duration, long allocated) {
+
+  static Measurement of(int warmup, int iterations, Runnable invocation) {
+    for (int i = 0; i < warmup; i++) {
+      invocation.run();
+    }
+
+    ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long[] durations = new long[iterations];
+    Map<Long, Long> allocatedBefore = allocatedBytes(threadBean);
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      long invocationStart = System.nanoTime();
+      invocation.run();
+      durations[i] = System.nanoTime() - invocationStart;
+    }
+    long duration = System.nanoTime() - start;
+    long allocated = allocatedBytes(threadBean).entrySet().stream()
+        .mapToLong(entry -> entry.getValue() - allocatedBefore.getOrDefault(entry.getKey(), 0L))
+        .sum();
+    Arrays.sort(durations);
+    return new Measurement(durations, duration, allocated);
+  }
+
+  static Map<Long, Long> allocatedBytes(ThreadMXBean threadBean) {
+    long[] threadIds = threadBean.getAllThreadIds();
+    long[] allocated = threadBean.getThreadAllocatedBytes(threadIds);
+    Map<Long, Long> result = new HashMap<>();
+    for (int i = 0; i < threadIds.length; i++) {
+      // Threads that terminated in the meantime report -1
+      if (allocated[i] >= 0) {
+        result.put(threadIds[i], allocated[i]);
+      }
+    }
+    return result;
+  }
+
+  int iterations() {
+    return durations.length;
+  }
+
+  double millisPerOp() {
+    return duration / 1e6 / iterations();
+  }
+
+  double percentileMillis(double percentile) {
+    return durations[(int) (iterations() * percentile / 100)] / 1e6;
+  }
+
+  double opsPerSecond() {
+    return iterations() / (duration / 1e9);
+  }
+
+  long allocatedPerOp() {
+    return allocated / iterations();
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.builtin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import de.hipphampel.restcli.command.CommandAddress;
+import de.hipphampel.restcli.command.CommandTestBase;
+import de.hipphampel.restcli.command.config.CommandConfig;
+import de.hipphampel.restcli.command.config.CommandConfig.Type;
+import de.hipphampel.restcli.command.config.RestCommandConfig;
+import de.hipphampel.restcli.completion.CompletionCache;
+import de.hipphampel.restcli.env.EnvironmentRepository;
+import de.hipphampel.restcli.utils.FileUtils;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@QuarkusTest
+class CompletionCommandTest extends CommandTestBase {
+
+  @Inject
+  CompletionCommand command;
+  @Inject
+  EnvironmentRepository environmentRepository;
+  @Inject
+  CompletionCache completionCache;
+
+  @BeforeEach
+  protected void beforeEach(@TempDir Path rootDir) throws IOException {
+    super.beforeEach(rootDir);
+    CommandConfig config = new CommandConfig();
+    config.setType(Type.Parent);
+    storeCommand(CommandAddress.fromString("a-parent"), config);
+    storeCommand(CommandAddress.fromString("a-parent/child"), config);
+    config.setType(Type.Http);
+    config.setRestConfig(new RestCommandConfig().setMethod("GET").setBaseUri("https://example.com"));
+    storeCommand(CommandAddress.fromString("a-http"), config);
+    environmentRepository.storeEnvironment(rootDir,
+        environmentRepository.createTransientEnvironment("dev", null), false);
+  }
+
+  @Test
+  void updateIfModified() throws IOException {
+    Path cacheFile = rootDir.resolve(CompletionCache.CACHE_FILE);
+    completionCache.update(rootDir);
+    Files.delete(cacheFile);
+
+    completionCache.updateIfModified(rootDir);
+    assertThat(cacheFile).doesNotExist();
+
+    environmentRepository.storeEnvironment(rootDir, environmentRepository.createTransientEnvironment("test", null), false);
+    completionCache.updateIfModified(rootDir);
+    assertThat(cacheFile).exists();
+  }
+
+  @Test
+  void updateIfModified_changedSectionsOnly() throws IOException {
+    Path cacheFile = rootDir.resolve(CompletionCache.CACHE_FILE);
+    completionCache.update(rootDir);
+    Files.writeString(cacheFile, Files.readString(cacheFile).replace("e\t\t_empty dev\n", "e\t\tstale\n"));
+
+    storeCommand(CommandAddress.fromString("a-parent/other"), new CommandConfig().setType(Type.Parent));
+    completionCache.updateIfModified(rootDir);
+    assertThat(Files.readString(cacheFile))
+        .contains("c\t\ta-http a-parent cfg cmd completion env help http shell template\n")
+        .contains("c\ta-parent\tchild other\n")
+        .contains("e\t\tstale\n");
+
+    commandConfigRepository.delete(rootDir, CommandAddress.fromString("a-parent"), true);
+    completionCache.updateIfModified(rootDir);
+    assertThat(Files.readString(cacheFile))
+        .contains("c\t\ta-http cfg cmd completion env help http shell template\n")
+        .doesNotContain("\ta-parent")
+        .contains("e\t\tstale\n");
+  }
+
+  @Test
+  void updateIfModified_unwritable() throws IOException {
+    Path cacheFile = rootDir.resolve(CompletionCache.CACHE_FILE);
+    FileUtils.deleteRecursively(cacheFile.getParent(), true);
+    Files.writeString(cacheFile.getParent(), "Blocks the cache directory");
+
+    completionCache.updateIfModified(rootDir);
+    Files.delete(cacheFile.getParent());
+    environmentRepository.storeEnvironment(rootDir, environmentRepository.createTransientEnvironment("test", null), false);
+    completionCache.updateIfModified(rootDir);
+    assertThat(cacheFile).doesNotExist();
+
+    completionCache.update(rootDir);
+    assertThat(cacheFile).exists();
+  }
+
+  @Test
+  void execute() throws IOException {
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of("bash"))).isTrue();
+
+    assertThat(out.toString())
+        .startsWith("# bash completion for test-app\n")
+        .contains("complete -o default -F _test_app test-app\n")
+        .doesNotContain("@AWK_PROGRAM@");
+    assertThat(Files.readString(rootDir.resolve(CompletionCache.CACHE_FILE)))
+        .contains("c\t\ta-http a-parent cfg cmd completion env help http shell template\n")
+        .contains("c\ta-parent\tchild\n")
+        .contains("e\t\t_empty dev\n");
+  }
+
+  @ParameterizedTest
+  @MethodSource("complete_data")
+  void complete(List<String> words, List<String> expected) throws IOException, InterruptedException {
+    assumeTrue(Files.isExecutable(Path.of("/usr/bin/awk")));
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of("bash"))).isTrue();
+    String program = new String(CompletionCommand.class.getResourceAsStream("/completion/completion.awk").readAllBytes(),
+        StandardCharsets.UTF_8);
+
+    List<String> args = new ArrayList<>(List.of("/usr/bin/awk", program, rootDir.toString()));
+    args.addAll(words);
+    Process process = new ProcessBuilder(args).start();
+    String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    process.waitFor();
+
+    assertThat(output.lines()).containsExactlyElementsOf(expected);
+  }
+
+  static Stream<Arguments> complete_data() {
+    return Stream.of(
+        Arguments.of(List.of(""), List.of("a-http", "a-parent", "cfg", "cmd", "completion", "env", "help", "http", "shell", "template")),
+        Arguments.of(List.of("c"), List.of("cfg", "cmd", "completion")),
+        Arguments.of(List.of("a-parent", ""), List.of("child")),
+        Arguments.of(List.of("-e", ""), List.of("_empty", "dev")),
+        Arguments.of(List.of("-e", "dev", "cmd", "tr"), List.of("tree")),
+        Arguments.of(List.of("cmd", "tree", "--m"), List.of("--max-depth")),
+        Arguments.of(List.of("cmd", "tree", "a-parent/"), List.of("a-parent/child")),
+        Arguments.of(List.of("env", "get", "d"), List.of("dev"))
+    );
+  }
+}
@@ -78,9 +78,9 @@ class HelpCommandTest extends CommandTestBase {
                   restcli [-c|--config <config-dir>] [-e|--environment
                           <environment>] [-i|--interactive]
                           [-o|--output-parameter <key>=<value>]...
-                          [--version] [(-f|--format <format>) |
-                          (-t|--template <name-or-address>)] [<sub-command>
-                          [<sub-command-args>...]]
+                          [--output-file <path>] [--version] [(-f|--format
+                          <format>) | (-t|--template <name-or-address>)]
+                          [<sub-command> [<sub-command-args>...]]
 
                 Description
                   The main objective of this tool is to manage and execute
@@ -147,6 +147,17 @@ class HelpCommandTest extends CommandTestBase {
                       available depends on the format specified via the
                       `--format` option or the template given by the
                       `--template` option.
+                  --output-file <path>
+                      This option is only evaluated for sub-commands that
+                      execute HTTP requests. If specified, the body of a
+                      successful response is written directly to the file
+                      `<path>` instead of being passed to the output format,
+                      which then sees an empty body but still has access to
+                      the status code and headers. If a previous download to
+                      the same `<path>` was interrupted, it is resumed by
+                      requesting only the missing bytes, provided that the
+                      server supports range requests and the resource has
+                      not changed in the meantime.
                   -t | --template <name-or-address>
                       This option is only evaluated for sub-commands that
                       execute HTTP requests. Specifies the template name or
@@ -158,15 +169,18 @@ class HelpCommandTest extends CommandTestBase {
                       Prints the version and exists.
 
                 Available sub-commands
-                  cfg      - Collection of commands to read or write the
-                             application configuration.
-                  cmd      - Collection of commands to manage custom
-                             commands.
-                  env      - Collection of commands to manage environments.
-                  help     - Shows help for a command or general topic.
-                  http     - Executes an ad hoc HTTP request.
-                  template - Collection of commands to manage output
-                             templates.
+                  cfg        - Collection of commands to read or write the
+                               application configuration.
+                  cmd        - Collection of commands to manage custom
+                               commands.
+                  completion - Prints a shell completion script.
+                  env        - Collection of commands to manage
+                               environments.
+                  help       - Shows help for a command or general topic.
+                  http       - Executes an ad hoc HTTP request.
+                  shell      - Starts an interactive session.
+                  template   - Collection of commands to manage output
+                               templates.
 
                 Further infos
                   Command addresses:
@@ -24,19 +24,28 @@ package de.hipphampel.restcli.command.builtin;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import de.hipphampel.restcli.cli.commandline.CommandLineParser;
+import de.hipphampel.restcli.cli.commandline.CommandLineSpec;
+import de.hipphampel.restcli.command.CommandContext;
 import de.hipphampel.restcli.command.CommandInvoker;
 import de.hipphampel.restcli.command.HttpCommandTestBase;
+import de.hipphampel.restcli.rest.FileDownload;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
 @QuarkusTest
@@ -48,6 +57,9 @@ class HttpCommandTest extends HttpCommandTestBase {
   @Inject
   CommandInvoker invoker;
 
+  @Inject
+  CommandLineParser commandLineParser;
+
   @BeforeEach
   protected void beforeEach(@TempDir Path rootDir) throws IOException {
     super.beforeEach(rootDir);
@@ -144,6 +156,94 @@ class HttpCommandTest extends HttpCommandTestBase {
     );
   }
 
+  @Test
+  void execute_ndjson() {
+    dispatchFunction = request -> new MockResponse()
+        .setHeader("Content-Type", "application/json")
+        .setBody("""
+            {"total": 3, "items": [{"id": 1, "tags": ["a", "b"]}, {"id": 2}, {"id": 3}]}""");
+    context.rootCommandLine(commandLineParser.parseCommandLine(
+        new CommandLineSpec(true, CommandContext.CMD_OPT_OUTPUT_PARAMETER, CommandContext.CMD_OPT_TEMPLATE),
+        List.of("-tndjson", "-opath=$.items")));
+
+    assertThat(invoker.invokeCommand(context, command.address(), List.of("get", "http://${baseUrl}/items"))).isTrue();
+    assertOutput("""
+            {"id":1,"tags":["a","b"]}
+            {"id":2}
+            {"id":3}
+            """,
+        "");
+  }
+
+  @Test
+  void execute_sse() {
+    dispatchFunction = request -> new MockResponse()
+        .setHeader("Content-Type", "text/event-stream")
+        .setBody("""
+            : keep alive
+
+            data: started
+
+            event: progress
+            data: 50%
+
+            """);
+    context.rootCommandLine(commandLineParser.parseCommandLine(
+        new CommandLineSpec(true, CommandContext.CMD_OPT_OUTPUT_PARAMETER, CommandContext.CMD_OPT_TEMPLATE),
+        List.of("-tsse", "-oline=${event.event}: ${event.data}")));
+
+    assertThat(invoker.invokeCommand(context, command.address(), List.of("get", "http://${baseUrl}/events"))).isTrue();
+    assertOutput("""
+            message: started
+            progress: 50%
+            """,
+        "");
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      // Fresh download
+      ",        ,      200, 'hello',   ,                 'hello', ,              ",
+      // Resume from a partial download
+      "'hel',   '\"v1\"', 206, 'lo',      'bytes 3-4/5',   'hello', 'bytes=3-',     '\"v1\"'",
+      // Resource changed in the meantime, so the server sends the complete body
+      "'hel',   '\"v0\"', 200, 'hello',   ,                 'hello', 'bytes=3-',     '\"v0\"'",
+      // Complete file without validator is overwritten
+      "'hello', ,      200, 'world',   ,                 'world', ,              ",
+      // Failed request does not touch the file
+      "'hel',   '\"v1\"', 404, 'missing', ,                 'hel',   'bytes=3-',     '\"v1\"'",
+  })
+  void execute_outputFile(String existingContent, String validator, int status, String body, String contentRange, String expectedContent,
+      String expectedRange, String expectedIfRange, @TempDir Path dir) throws IOException {
+    Path file = dir.resolve("download.bin");
+    Path validatorFile = dir.resolve("download.bin" + FileDownload.VALIDATOR_SUFFIX);
+    if (existingContent != null) {
+      Files.writeString(file, existingContent);
+    }
+    if (validator != null) {
+      Files.writeString(validatorFile, validator);
+    }
+    List<RecordedRequest> requests = new ArrayList<>();
+    dispatchFunction = request -> {
+      requests.add(request);
+      MockResponse response = new MockResponse()
+          .setResponseCode(status)
+          .setHeader("ETag", "\"v1\"")
+          .setBody(body);
+      return contentRange == null ? response : response.setHeader("Content-Range", contentRange);
+    };
+    context.rootCommandLine(commandLineParser.parseCommandLine(
+        new CommandLineSpec(true, CommandContext.CMD_OPT_FORMAT, CommandContext.CMD_OPT_OUTPUT_FILE),
+        List.of("-f", "${_response.statusCode}|${_response.stringBody}|", "--output-file", file.toString())));
+
+    assertThat(invoker.invokeCommand(context, command.address(), List.of("get", "http://${baseUrl}/file"))).isEqualTo(status < 400);
+    assertThat(requests.get(0).getHeader("Range")).isEqualTo(expectedRange);
+    assertThat(requests.get(0).getHeader("If-Range")).isEqualTo(expectedIfRange);
+    assertThat(Files.readString(file)).isEqualTo(expectedContent);
+    assertThat(out.toString()).isEqualTo(status < 400 ? status + "||" : status + "|" + body + "|");
+    assertThat(Files.exists(validatorFile)).isEqualTo(status >= 400 && validator != null);
+  }
+
   @Test
   void showHelp() {
     command.showHelp(context, context.out());
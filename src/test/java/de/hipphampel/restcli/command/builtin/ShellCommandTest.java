@@ -0,0 +1,137 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.builtin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.hipphampel.restcli.TestUtils;
+import de.hipphampel.restcli.command.CommandTestBase;
+import de.hipphampel.restcli.env.EnvironmentRepository;
+import de.hipphampel.restcli.exception.UsageException;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+@QuarkusTest
+class ShellCommandTest extends CommandTestBase {
+
+  @Inject
+  ShellCommand command;
+  @Inject
+  EnvironmentRepository environmentRepository;
+
+  @BeforeEach
+  protected void beforeEach(@TempDir Path rootDir) throws IOException {
+    super.beforeEach(rootDir);
+    environmentRepository.storeEnvironment(rootDir,
+        environmentRepository.createTransientEnvironment("dev", null), false);
+  }
+
+  @Test
+  void execute() {
+    context.in(new ByteArrayInputStream("""
+        :env
+        :env dev
+        :env
+        template ls
+        # a comment
+
+        :history
+        !4
+        :bogus
+        'unterminated
+        :quit
+        template ls
+        """.getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of())).isTrue();
+    assertOutput("""
+            _empty
+            dev
+            default
+            ndjson
+            sse
+                1  :env
+                2  :env dev
+                3  :env
+                4  template ls
+                5  :history
+            default
+            ndjson
+            sse
+            """,
+        """
+            test-app> test-app> test-app> test-app> test-app> test-app> test-app> test-app> template ls
+            test-app> *** error test-app: Unknown meta command ":bogus" - type
+                                `:help` for a list.
+            test-app> *** error test-app: Unterminated quote in line.
+            test-app>\s""");
+    assertThat(context.environment().getName()).isEqualTo("dev");
+  }
+
+  @Test
+  void execute_timing() {
+    context.in(new ByteArrayInputStream("""
+        :timing on
+        template ls
+        """.getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of())).isTrue();
+    assertThat(out.toString()).isEqualTo("""
+        Timing is on.
+        default
+        ndjson
+        sse
+        """);
+    assertThat(err.toString()).matches("(?s)test-app> test-app> \\(\\d+ ms, ok\\)\\ntest-app> ");
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "'a b  c',                      'a;b;c'",
+      "'get \"a b\" c',               'get;a b;c'",
+      "'-o''x=1 2'' cmd',             '-ox=1 2;cmd'",
+      "'a\\ b \"c\\\"d\" ''e\\f''',   'a b;c\"d;e\\f'",
+      "'\"\" x',                      ';x'",
+  })
+  void splitWords(String line, String expected) {
+    assertThat(ShellCommand.splitWords(line)).isEqualTo(TestUtils.stringToList(expected));
+  }
+
+  @Test
+  void splitWords_unterminated() {
+    assertThatThrownBy(() -> ShellCommand.splitWords("a \"b"))
+        .isInstanceOf(UsageException.class)
+        .hasMessage("Unterminated quote in line.");
+  }
+}
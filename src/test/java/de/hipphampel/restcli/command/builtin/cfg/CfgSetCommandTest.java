@@ -147,58 +147,70 @@ class CfgSetCommandTest extends CommandTestBase {
               Known settings
                   The following table gives an overview about the known
                   configuration keys and their meaning:
-                  ┌──────────────────┬───────┬─────────────────────────┐
-                  │Key               │Type   │Description              │
-                  ├──────────────────┼───────┼─────────────────────────┤
-                  │environment       │String │The name of the          │
-                  │                  │       │environment to use by    │
-                  │                  │       │default unless the       │
-                  │                  │       │application was started  │
-                  │                  │       │with a different one.    │
-                  │                  │       │Default value is         │
-                  │                  │       │`_empty`, an internal    │
-                  │                  │       │empty environment.       │
-                  │request-timeout   │Integer│Specifies the request    │
-                  │                  │       │timeout for HTTP         │
-                  │                  │       │requests, measured in    │
-                  │                  │       │milli seconds. The value │
-                  │                  │       │from this application    │
-                  │                  │       │configuration is used,   │
-                  │                  │       │unless a timeout is      │
-                  │                  │       │specified at request or  │
-                  │                  │       │environment level.       │
-                  │default-template  │String │Specifies how to output  │
-                  │                  │       │HTTP responses unless    │
-                  │                  │       │something more specific  │
-                  │                  │       │was given by the request │
-                  │                  │       │or the environment. Type │
-                  │                  │       │`test-app help :template`│
-                  │                  │       │for more information     │
-                  │                  │       │about templates.         │
-                  │output-width      │Integer│Defines the preferred    │
-                  │                  │       │output width. At least   │
-                  │                  │       │the output generated by  │
-                  │                  │       │the application itself is│
-                  │                  │       │restricted to the given  │
-                  │                  │       │width as far as possible │
-                  │                  │       │- it tries to wrap the   │
-                  │                  │       │lines if possible to not │
-                  │                  │       │exceed the output width. │
-                  │                  │       │Some output may still be │
-                  │                  │       │longer. Negative values  │
-                  │                  │       │do not limit the output  │
-                  │                  │       │in width, so no line     │
-                  │                  │       │wrapping will take place.│
-                  │                  │       │Default value is `80`.   │
-                  │output-with-styles│Boolean│If set to `true`, ANSI   │
-                  │                  │       │escape codes are added to│
-                  │                  │       │the applications output  │
-                  │                  │       │to highlight sections or │
-                  │                  │       │key values. If `false`,  │
-                  │                  │       │no escape codes are      │
-                  │                  │       │emitted. Default is      │
-                  │                  │       │`true`.                  │
-                  └──────────────────┴───────┴─────────────────────────┘
+                  ┌─────────────────────┬───────┬─────────────────────────┐
+                  │Key                  │Type   │Description              │
+                  ├─────────────────────┼───────┼─────────────────────────┤
+                  │environment          │String │The name of the          │
+                  │                     │       │environment to use by    │
+                  │                     │       │default unless the       │
+                  │                     │       │application was started  │
+                  │                     │       │with a different one.    │
+                  │                     │       │Default value is         │
+                  │                     │       │`_empty`, an internal    │
+                  │                     │       │empty environment.       │
+                  │request-timeout      │Integer│Specifies the request    │
+                  │                     │       │timeout for HTTP         │
+                  │                     │       │requests, measured in    │
+                  │                     │       │milli seconds. The value │
+                  │                     │       │from this application    │
+                  │                     │       │configuration is used,   │
+                  │                     │       │unless a timeout is      │
+                  │                     │       │specified at request or  │
+                  │                     │       │environment level.       │
+                  │default-template     │String │Specifies how to output  │
+                  │                     │       │HTTP responses unless    │
+                  │                     │       │something more specific  │
+                  │                     │       │was given by the request │
+                  │                     │       │or the environment. Type │
+                  │                     │       │`test-app help :template`│
+                  │                     │       │for more information     │
+                  │                     │       │about templates.         │
+                  │output-width         │Integer│Defines the preferred    │
+                  │                     │       │output width. At least   │
+                  │                     │       │the output generated by  │
+                  │                     │       │the application itself is│
+                  │                     │       │restricted to the given  │
+                  │                     │       │width as far as possible │
+                  │                     │       │- it tries to wrap the   │
+                  │                     │       │lines if possible to not │
+                  │                     │       │exceed the output width. │
+                  │                     │       │Some output may still be │
+                  │                     │       │longer. Negative values  │
+                  │                     │       │do not limit the output  │
+                  │                     │       │in width, so no line     │
+                  │                     │       │wrapping will take place.│
+                  │                     │       │Default value is `80`.   │
+                  │output-with-styles   │Boolean│If set to `true`, ANSI   │
+                  │                     │       │escape codes are added to│
+                  │                     │       │the applications output  │
+                  │                     │       │to highlight sections or │
+                  │                     │       │key values. If `false`,  │
+                  │                     │       │no escape codes are      │
+                  │                     │       │emitted. Default is      │
+                  │                     │       │`true`.                  │
+                  │persistent-call-cache│Boolean│If set to `true`, the    │
+                  │                     │       │results of the template  │
+                  │                     │       │API functions            │
+                  │                     │       │`cached_call` and        │
+                  │                     │       │`cached_sh` are          │
+                  │                     │       │additionally stored      │
+                  │                     │       │encrypted in the         │
+                  │                     │       │configuration directory, │
+                  │                     │       │so that they survive the │
+                  │                     │       │current invocation until │
+                  │                     │       │their time to live is    │
+                  │                     │       │over. Default is `false`.│
+                  └─────────────────────┴───────┴─────────────────────────┘
             """,
         "");
   }
@@ -77,6 +77,7 @@ class CmdCommandParentTest extends CommandTestBase {
               mv      - Moves a command (tree).
               openapi - Imports commands from an OpenAPI spec.
               rm      - Deletes commands.
+              search  - Searches for commands.
               tree    - Shows a tree of the available commands.
             """,
         "");
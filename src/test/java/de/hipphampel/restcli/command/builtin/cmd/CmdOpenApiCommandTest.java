@@ -27,14 +27,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.hipphampel.restcli.TestUtils;
 import de.hipphampel.restcli.command.CommandAddress;
+import de.hipphampel.restcli.command.CommandContext;
 import de.hipphampel.restcli.command.CommandTestBase;
 import de.hipphampel.restcli.command.builtin.cmd.CmdOpenApiCommand.ImportContext;
 import de.hipphampel.restcli.command.builtin.cmd.openapi.Spec;
 import de.hipphampel.restcli.command.builtin.cmd.openapi.Spec.OperationCoordinate;
 import de.hipphampel.restcli.command.config.BodyConfig;
+import de.hipphampel.restcli.command.config.CommandConfig;
+import de.hipphampel.restcli.command.config.CommandConfig.Type;
 import de.hipphampel.restcli.command.config.CommandConfigTree;
 import de.hipphampel.restcli.command.config.ParameterConfig;
 import de.hipphampel.restcli.command.config.ParameterConfig.Style;
+import de.hipphampel.restcli.command.config.PartConfig;
+import de.hipphampel.restcli.io.InputStreamProviderConfig;
 import de.hipphampel.restcli.utils.Pair;
 import io.quarkus.test.junit.QuarkusTest;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -42,18 +47,29 @@ import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.PathItem.HttpMethod;
 import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.BinarySchema;
 import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import jakarta.inject.Inject;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -109,7 +125,8 @@ class CmdOpenApiCommandTest extends CommandTestBase {
                                             [-g|--group-by-tag] [-t|--tag
                                             <tag>]... [-o|--operation
                                             <operation>]... [-r|--replace
-                                            [-f|--force]] <address> [<spec>]
+                                            [-f|--force]] [-s|--sync] <address>
+                                            [<spec>]
                 """,
             null,
             null),
@@ -217,6 +234,96 @@ class CmdOpenApiCommandTest extends CommandTestBase {
     );
   }
 
+  @Test
+  void execute_sync() throws IOException {
+    String spec = TestUtils.getResourceContent("/testdata/openapi/api.yml");
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of("--sync", "foo", spec))).isTrue();
+    Path opAPath = commandConfigRepository.getPath(rootDir, CommandAddress.fromString("foo/opA")).orElseThrow();
+    FileTime lastModified = FileTime.from(Instant.now().minusSeconds(3600));
+    Files.setLastModifiedTime(opAPath, lastModified);
+    storeCommand(CommandAddress.fromString("foo/custom"), new CommandConfig().setType(Type.Parent));
+
+    String changedSpec = spec
+        .replace("Do operation B", "Do operation C")
+        .replace("operationId: opB", "operationId: opC");
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of("--sync", "foo", changedSpec))).isTrue();
+
+    assertOutput("", "");
+    assertThat(Files.getLastModifiedTime(opAPath)).isEqualTo(lastModified);
+    assertThat(commandRepository.getCommandInfo(rootDir, CommandAddress.fromString("foo/opB"))).isEmpty();
+    assertThat(commandRepository.getCommandInfo(rootDir, CommandAddress.fromString("foo/custom"))).isPresent();
+    assertThat(commandConfigRepository.load(rootDir, CommandAddress.fromString("foo/opC")).getSynopsis()).isEqualTo("Do operation C.");
+    assertThat(commandConfigRepository.getDescriptorDir(rootDir, CommandAddress.fromString("foo"))
+        .resolve(CmdOpenApiCommand.SYNC_MANIFEST)).exists();
+  }
+
+  @Test
+  void execute_syncWithNarrowerFilter() throws IOException {
+    String spec = TestUtils.getResourceContent("/testdata/openapi/api.yml");
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of("--sync", "foo", spec))).isTrue();
+
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of("--sync", "-o", "opA", "foo", spec))).isTrue();
+    assertThat(commandRepository.getCommandInfo(rootDir, CommandAddress.fromString("foo/opB"))).isPresent();
+
+    String changedSpec = spec.replace("operationId: opB", "operationId: opC");
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of("--sync", "foo", changedSpec))).isTrue();
+    assertThat(commandRepository.getCommandInfo(rootDir, CommandAddress.fromString("foo/opB"))).isEmpty();
+    assertThat(commandRepository.getCommandInfo(rootDir, CommandAddress.fromString("foo/opC"))).isPresent();
+  }
+
+  @Test
+  void execute_syncWithoutManifest() throws IOException {
+    String spec = TestUtils.getResourceContent("/testdata/openapi/api.yml");
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of("--sync", "foo", spec))).isTrue();
+    Files.delete(commandConfigRepository.getDescriptorDir(rootDir, CommandAddress.fromString("foo"))
+        .resolve(CmdOpenApiCommand.SYNC_MANIFEST));
+    storeCommand(CommandAddress.fromString("foo/custom"), new CommandConfig().setType(Type.Parent));
+
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of("--sync", "foo", spec))).isFalse();
+    assertOutput("", """
+        *** error test-app: Command "foo" already exists - use
+                            --replace option to enforce replacement.
+        """);
+    assertThat(commandRepository.getCommandInfo(rootDir, CommandAddress.fromString("foo/custom"))).isPresent();
+
+    assertThat(commandInvoker.invokeCommand(context, command.address(), List.of("--sync", "--replace", "--force", "foo", spec))).isTrue();
+    assertThat(commandRepository.getCommandInfo(rootDir, CommandAddress.fromString("foo/custom"))).isEmpty();
+    assertThat(commandConfigRepository.getDescriptorDir(rootDir, CommandAddress.fromString("foo"))
+        .resolve(CmdOpenApiCommand.SYNC_MANIFEST)).exists();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "true",
+      "false"
+  })
+  void readOpenAPISpec_redirectedUrl(boolean withConfigPath) throws IOException {
+    String spec = TestUtils.getResourceContent("/testdata/openapi/api.yml");
+    MockWebServer server = new MockWebServer();
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        if ("/old.yml".equals(request.getPath())) {
+          return new MockResponse().setResponseCode(302).setHeader("Location", "/api.yml");
+        }
+        return new MockResponse().setResponseCode(200).setBody(spec);
+      }
+    });
+    server.start();
+    try {
+      // A context created from scratch has no config path, so there is no place for a cache
+      CommandContext readContext = withConfigPath ? context
+          : new CommandContext(context.commandInvoker(), context.templateRenderer(), context.apiFactory());
+
+      Spec result = command.readOpenAPISpec(readContext, InputStreamProviderConfig.fromString("url:" + server.url("/old.yml")));
+
+      assertThat(result.allOperationCoordinates()).isNotEmpty();
+      assertThat(server.getRequestCount()).isEqualTo(2);
+    } finally {
+      server.shutdown();
+    }
+  }
+
   @Test
   void showHelp() {
     command.showHelp(context, context.out());
@@ -230,7 +337,7 @@ class CmdOpenApiCommandTest extends CommandTestBase {
                       [-d|--include-deprecated-operations]
                       [-g|--group-by-tag] [-t|--tag <tag>]...
                       [-o|--operation <operation>]... [-r|--replace
-                      [-f|--force]] <address> [<spec>]
+                      [-f|--force]] [-s|--sync] <address> [<spec>]
 
             Description
               Reads an OpenAPI specification and creates according
@@ -254,6 +361,11 @@ class CmdOpenApiCommandTest extends CommandTestBase {
                   from. If reading from a file, prefix the file name
                   with an `@` sign: this is specified as an input source
                   (see section "Further Infos").
+                  If the source is a `url:` with an `http` or `https`
+                  URL, the specification is cached in the configuration
+                  directory. Subsequent imports of the same URL just
+                  revalidate the cached copy via a conditional request
+                  and skip parsing, if it is unchanged.
               -a | --accept-option <option-name>
                   If specified, each generated HTTP command supporting
                   more than one media type for its responses will have
@@ -314,6 +426,17 @@ class CmdOpenApiCommandTest extends CommandTestBase {
                       to replace has sub-commands. Note that when
                       replacing a group command, all its sub commands
                       are implicitly removed.
+              -s | --sync
+                  Synchronizes an already imported command with the
+                  OpenAPI specification: only those commands are written
+                  that were added or changed since the last import, and
+                  commands for operations no longer present in the
+                  specification are removed. Unchanged commands -
+                  including their templates - as well as commands not
+                  created by the import are left untouched. If the
+                  existing command was not imported by this command
+                  before, the options `--replace` and `--force` are
+                  required as for a normal import.
               -t | --tag <tag>
                   If specified, import only those commands belonging to
                   the specified `<tag>`. You may specify this option
@@ -424,6 +547,22 @@ class CmdOpenApiCommandTest extends CommandTestBase {
         new BodyConfig(null, "_body"));
   }
 
+  @Test
+  void createBody_multipart() {
+    Spec spec = openApiSpec(Map.of(
+        "/path", openApiPathItem(Map.of(
+            HttpMethod.POST, openApiOperation("op",
+                null,
+                openApiMultipartRequestBody(),
+                null)))
+    ));
+
+    assertThat(CmdOpenApiCommand.createBody(spec, new OperationCoordinate("/path", HttpMethod.POST))).isEqualTo(
+        new BodyConfig(null, null, List.of(
+            new PartConfig("fileName", null, "file_name", null, null),
+            new PartConfig("content", null, "content", null, null))));
+  }
+
   @Test
   void createBody_noBody() {
     Spec spec = openApiSpec(Map.of(
@@ -474,6 +613,18 @@ class CmdOpenApiCommandTest extends CommandTestBase {
     assertThat(CmdOpenApiCommand.createBodyParameterPair(spec, new OperationCoordinate("/path", HttpMethod.POST))).isPresent();
   }
 
+  @Test
+  void createBodyParameterPairs_multipart() {
+    Spec spec = openApiSpec(Map.of("/path", openApiPathItem(Map.of(
+        HttpMethod.POST, openApiOperation("foo", null, openApiMultipartRequestBody(), null)))));
+
+    assertThat(CmdOpenApiCommand.createBodyParameterPairs(spec, new OperationCoordinate("/path", HttpMethod.POST)).stream()
+        .map(Pair::second)
+        .toList()).containsExactly(
+        new ParameterConfig(Style.SingleOption, "<file-name>", "file_name", List.of("--file-name")),
+        new ParameterConfig(Style.RequiredPositional, "<content>", "content", null));
+  }
+
   @Test
   void createBodyParameterPair_noBody() {
     Spec spec = openApiSpec(Map.of("/path", openApiPathItem(Map.of(
@@ -724,6 +875,18 @@ class CmdOpenApiCommandTest extends CommandTestBase {
     return requestBody;
   }
 
+  static RequestBody openApiMultipartRequestBody() {
+    Schema<Object> schema = new ObjectSchema();
+    schema.addProperty("fileName", new StringSchema().description("The file name"));
+    schema.addProperty("content", new BinarySchema());
+    schema.setRequired(List.of("content"));
+    Content content = new Content();
+    content.addMediaType("multipart/form-data", new MediaType().schema(schema));
+    RequestBody requestBody = new RequestBody();
+    requestBody.setContent(content);
+    return requestBody;
+  }
+
   static Parameter openApiParameter(String name, String in, boolean required, String documentation) {
     Parameter parameter = new Parameter();
     parameter.setName(name);
@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.builtin.cmd;
+
+import de.hipphampel.restcli.command.CommandAddress;
+import de.hipphampel.restcli.command.CommandTestBase;
+import de.hipphampel.restcli.command.config.CommandConfig;
+import de.hipphampel.restcli.command.config.CommandConfig.Type;
+import de.hipphampel.restcli.command.config.RestCommandConfig;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@QuarkusTest
+class CmdSearchCommandTest extends CommandTestBase {
+
+  @Inject
+  CmdSearchCommand command;
+
+  @BeforeEach
+  protected void beforeEach(@TempDir Path rootDir) throws IOException {
+    super.beforeEach(rootDir);
+    storeCommand(CommandAddress.fromString("pet"), new CommandConfig()
+        .setType(Type.Parent)
+        .setSynopsis("Everything about your pets"));
+    storeCommand(CommandAddress.fromString("pet/findPetsByStatus"), new CommandConfig()
+        .setType(Type.Http)
+        .setSynopsis("Finds pets by status")
+        .setRestConfig(new RestCommandConfig().setMethod("GET").setBaseUri("${baseUri}/pet/findByStatus")));
+    storeCommand(CommandAddress.fromString("pet/addPet"), new CommandConfig()
+        .setType(Type.Http)
+        .setSynopsis("Add a new pet to the store")
+        .setRestConfig(new RestCommandConfig().setMethod("POST").setBaseUri("${baseUri}/pet")));
+    storeCommand(CommandAddress.fromString("store"), new CommandConfig()
+        .setType(Type.Alias)
+        .setAliasConfig(List.of("pet", "addPet")));
+  }
+
+  @ParameterizedTest
+  @MethodSource("execute_data")
+  void execute(List<String> args, boolean expectedResult, String expectedOut, String expectedErr) {
+    assertExecution(command, args, expectedResult, expectedOut, expectedErr);
+  }
+
+  static Stream<Arguments> execute_data() {
+    return Stream.of(
+        // No match
+        Arguments.of(
+            List.of("unknown"),
+            true,
+            "",
+            ""),
+        // Ranked
+        Arguments.of(
+            List.of("pet"),
+            true,
+            """
+                pet - Everything about your pets
+                pet/addPet - Add a new pet to the store
+                pet/findPetsByStatus - Finds pets by status
+                """,
+            ""),
+        // Multiple terms
+        Arguments.of(
+            List.of("pets", "get"),
+            true,
+            """
+                pet/findPetsByStatus - Finds pets by status
+                """,
+            ""),
+        // Prefix and limit
+        Arguments.of(
+            List.of("--limit", "1", "sto"),
+            true,
+            """
+                store
+                """,
+            "")
+    );
+  }
+
+  @Test
+  void execute_maintainsIndex() {
+    assertExecution(command, List.of("status"), true, """
+        pet/findPetsByStatus - Finds pets by status
+        """, "");
+
+    commandConfigRepository.move(rootDir, CommandAddress.fromString("pet"), CommandAddress.fromString("animal"));
+    commandConfigRepository.delete(rootDir, CommandAddress.fromString("animal/addPet"), false);
+    out.getBuffer().setLength(0);
+
+    assertExecution(command, List.of("pet"), true, """
+        animal/findPetsByStatus - Finds pets by status
+        animal - Everything about your pets
+        """, "");
+  }
+
+  @Test
+  void execute_rebuild() {
+    assertExecution(command, List.of("-r", "post"), true, """
+        pet/addPet - Add a new pet to the store
+        """, "");
+  }
+}
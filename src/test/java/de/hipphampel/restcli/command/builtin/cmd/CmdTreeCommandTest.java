@@ -101,7 +101,9 @@ class CmdTreeCommandTest extends CommandTestBase {
                         mv
                         openapi
                         rm
+                        search
                         tree
+                    completion
                     env
                         cp
                         exp
@@ -114,6 +116,7 @@ class CmdTreeCommandTest extends CommandTestBase {
                         rm
                     help
                     http
+                    shell
                     template
                         cp
                         exp
@@ -151,7 +154,9 @@ class CmdTreeCommandTest extends CommandTestBase {
                 │   ├── cmd/mv (builtin)
                 │   ├── cmd/openapi (builtin)
                 │   ├── cmd/rm (builtin)
+                │   ├── cmd/search (builtin)
                 │   └── cmd/tree (builtin)
+                ├── completion (builtin)
                 ├── env (builtin, parent)
                 │   ├── env/cp (builtin)
                 │   ├── env/exp (builtin)
@@ -164,6 +169,7 @@ class CmdTreeCommandTest extends CommandTestBase {
                 │   └── env/rm (builtin)
                 ├── help (builtin)
                 ├── http (builtin)
+                ├── shell (builtin)
                 └── template (builtin, parent)
                     ├── template/cp (builtin)
                     ├── template/exp (builtin)
@@ -201,6 +207,25 @@ class CmdTreeCommandTest extends CommandTestBase {
                     new
                     rm
                 """,
+            ""),
+        // Limited depth
+        Arguments.of(
+            List.of("--max-depth", "1", "-d"),
+            true,
+            """
+                test-app (builtin, parent)
+                    a-http (custom, http): GET https://example.com
+                    a-parent (custom, parent)
+                    an-alias (custom, alias): the alias
+                    cfg (builtin, parent)
+                    cmd (builtin, parent)
+                    completion (builtin)
+                    env (builtin, parent)
+                    help (builtin)
+                    http (builtin)
+                    shell (builtin)
+                    template (builtin, parent)
+                """,
             "")
     );
   }
@@ -213,7 +238,7 @@ class CmdTreeCommandTest extends CommandTestBase {
 
             Usage
               tree [-d|--details] [-b|--beautify] [-a|--address]
-                   [<address>]
+                   [-m|--max-depth <depth>] [<address>]
 
             Description
               Displays the available commands in a tree. Depending on
@@ -240,6 +265,10 @@ class CmdTreeCommandTest extends CommandTestBase {
                   If specified, additional information about the
                   commands are shown, without this option just the name
                   or address.
+              -m | --max-depth <depth>
+                  If specified, only commands up to the given depth
+                  below the root of the tree are shown. A `depth` of `1`
+                  shows only the direct children of the root.
 
             Further infos
               Command addresses:
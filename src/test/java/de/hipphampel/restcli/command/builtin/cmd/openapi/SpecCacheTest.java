@@ -0,0 +1,213 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.builtin.cmd.openapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.TestUtils;
+import de.hipphampel.restcli.command.builtin.cmd.openapi.Spec.OperationCoordinate;
+import de.hipphampel.restcli.exception.ExecutionException;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.converter.SwaggerConverter;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import java.io.IOException;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpecCacheTest {
+
+  static final String SWAGGER_SPEC = """
+      swagger: "2.0"
+      info:
+        title: Test
+        version: "1.0"
+      paths:
+        /pets/{id}:
+          get:
+            operationId: getPet
+            parameters:
+              - name: id
+                in: path
+                required: true
+                type: string
+            responses:
+              200:
+                description: ok
+      """;
+
+  MockWebServer server;
+  HttpClient client;
+  SpecCache cache;
+  String content;
+  String etag;
+  List<RecordedRequest> requests;
+  AtomicInteger parseCount;
+  Function<String, SwaggerParseResult> parser;
+
+  @BeforeEach
+  void beforeEach(@TempDir Path rootDir) throws IOException {
+    content = TestUtils.getResourceContent("/testdata/openapi/api.yml");
+    etag = "\"v1\"";
+    requests = new ArrayList<>();
+    parseCount = new AtomicInteger();
+    parser = str -> {
+      parseCount.incrementAndGet();
+      ParseOptions options = new ParseOptions();
+      options.setResolve(true);
+      SwaggerParseResult result = new OpenAPIV3Parser().readContents(str, List.of(), options);
+      return result.getOpenAPI() != null ? result : new SwaggerConverter().readContents(str, List.of(), options);
+    };
+    server = new MockWebServer();
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        requests.add(request);
+        if (etag != null && etag.equals(request.getHeader("If-None-Match"))) {
+          return new MockResponse().setResponseCode(304);
+        }
+        MockResponse response = new MockResponse().setResponseCode(200).setBody(content);
+        return etag == null ? response : response.setHeader("ETag", etag);
+      }
+    });
+    server.start();
+    client = HttpClient.newHttpClient();
+    cache = new SpecCache(new ObjectMapper(), rootDir, Duration.ofMillis(500));
+  }
+
+  @AfterEach
+  void afterEach() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void fetch_notModified() {
+    SwaggerParseResult first = cache.fetch(client, uri(), parser);
+    SwaggerParseResult second = cache.fetch(client, uri(), parser);
+
+    assertThat(parseCount.get()).isEqualTo(1);
+    assertThat(requests).hasSize(2);
+    assertThat(requests.get(0).getHeader("If-None-Match")).isNull();
+    assertThat(requests.get(1).getHeader("If-None-Match")).isEqualTo("\"v1\"");
+    assertThat(new Spec(second.getOpenAPI()).allOperationCoordinates())
+        .containsExactlyInAnyOrderElementsOf(new Spec(first.getOpenAPI()).allOperationCoordinates());
+  }
+
+  @Test
+  void fetch_modified() {
+    cache.fetch(client, uri(), parser);
+    content = content.replace("Do operation B", "Do operation C");
+    etag = "\"v2\"";
+
+    SwaggerParseResult result = cache.fetch(client, uri(), parser);
+
+    assertThat(parseCount.get()).isEqualTo(2);
+    assertThat(result.getOpenAPI().getPaths().toString()).contains("Do operation C");
+    assertThat(cache.fetch(client, uri(), parser).getOpenAPI().getPaths().toString()).contains("Do operation C");
+    assertThat(parseCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  void fetch_withoutValidatorsSameContent() {
+    etag = null;
+    cache.fetch(client, uri(), parser);
+    cache.fetch(client, uri(), parser);
+
+    assertThat(parseCount.get()).isEqualTo(1);
+    assertThat(requests.get(1).getHeader("If-None-Match")).isNull();
+  }
+
+  @Test
+  void fetch_convertedSwagger() {
+    content = SWAGGER_SPEC;
+    cache.fetch(client, uri(), parser);
+    SwaggerParseResult result = cache.fetch(client, uri(), parser);
+
+    assertThat(parseCount.get()).isEqualTo(1);
+    Spec spec = new Spec(result.getOpenAPI());
+    OperationCoordinate coordinate = new OperationCoordinate("/pets/{id}", HttpMethod.GET);
+    assertThat(spec.allOperationCoordinates()).containsExactly(coordinate);
+    assertThat(spec.parametersOf(coordinate)).hasSize(1);
+  }
+
+  @Test
+  void fetch_failure() {
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setResponseCode(404);
+      }
+    });
+
+    assertThatThrownBy(() -> cache.fetch(client, uri(), parser))
+        .isInstanceOf(ExecutionException.class)
+        .hasMessage("Failed to fetch \"%s\": status 404.".formatted(uri()));
+  }
+
+  @Test
+  void fetch_timeout() {
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setBody(content).setHeadersDelay(2, TimeUnit.SECONDS);
+      }
+    });
+
+    assertThatThrownBy(() -> cache.fetch(client, uri(), parser))
+        .isInstanceOf(ExecutionException.class)
+        .hasMessageStartingWith("Failed to fetch \"%s\":".formatted(uri()));
+  }
+
+  @Test
+  void newHttpClient() {
+    HttpClient client = SpecCache.newHttpClient(HttpClient.newBuilder().proxy(ProxySelector.getDefault()).build(), Duration.ofSeconds(3));
+
+    assertThat(client.followRedirects()).isEqualTo(Redirect.NORMAL);
+    assertThat(client.connectTimeout()).contains(Duration.ofSeconds(3));
+    assertThat(client.proxy()).contains(ProxySelector.getDefault());
+  }
+
+  URI uri() {
+    return server.url("/api.yml").uri();
+  }
+}
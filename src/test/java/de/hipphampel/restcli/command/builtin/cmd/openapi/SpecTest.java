@@ -29,6 +29,7 @@ import de.hipphampel.restcli.command.builtin.cmd.openapi.Spec.OperationCoordinat
 import de.hipphampel.restcli.utils.Pair;
 import io.swagger.v3.oas.models.PathItem.HttpMethod;
 import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.parser.OpenAPIV3Parser;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
@@ -571,11 +572,104 @@ class SpecTest {
         .isEqualTo("None");
   }
 
+  @Test
+  void lazyReferences() {
+    Spec spec = readOpenAPISpec("""
+        openapi: 3.0.2
+        info:
+          title: Test
+          version: 1.0
+        paths:
+          /path1/{id}:
+            put:
+              operationId: putForPath1
+              parameters:
+                - $ref: '#/components/parameters/Alias'
+              requestBody:
+                $ref: '#/components/requestBodies/Node'
+              responses:
+                default:
+                  $ref: '#/components/responses/Node'
+        components:
+          parameters:
+            Id:
+              name: id
+              in: path
+              required: true
+              schema:
+                $ref: '#/components/schemas/Id'
+            Alias:
+              $ref: '#/components/parameters/Id'
+          requestBodies:
+            Node:
+              description: The node
+              required: true
+              content:
+                application/xml:
+                  schema:
+                    $ref: '#/components/schemas/Node'
+          responses:
+            Node:
+              description: The node
+              content:
+                application/json:
+                  schema:
+                    $ref: '#/components/schemas/Node'
+          schemas:
+            Id:
+              type: string
+              description: The id
+            Node:
+              type: object
+              properties:
+                children:
+                  type: array
+                  items:
+                    $ref: '#/components/schemas/Node'
+        """);
+    OperationCoordinate coordinate = new OperationCoordinate("/path1/{id}", HttpMethod.PUT);
+
+    List<Parameter> parameters = spec.parametersOf(coordinate);
+    assertThat(parameters.stream().map(p -> new Pair<>(p.getName(), p.getRequired())))
+        .containsExactly(new Pair<>("id", true));
+    assertThat(spec.descriptionOfParameter(parameters.get(0), "None")).isEqualTo("The id");
+    assertThat(spec.requestBodyOf(coordinate).map(RequestBody::getDescription)).contains("The node");
+    assertThat(spec.requestBodyMediaTypesOf(coordinate)).containsExactly("application/xml");
+    assertThat(spec.responseMediaTypesOf(coordinate)).containsExactly("application/json");
+  }
+
+  @Test
+  void lazyReferences_cyclic() {
+    Spec spec = readOpenAPISpec("""
+        openapi: 3.0.2
+        info:
+          title: Test
+          version: 1.0
+        paths:
+          /path1:
+            get:
+              operationId: getForPath1
+              parameters:
+                - $ref: '#/components/parameters/A'
+              responses:
+                default:
+                  description: foo
+        components:
+          parameters:
+            A:
+              $ref: '#/components/parameters/B'
+            B:
+              $ref: '#/components/parameters/A'
+        """);
+
+    assertThat(spec.parametersOf(new OperationCoordinate("/path1", HttpMethod.GET)))
+        .extracting(Parameter::get$ref)
+        .containsExactly("#/components/parameters/A");
+  }
+
   static Spec readOpenAPISpec(String content) {
     ParseOptions resolve = new ParseOptions();
     resolve.setResolve(true);
-    resolve.setFlatten(true);
-    resolve.setResolveFully(true);
     SwaggerParseResult result = new OpenAPIV3Parser().readContents(content, List.of(), resolve);
 //    System.err.println(result.getMessages());
     return new Spec(result.getOpenAPI());
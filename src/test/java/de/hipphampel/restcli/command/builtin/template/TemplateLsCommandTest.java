@@ -87,6 +87,8 @@ class TemplateLsCommandTest extends CommandTestBase {
                 def
                 default
                 mno
+                ndjson
+                sse
                 """,
             ""),
         // FAIL: Command not found
@@ -110,6 +112,8 @@ class TemplateLsCommandTest extends CommandTestBase {
                 │default│<global>      │builtin│
                 │ghi    │abc           │custom │
                 │mno    │<global>      │custom │
+                │ndjson │<global>      │builtin│
+                │sse    │<global>      │builtin│
                 └───────┴──────────────┴───────┘
                 """,
             ""),
@@ -35,6 +35,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -104,6 +105,15 @@ class CommandConfigRepositoryTest {
 
   }
 
+  @Test
+  void getSummary() throws IOException {
+    createSampleConfig(rootDir.resolve("commands/abc/command.json"), SAMPLE_STR1);
+
+    assertThat(repository.getSummary(rootDir, CommandAddress.fromString("abc"))).contains(new CommandSummary(Type.Parent, "synopsis1"));
+    assertThat(repository.getSummary(rootDir, CommandAddress.fromString("not/found"))).isEmpty();
+    assertThat(repository.getSummary(null, CommandAddress.fromString("abc"))).isEmpty();
+  }
+
   @Test
   void getChildren_notFound() throws IOException {
     createSampleConfig(rootDir.resolve("def/foo.json"), SAMPLE_STR1);
@@ -195,6 +205,49 @@ class CommandConfigRepositoryTest {
     assertThat(repository.load(rootDir, address.child("bar"))).isEqualTo(config2);
   }
 
+  @Test
+  void store_tree_replacesExisting() throws IOException {
+    createSampleConfig(rootDir.resolve("commands/abc/command.json"), SAMPLE_STR1);
+    createSampleConfig(rootDir.resolve("commands/abc/old/command.json"), SAMPLE_STR2);
+    CommandAddress address = CommandAddress.fromString("abc");
+    CommandConfig config1 = new CommandConfig();
+    config1.setSynopsis("foo");
+    config1.setType(Type.Parent);
+    CommandConfig config2 = new CommandConfig();
+    config2.setSynopsis("bar");
+    config2.setType(Type.Parent);
+    CommandConfigTree subTree = new CommandConfigTree();
+    subTree.setConfig(config2);
+    CommandConfigTree tree = new CommandConfigTree();
+    tree.setConfig(config1);
+    tree.setSubCommands(Map.of("new", subTree));
+
+    repository.store(rootDir, address, tree);
+
+    assertThat(repository.load(rootDir, address)).isEqualTo(config1);
+    assertThat(repository.load(rootDir, address.child("new"))).isEqualTo(config2);
+    assertThat(repository.getChildren(rootDir, address)).containsExactly(address.child("new"));
+    try (Stream<Path> files = Files.list(rootDir.resolve("commands"))) {
+      assertThat(files.map(file -> file.getFileName().toString())).containsExactly("abc");
+    }
+  }
+
+  @Test
+  void getIndex_recoversBackups() throws IOException {
+    Path backups = rootDir.resolve("commands").resolve(CommandConfigRepository.BACKUP_DIR);
+    // Interrupted after the target was moved away
+    createSampleConfig(backups.resolve("1/command.json"), SAMPLE_STR1);
+    Files.writeString(backups.resolve("1.target"), "abc");
+    // Interrupted after the new target was moved in
+    createSampleConfig(backups.resolve("2/command.json"), SAMPLE_STR2);
+    Files.writeString(backups.resolve("2.target"), "def");
+    createSampleConfig(rootDir.resolve("commands/def/command.json"), SAMPLE_STR3);
+
+    assertThat(repository.getSummary(rootDir, CommandAddress.fromString("abc")).map(CommandSummary::synopsis)).contains("synopsis1");
+    assertThat(repository.getSummary(rootDir, CommandAddress.fromString("def")).map(CommandSummary::synopsis)).contains("synopsis3");
+    assertThat(backups).doesNotExist();
+  }
+
   @Test
   void delete_fail_hasChildren() throws IOException {
     createSampleConfig(rootDir.resolve("commands/abc/command.json"), SAMPLE_STR1);
@@ -250,6 +303,24 @@ class CommandConfigRepositoryTest {
     assertThat(repository.getValidatedPath(rootDir, newAddress.child("def"))).isPresent();
   }
 
+  @Test
+  void move_ok_replace() throws IOException {
+    createSampleConfig(rootDir.resolve("commands/abc/command.json"), SAMPLE_STR1);
+    createSampleConfig(rootDir.resolve("commands/def/command.json"), SAMPLE_STR2);
+    createSampleConfig(rootDir.resolve("commands/def/ghi/command.json"), SAMPLE_STR2);
+    CommandAddress address = CommandAddress.fromString("abc");
+    CommandAddress newAddress = CommandAddress.fromString("def");
+
+    repository.move(rootDir, address, newAddress, true);
+
+    assertThat(repository.getValidatedPath(rootDir, address)).isEmpty();
+    assertThat(Files.readString(repository.getPath(rootDir, newAddress).orElseThrow())).isEqualTo(SAMPLE_STR1);
+    assertThat(repository.getChildren(rootDir, newAddress)).isEmpty();
+    try (Stream<Path> files = Files.list(rootDir.resolve("commands"))) {
+      assertThat(files.map(file -> file.getFileName().toString())).containsExactly("def");
+    }
+  }
+
   @Test
   void move_fail_target_exists() throws IOException {
     createSampleConfig(rootDir.resolve("commands/abc/command.json"), SAMPLE_STR1);
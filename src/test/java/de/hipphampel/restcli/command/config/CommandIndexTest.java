@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.command.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.hipphampel.restcli.command.CommandAddress;
+import de.hipphampel.restcli.command.config.CommandConfig.Type;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CommandIndexTest {
+
+  ObjectMapper objectMapper = new ObjectMapper();
+  Path rootDir;
+  Path commandDir;
+  CommandIndex index;
+
+  @BeforeEach
+  void beforeEach(@TempDir Path rootDir) throws IOException {
+    this.rootDir = rootDir;
+    this.commandDir = Files.createDirectories(rootDir.resolve("commands"));
+    this.index = new CommandIndex(objectMapper, rootDir, commandDir, "command.json");
+  }
+
+  @Test
+  void getSummary() throws IOException {
+    sampleConfig("foo", Type.Parent, "The foo");
+    sampleConfig("foo/bar", Type.Http, "The bar");
+    Files.createDirectories(commandDir.resolve("broken"));
+    Files.writeString(commandDir.resolve("broken/command.json"), "not json");
+
+    assertThat(index.getSummary(CommandAddress.fromString("foo"))).contains(new CommandSummary(Type.Parent, "The foo"));
+    assertThat(index.getSummary(CommandAddress.fromString("foo/bar"))).contains(new CommandSummary(Type.Http, "The bar"));
+    assertThat(index.getSummary(CommandAddress.fromString("broken"))).isEmpty();
+    assertThat(index.getSummary(CommandAddress.fromString("notFound"))).isEmpty();
+    assertThat(index.getSummary(CommandAddress.ROOT)).isEmpty();
+  }
+
+  @Test
+  void getSummary_detectsChanges() throws IOException {
+    sampleConfig("foo", Type.Parent, "The foo");
+    assertThat(index.getSummary(CommandAddress.fromString("foo"))).contains(new CommandSummary(Type.Parent, "The foo"));
+
+    sampleConfig("foo", Type.Http, "The changed foo");
+    assertThat(index.getSummary(CommandAddress.fromString("foo"))).contains(new CommandSummary(Type.Http, "The changed foo"));
+  }
+
+  @Test
+  void getChildren() throws IOException {
+    sampleConfig("foo", Type.Parent, "The foo");
+    sampleConfig("foo/b", Type.Http, "The b");
+    sampleConfig("foo/a", Type.Http, "The a");
+    Files.createDirectories(commandDir.resolve("foo/noConfig"));
+
+    assertThat(index.getChildren(CommandAddress.ROOT)).containsExactly("foo");
+    assertThat(index.getChildren(CommandAddress.fromString("foo"))).containsExactly("a", "b");
+    assertThat(index.getChildren(CommandAddress.fromString("notFound"))).isEmpty();
+
+    sampleConfig("foo/c", Type.Http, "The c");
+    index.invalidate(CommandAddress.fromString("foo/c"));
+    assertThat(index.getChildren(CommandAddress.fromString("foo"))).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  void flush() throws IOException {
+    sampleConfig("foo", Type.Parent, "The foo");
+    sampleConfig("foo/bar", Type.Http, "The bar");
+    index.getChildren(CommandAddress.fromString("foo"));
+    index.getSummary(CommandAddress.fromString("foo/bar"));
+
+    index.flush();
+
+    assertThat(rootDir.resolve(CommandIndex.INDEX_FILE)).exists();
+    CommandIndex other = new CommandIndex(objectMapper, rootDir, commandDir, "command.json");
+    other.loadIfRequired();
+    assertThat(other.getNode(CommandAddress.fromString("foo"), true)).isEqualTo(index.getNode(CommandAddress.fromString("foo"), true));
+  }
+
+  void sampleConfig(String address, Type type, String synopsis) throws IOException {
+    Path dir = Files.createDirectories(commandDir.resolve(address));
+    Path path = dir.resolve("command.json");
+    objectMapper.writeValue(path.toFile(), new CommandConfig().setType(type).setSynopsis(synopsis));
+    // Make the files look old, so that only their timestamps and sizes are used to detect changes
+    Instant old = Instant.now().minusSeconds(60 + synopsis.length());
+    Files.setLastModifiedTime(path, FileTime.from(old));
+    for (Path current = dir; current.startsWith(commandDir); current = current.getParent()) {
+      Files.setLastModifiedTime(current, FileTime.from(old));
+    }
+  }
+}
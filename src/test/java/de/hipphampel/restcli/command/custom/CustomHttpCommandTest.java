@@ -39,6 +39,7 @@ import de.hipphampel.restcli.command.config.CommandConfig.Type;
 import de.hipphampel.restcli.command.config.ParameterConfig;
 import de.hipphampel.restcli.command.config.ParameterConfig.Style;
 import de.hipphampel.restcli.command.config.ParameterListConfig;
+import de.hipphampel.restcli.command.config.PartConfig;
 import de.hipphampel.restcli.command.config.RestCommandConfig;
 import de.hipphampel.restcli.io.InputStreamProvider;
 import de.hipphampel.restcli.io.InputStreamProviderConfig;
@@ -51,10 +52,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -171,6 +176,48 @@ class CustomHttpCommandTest extends HttpCommandTestBase {
     );
   }
 
+  @Test
+  void execute_multipart(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("data.txt");
+    Files.writeString(file, "file content");
+    CommandConfig config = initEmptyConfig();
+    config.getRestConfig()
+        .setMethod("post")
+        .setBaseUri("http://${baseUrl}")
+        .setBody(new BodyConfig(null, null, List.of(
+            new PartConfig("name", InputStreamProviderConfig.fromString("value"), null, null, null),
+            new PartConfig("file", null, "file", null, "text/plain"),
+            new PartConfig("missing", null, "missing", null, null))))
+        .setParameters(new ParameterListConfig(List.of(
+            new ParameterConfig(Style.RequiredPositional, "<file>", "file", null))));
+    Command command = factory.createCommand(CommandAddress.fromString("test"), config);
+    List<RecordedRequest> requests = new ArrayList<>();
+    dispatchFunction = request -> {
+      requests.add(request);
+      return new MockResponse().setResponseCode(200);
+    };
+
+    assertThat(invoker.runCommand(context, command, List.of("@" + file))).isTrue();
+    RecordedRequest request = requests.get(0);
+    String contentType = request.getHeader("Content-Type");
+    assertThat(contentType).startsWith("multipart/form-data; boundary=");
+    String boundary = contentType.substring(contentType.indexOf('=') + 1);
+    String expected = """
+        --%1$s\r
+        Content-Disposition: form-data; name="name"\r
+        \r
+        value\r
+        --%1$s\r
+        Content-Disposition: form-data; name="file"; filename="data.txt"\r
+        Content-Type: text/plain\r
+        \r
+        file content\r
+        --%1$s--\r
+        """.formatted(boundary);
+    assertThat(request.getBody().readString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    assertThat(request.getHeader("Content-Length")).isEqualTo(String.valueOf(expected.getBytes(StandardCharsets.UTF_8).length));
+  }
+
   @Test
   void help() {
     CommandConfig config = initEmptyConfig();
@@ -0,0 +1,158 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.env;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EnvironmentIndexTest {
+
+  ObjectMapper objectMapper = new ObjectMapper();
+  Path rootDir;
+  Path envDir;
+  EnvironmentIndex index;
+
+  @BeforeEach
+  void beforeEach(@TempDir Path rootDir) throws IOException {
+    this.rootDir = rootDir;
+    this.envDir = Files.createDirectories(rootDir.resolve(EnvironmentRepository.ENVIRONMENT_DIR));
+    this.index = new EnvironmentIndex(objectMapper, rootDir, envDir);
+  }
+
+  @Test
+  void getEntries() throws IOException {
+    EnvironmentConfig root = sampleConfig("root", null, "a");
+    sampleConfig("child", "root", "b");
+    Files.writeString(envDir.resolve("broken"), "not json");
+
+    Map<String, EnvironmentIndex.Entry> entries = index.getEntries();
+
+    assertThat(entries).containsOnlyKeys("broken", "child", "root");
+    assertThat(entries.get("root").parent()).isNull();
+    assertThat(entries.get("child").parent()).isEqualTo("root");
+    assertThat(entries.get("broken").isValid()).isFalse();
+    assertThat(index.getConfig("root")).contains(root);
+    assertThat(index.getConfig("broken")).isEmpty();
+    assertThat(rootDir.resolve(EnvironmentIndex.INDEX_FILE)).exists();
+  }
+
+  @Test
+  void getEntries_reusesPersistedIndex() throws IOException {
+    sampleConfig("root", null, "a");
+    sampleConfig("child", "root", "b");
+    index.getEntries();
+
+    CountingEnvironmentIndex other = new CountingEnvironmentIndex();
+    assertThat(other.getEntries()).isEqualTo(index.getEntries());
+    assertThat(other.parseCount).isZero();
+    assertThat(other.getConfig("child")).isEqualTo(index.getConfig("child"));
+    assertThat(other.parseCount).isOne();
+
+    Files.delete(envDir.resolve("child"));
+    assertThat(other.getEntries()).containsOnlyKeys("root");
+  }
+
+  @Test
+  void getConfig_detectsChanges() throws IOException {
+    sampleConfig("root", null, "a");
+    assertThat(index.getConfig("root").map(c -> c.variables().get("value"))).contains("a");
+
+    sampleConfig("root", "other", "bb");
+    assertThat(index.getConfig("root").map(c -> c.variables().get("value"))).contains("bb");
+
+    Files.delete(envDir.resolve("root"));
+    assertThat(index.getConfig("root")).isEmpty();
+  }
+
+  @Test
+  void mergedSnapshot() throws IOException {
+    sampleConfig("root", null, "a");
+    sampleConfig("parent", "root", "b");
+    sampleConfig("child", "parent", "c");
+    EnvironmentConfig merged = new EnvironmentConfig(null, Map.of("value", "merged"), Map.of(), null);
+
+    assertThat(index.getMergedSnapshot("parent", "child")).isEmpty();
+    index.putMergedSnapshot("parent", "child", merged);
+    assertThat(index.getMergedSnapshot("parent", "child")).contains(merged);
+
+    sampleConfig("root", null, "changed");
+    assertThat(index.getMergedSnapshot("parent", "child")).isEmpty();
+  }
+
+  @Test
+  void mergedSnapshot_notPersisted() throws IOException {
+    sampleConfig("root", null, "a");
+    sampleConfig("parent", "root", "b");
+    sampleConfig("child", "parent", "c");
+    index.putMergedSnapshot("parent", "child", new EnvironmentConfig("root", Map.of("value", "merged"), Map.of(), null));
+
+    assertThat(Files.readString(rootDir.resolve(EnvironmentIndex.INDEX_FILE))).doesNotContain("merged", "variables");
+    CountingEnvironmentIndex other = new CountingEnvironmentIndex();
+    assertThat(other.getMergedSnapshot("parent", "child")).isEmpty();
+    assertThat(other.parseCount).isZero();
+  }
+
+  @Test
+  void mergedSnapshot_loop() throws IOException {
+    sampleConfig("parent", "child", "b");
+    sampleConfig("child", "parent", "c");
+
+    index.putMergedSnapshot("parent", "child", EnvironmentConfig.EMPTY);
+    assertThat(index.getMergedSnapshot("parent", "child")).isEmpty();
+  }
+
+  EnvironmentConfig sampleConfig(String name, String parent, String value) throws IOException {
+    EnvironmentConfig config = new EnvironmentConfig(parent, Map.of("value", value), Map.of("h", List.of(value)), null);
+    Path path = envDir.resolve(name);
+    objectMapper.writeValue(path.toFile(), config);
+    // Make the file look old, so that only its timestamp and size are used to detect changes
+    Files.setLastModifiedTime(path, FileTime.from(Instant.now().minusSeconds(60 + value.length())));
+    return config;
+  }
+
+  class CountingEnvironmentIndex extends EnvironmentIndex {
+
+    int parseCount;
+
+    CountingEnvironmentIndex() {
+      super(objectMapper, rootDir, envDir);
+    }
+
+    @Override
+    EnvironmentConfig parse(byte[] content) {
+      parseCount++;
+      return super.parse(content);
+    }
+  }
+}
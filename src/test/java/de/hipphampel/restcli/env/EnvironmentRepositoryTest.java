@@ -434,6 +434,29 @@ class EnvironmentRepositoryTest {
     assertThat(repository.getConfig(baseDir, "notFound")).isEmpty();
   }
 
+  @Test
+  void getEnvironmentGraph() throws IOException {
+    sampleConfig("root", null, Map.of("a", "b"), Map.of());
+    sampleConfig("parent", "root", Map.of("e", "f"), Map.of());
+    sampleConfig("config", "parent", Map.of("i", "j"), Map.of());
+
+    Map<String, String> graph = repository.getEnvironmentGraph(baseDir);
+    assertThat(graph).containsOnlyKeys("root", "parent", "config");
+    assertThat(graph).containsEntry("root", null);
+    assertThat(graph).containsEntry("parent", "root");
+    assertThat(graph).containsEntry("config", "parent");
+  }
+
+  @Test
+  void getEnvironment_mergedSnapshotFollowsParentChanges() throws IOException {
+    sampleConfig("root", null, Map.of("a", "b"), Map.of());
+    sampleConfig("config", "root", Map.of("c", "d"), Map.of());
+    assertThat(repository.getEnvironment(baseDir, "config").orElseThrow().getVariables()).isEqualTo(Map.of("a", "b", "c", "d"));
+
+    repository.storeConfig(baseDir, "root", new EnvironmentConfig(null, Map.of("a", "x"), Map.of(), null));
+    assertThat(repository.getEnvironment(baseDir, "config").orElseThrow().getVariables()).isEqualTo(Map.of("a", "x", "c", "d"));
+  }
+
   @Test
   void getPath() {
     assertThat(repository.getPath(baseDir, "someName")).isEqualTo(envDir.resolve("someName"));
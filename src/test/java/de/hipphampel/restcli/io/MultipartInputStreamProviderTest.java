@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.io;
+
+import static de.hipphampel.restcli.TestUtils.assertInputStreamProvider;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hipphampel.restcli.io.MultipartInputStreamProvider.Part;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MultipartInputStreamProviderTest {
+
+  @Test
+  void open() {
+    MultipartInputStreamProvider provider = new MultipartInputStreamProvider("xyz", List.of(
+        new Part("name", null, null, InputStreamProvider.ofString("value")),
+        new Part("file", "some\"file.txt", null, InputStreamProvider.ofString("äöü")),
+        new Part("json", null, "application/json", InputStreamProvider.ofString("{}"))));
+
+    assertInputStreamProvider(provider, """
+        --xyz\r
+        Content-Disposition: form-data; name="name"\r
+        \r
+        value\r
+        --xyz\r
+        Content-Disposition: form-data; name="file"; filename="some%22file.txt"\r
+        Content-Type: application/octet-stream\r
+        \r
+        äöü\r
+        --xyz\r
+        Content-Disposition: form-data; name="json"\r
+        Content-Type: application/json\r
+        \r
+        {}\r
+        --xyz--\r
+        """);
+  }
+
+  @Test
+  void open_noParts() {
+    MultipartInputStreamProvider provider = new MultipartInputStreamProvider("xyz", List.of());
+
+    assertInputStreamProvider(provider, "--xyz--\r\n");
+  }
+
+  @Test
+  void newBoundary() {
+    assertThat(MultipartInputStreamProvider.newBoundary())
+        .matches("restcli-[0-9a-f]{32}")
+        .isNotEqualTo(MultipartInputStreamProvider.newBoundary());
+  }
+}
@@ -87,6 +87,14 @@ class BodyAndHeadersTest {
     assertThat(underTest.getJsonBody()).isEqualTo(Map.of("Some", "content"));
   }
 
+  @Test
+  void getJsonBody_memoized() throws IOException {
+    body = InputStreamProvider.ofString("{\"Some\":\"content\"}");
+    Object first = underTest.getJsonBody();
+    body = InputStreamProvider.ofString("{\"Other\":\"content\"}");
+    assertThat(underTest.getJsonBody()).isSameAs(first);
+  }
+
   @Test
   void getXmlBody() throws IOException {
     body = InputStreamProvider.ofString("<Some>content</Some>");
@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class FileDownloadTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "'bytes 100-199/200', 100",
+      "'bytes 0-0/*',       0",
+      "'bytes */200',       ",
+      "'items 1-2/3',       ",
+      ",                    ",
+  })
+  void contentRangeStartOf(String contentRange, Long expected) {
+    HttpHeaders headers = HttpHeaders.of(contentRange == null ? Map.of() : Map.of("Content-Range", List.of(contentRange)), (a, b) -> true);
+
+    assertThat(FileDownload.contentRangeStartOf(headers)).isEqualTo(Optional.ofNullable(expected));
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "'\"v1\"',   'Mon, 19 Oct 2026 10:00:00 GMT', '\"v1\"'",
+      "'W/\"v1\"', 'Mon, 19 Oct 2026 10:00:00 GMT', 'Mon, 19 Oct 2026 10:00:00 GMT'",
+      "'W/\"v1\"', ,                                ",
+      ",           ,                                ",
+  })
+  void storeValidator(String etag, String lastModified, String expected, @TempDir Path dir) throws IOException {
+    Path file = dir.resolve("file");
+    Path validatorFile = dir.resolve("file" + FileDownload.VALIDATOR_SUFFIX);
+    Files.writeString(validatorFile, "old");
+    Map<String, List<String>> headerMap = new HashMap<>();
+    if (etag != null) {
+      headerMap.put("ETag", List.of(etag));
+    }
+    if (lastModified != null) {
+      headerMap.put("Last-Modified", List.of(lastModified));
+    }
+
+    new FileDownload(file).storeValidator(HttpHeaders.of(headerMap, (a, b) -> true));
+
+    if (expected == null) {
+      assertThat(validatorFile).doesNotExist();
+    } else {
+      assertThat(validatorFile).hasContent(expected);
+    }
+  }
+
+  @Test
+  void prepare_noValidator(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("file");
+    Files.writeString(file, "complete");
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost/file")).build();
+
+    assertThat(new FileDownload(file).prepare(request)).isSameAs(request);
+  }
+}
@@ -32,6 +32,8 @@ import de.hipphampel.restcli.TestUtils;
 import de.hipphampel.restcli.cli.Output;
 import de.hipphampel.restcli.exception.ExecutionException;
 import de.hipphampel.restcli.io.InputStreamProvider;
+import de.hipphampel.restcli.io.MultipartInputStreamProvider;
+import de.hipphampel.restcli.io.MultipartInputStreamProvider.Part;
 import de.hipphampel.restcli.rest.RequestContext.OutputFormat;
 import de.hipphampel.restcli.template.TemplateModel;
 import de.hipphampel.restcli.template.TemplateRenderer;
@@ -142,6 +144,36 @@ class RequestBuilderTest {
         .isEqualTo("def=%3F%3D&%3F%26=jkl&%3F%3D=%3F%26");
   }
 
+  @Test
+  void build_multipart() {
+    RequestTemplate template = new RequestTemplate()
+        .method("POST")
+        .baseUri("http://foo")
+        .parts(List.of(new Part("name", null, null, InputStreamProvider.ofString("value"))));
+
+    Request request = builder.buildRequest(template, context);
+    MultipartInputStreamProvider body = (MultipartInputStreamProvider) request.getBody();
+    assertThat(body.parts()).isEqualTo(template.parts());
+    assertThat(request.getHeaders()).isEqualTo(Map.of(
+        "Content-Type", List.of("multipart/form-data; boundary=" + body.boundary())
+    ));
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "'Content-Type', ,                                    'Content-Type', 'multipart/form-data; boundary=xyz'",
+      "'Content-Type', 'multipart/form-data',               'Content-Type', 'multipart/form-data; boundary=xyz'",
+      "'content-type', 'multipart/mixed',                   'content-type', 'multipart/mixed; boundary=xyz'",
+      "'Content-Type', 'multipart/form-data; boundary=abc', 'Content-Type', 'multipart/form-data; boundary=abc'",
+      "'Content-Type', 'text/plain',                        'Content-Type', 'text/plain'",
+  })
+  void addMultipartContentType(String header, String value, String expectedHeader, String expectedValue) {
+    Map<String, List<String>> headers = value == null ? Map.of() : Map.of(header, List.of(value));
+    MultipartInputStreamProvider body = new MultipartInputStreamProvider("xyz", List.of());
+
+    assertThat(RequestBuilder.addMultipartContentType(headers, body)).isEqualTo(Map.of(expectedHeader, List.of(expectedValue)));
+  }
+
   @Test
   void createRenderedHeaders() {
     RequestTemplate template = new RequestTemplate().headers(Map.of(
@@ -26,16 +26,24 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.hipphampel.restcli.io.InputStreamProvider;
+import de.hipphampel.restcli.io.InputStreamProvider.SupplierInputStreamProvider;
+import de.hipphampel.restcli.io.MultipartInputStreamProvider;
+import de.hipphampel.restcli.io.MultipartInputStreamProvider.Part;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -44,6 +52,7 @@ import java.util.concurrent.Flow.Subscriber;
 import java.util.concurrent.Flow.Subscription;
 import javax.xml.parsers.DocumentBuilderFactory;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 @QuarkusTest
 class RequestTest {
@@ -86,6 +95,40 @@ class RequestTest {
     assertThat(subscriber.getByteArray()).isEqualTo("FOO9".getBytes(StandardCharsets.UTF_8));
   }
 
+  @Test
+  void toHttpRequest_multipart(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("data.bin");
+    Files.write(file, new byte[10000]);
+    MultipartInputStreamProvider body = new MultipartInputStreamProvider("xyz", List.of(
+        new Part("name", null, null, InputStreamProvider.ofString("value")),
+        new Part("file", "data.bin", null, InputStreamProvider.ofPath(file))));
+    Request request = new Request(objectMapper, documentBuilderFactory, "POST", "http://foo", Map.of(), body, null, false);
+
+    HttpRequest httpRequest = request.toHttpRequest();
+
+    ByteArraySubscriber subscriber = new ByteArraySubscriber();
+    BodyPublisher publisher = httpRequest.bodyPublisher().orElseThrow();
+    publisher.subscribe(subscriber);
+    byte[] expected;
+    try (InputStream in = body.open()) {
+      expected = in.readAllBytes();
+    }
+    assertThat(subscriber.getByteArray()).isEqualTo(expected);
+    assertThat(publisher.contentLength()).isEqualTo(expected.length);
+  }
+
+  @Test
+  void toHttpRequest_multipartUnknownLength() {
+    MultipartInputStreamProvider body = new MultipartInputStreamProvider("xyz", List.of(
+        new Part("name", null, null, InputStreamProvider.ofString("value")),
+        new Part("stream", null, null, new SupplierInputStreamProvider(() -> new ByteArrayInputStream(new byte[10])))));
+    Request request = new Request(objectMapper, documentBuilderFactory, "POST", "http://foo", Map.of(), body, null, false);
+
+    HttpRequest httpRequest = request.toHttpRequest();
+
+    assertThat(httpRequest.bodyPublisher().orElseThrow().contentLength()).isEqualTo(-1);
+  }
+
   static class ByteArraySubscriber implements Subscriber<ByteBuffer> {
 
     private Subscription subscription;
@@ -29,11 +29,15 @@ import static org.mockito.Mockito.when;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import javax.xml.parsers.DocumentBuilderFactory;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 @QuarkusTest
 class ResponseTest {
@@ -53,6 +57,48 @@ class ResponseTest {
       assertThat(response.getStatusCode()).isEqualTo(123);
     }
   }
-}
 
+  @ParameterizedTest
+  @CsvSource({
+      "0,    100, 0",
+      "10,   100, 0",
+      "100,  100, 0",
+      "1000, 100, 899",
+  })
+  void close_unreadBody(int bodySize, int maxDrained, int expectedRemaining) throws IOException {
+    TrackingInputStream in = new TrackingInputStream(new byte[bodySize]);
+    HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+    when(httpResponse.body()).thenReturn(in);
+
+    new Response(documentBuilderFactory, objectMapper, httpResponse, 1000, maxDrained).close();
+
+    assertThat(in.closed).isTrue();
+    assertThat(in.available()).isEqualTo(expectedRemaining);
+  }
+
+  @Test
+  void close_readBody() throws IOException {
+    TrackingInputStream in = new TrackingInputStream("abc".getBytes(StandardCharsets.UTF_8));
+    HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+    when(httpResponse.body()).thenReturn(in);
+
+    try (Response response = new Response(documentBuilderFactory, objectMapper, httpResponse, 1000, 0)) {
+      assertThat(response.getStringBody()).isEqualTo("abc");
+    }
+    assertThat(in.closed).isTrue();
+  }
+
+  static class TrackingInputStream extends ByteArrayInputStream {
 
+    boolean closed;
+
+    TrackingInputStream(byte[] buf) {
+      super(buf);
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ServerSentEventReaderTest {
+
+  @Test
+  void readEvents() throws IOException {
+    String stream = """
+        : a comment
+
+        data: first
+        
+        event: progress
+        id: 1
+        data: second
+        data:  with two lines
+        
+        retry: 1000
+        data:third
+        
+        id
+        event: no data
+        
+        data
+        
+        data: incomplete""";
+    List<ServerSentEvent> events = new ArrayList<>();
+    try (ServerSentEventReader reader = new ServerSentEventReader(new StringReader(stream), () -> {})) {
+      reader.forEachRemaining(events::add);
+    }
+
+    assertThat(events).containsExactly(
+        new ServerSentEvent("", "message", "first", null),
+        new ServerSentEvent("1", "progress", "second\n with two lines", null),
+        new ServerSentEvent("1", "message", "third", 1000L),
+        new ServerSentEvent("", "message", "", null));
+  }
+
+  @Test
+  void readEvents_crlf() throws IOException {
+    List<ServerSentEvent> events = new ArrayList<>();
+    try (ServerSentEventReader reader = new ServerSentEventReader(new StringReader("data: a\r\ndata: b\r\n\r\ndata: c\r\r"), () -> {})) {
+      reader.forEachRemaining(events::add);
+    }
+
+    assertThat(events).containsExactly(
+        new ServerSentEvent("", "message", "a\nb", null),
+        new ServerSentEvent("", "message", "c", null));
+  }
+
+  @Test
+  void beforeRead() throws IOException {
+    AtomicInteger reads = new AtomicInteger();
+    try (LineReader reader = new LineReader(new StringReader("a\nb\n"), reads::incrementAndGet)) {
+      assertThat(reader.next()).isEqualTo("a");
+      assertThat(reads.get()).isEqualTo(1);
+      assertThat(reader.next()).isEqualTo("b");
+      assertThat(reader.hasNext()).isFalse();
+      assertThat(reads.get()).isEqualTo(3);
+    }
+  }
+}
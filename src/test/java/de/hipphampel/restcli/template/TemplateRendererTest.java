@@ -29,6 +29,8 @@ import de.hipphampel.restcli.exception.ExecutionException;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.util.Locale;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -56,6 +58,36 @@ class TemplateRendererTest {
     assertThat(renderer.render("${abc}", model)).isEqualTo("4711");
   }
 
+  @Test
+  void render_runtimeLocale() {
+    Locale locale = Locale.getDefault();
+    try {
+      Locale.setDefault(Locale.GERMANY);
+      assertThat(renderer.render("${.locale}", new TemplateModel(Map.of()))).isEqualTo("de_DE");
+      Locale.setDefault(Locale.US);
+      assertThat(renderer.render("${.locale}", new TemplateModel(Map.of()))).isEqualTo("en_US");
+    } finally {
+      Locale.setDefault(locale);
+    }
+  }
+
+  @Test
+  void getTemplate_cached() throws IOException {
+    String template = "${abc} cached";
+
+    assertThat(renderer.getTemplate(template)).isSameAs(renderer.getTemplate(template));
+    assertThat(renderer.getTemplate("x".repeat(TemplateRenderer.MAX_CACHED_TEMPLATE_LENGTH + 1)))
+        .isNotSameAs(renderer.getTemplate("x".repeat(TemplateRenderer.MAX_CACHED_TEMPLATE_LENGTH + 1)));
+  }
+
+  @Test
+  void getTemplate_builtin() throws IOException {
+    String content = TemplateRepository.BUILTIN_TEMPLATES.get(TemplateAddress.fromString("default@")).config().content();
+
+    assertThat(renderer.getTemplate(content)).isSameAs(TemplateRenderer.BUILTIN_TEMPLATES.get(content));
+    assertThat(new TemplateRenderer().getTemplate(content)).isSameAs(renderer.getTemplate(content));
+  }
+
   @Test
   void render_BadPlaceholder() {
     TemplateModel model = new TemplateModel(Map.of(
@@ -174,7 +174,7 @@ class TemplateRepositoryTest {
   @ParameterizedTest
   @CsvSource({
       "'not/found', ",
-      "'',          'abc@;def@;default@'",
+      "'',          'abc@;def@;default@;ndjson@;sse@'",
       "'xyz',       'def@xyz;ghi@xyz'",
       "'xyz/abc',   'jkl@xyz/abc'"
   })
@@ -188,9 +188,9 @@ class TemplateRepositoryTest {
   @ParameterizedTest
   @CsvSource({
       "'not/found', ",
-      "'',          'abc@;def@;default@'",
-      "'xyz',       'abc@;def@xyz;default@;ghi@xyz'",
-      "'xyz/abc',   'abc@;def@xyz;default@;ghi@xyz;jkl@xyz/abc'"
+      "'',          'abc@;def@;default@;ndjson@;sse@'",
+      "'xyz',       'abc@;def@xyz;default@;ghi@xyz;ndjson@;sse@'",
+      "'xyz/abc',   'abc@;def@xyz;default@;ghi@xyz;jkl@xyz/abc;ndjson@;sse@'"
   })
   void getEffectiveTemplates(String command, String expected) {
     assertThat(repository.getEffectiveTemplates(rootDir, CommandAddress.fromString(command)))
@@ -27,8 +27,13 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import de.hipphampel.restcli.exception.ExecutionException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -92,4 +97,26 @@ class FileUtilsTest {
     assertThat(Files.exists(baseDir.resolve("testfoo"))).isFalse();
   }
 
+  @Test
+  void writeAtomically() throws IOException {
+    Path file = baseDir.resolve("cache/file.json");
+
+    FileUtils.writeAtomically(file, "first".getBytes(StandardCharsets.UTF_8));
+    assertThat(file).hasContent("first");
+
+    FileUtils.writeAtomically(file, "second".getBytes(StandardCharsets.UTF_8));
+    assertThat(file).hasContent("second");
+    try (Stream<Path> listing = Files.list(file.getParent())) {
+      assertThat(listing).containsExactly(file);
+    }
+  }
+
+  @Test
+  void isRacilyModified() throws IOException {
+    Path file = Files.writeString(baseDir.resolve("file"), "foo");
+    assertThat(FileUtils.isRacilyModified(Files.readAttributes(file, BasicFileAttributes.class))).isTrue();
+
+    Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(60)));
+    assertThat(FileUtils.isRacilyModified(Files.readAttributes(file, BasicFileAttributes.class))).isFalse();
+  }
 }
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ * Copyright © ${year} Johannes Hampel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.hipphampel.restcli.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class VariableScopeTest {
+
+  @Test
+  void of() {
+    Map<String, Object> variables = Map.of("a", "b");
+    VariableScope scope = VariableScope.of(variables);
+
+    assertThat(VariableScope.of(scope)).isSameAs(scope);
+    assertThat(VariableScope.of(null)).isSameAs(VariableScope.EMPTY);
+    assertThat(VariableScope.of(Map.of())).isSameAs(VariableScope.EMPTY);
+    assertThat(scope).isEqualTo(variables);
+  }
+
+  @Test
+  void with_emptyLayer() {
+    VariableScope scope = VariableScope.of(Map.of("a", "b"));
+
+    assertThat(scope.with(null)).isSameAs(scope);
+    assertThat(scope.with(Map.of())).isSameAs(scope);
+  }
+
+  @Test
+  void with_overlaysLayers() {
+    VariableScope env = VariableScope.of(Map.of("a", "env", "b", "env", "c", "env"));
+    VariableScope command = env.with(Map.of("b", "command"));
+    VariableScope execution = command.with(Map.of("c", "execution", "d", "execution"));
+
+    assertThat(env).isEqualTo(Map.of("a", "env", "b", "env", "c", "env"));
+    assertThat(command).isEqualTo(Map.of("a", "env", "b", "command", "c", "env"));
+    assertThat(execution).isEqualTo(Map.of("a", "env", "b", "command", "c", "execution", "d", "execution"));
+    assertThat(execution.get("b")).isEqualTo("command");
+    assertThat(execution.get("x")).isNull();
+    assertThat(execution.containsKey("d")).isTrue();
+    assertThat(command.containsKey("d")).isFalse();
+    assertThat(execution.size()).isEqualTo(4);
+  }
+
+  @Test
+  void get_nullValueShadowsParent() {
+    Map<String, Object> layer = new HashMap<>();
+    layer.put("a", null);
+    VariableScope scope = VariableScope.of(Map.of("a", "b")).with(layer);
+
+    assertThat(scope.containsKey("a")).isTrue();
+    assertThat(scope.get("a")).isNull();
+    assertThat(scope.get(null)).isNull();
+    assertThat(scope.containsKey(null)).isFalse();
+  }
+
+  @Test
+  void isEmpty() {
+    assertThat(VariableScope.EMPTY.isEmpty()).isTrue();
+    assertThat(VariableScope.EMPTY.with(Map.of("a", "b")).isEmpty()).isFalse();
+  }
+
+  @Test
+  void immutable() {
+    VariableScope scope = VariableScope.of(Map.of("a", "b")).with(Map.of("c", "d"));
+
+    assertThatThrownBy(() -> scope.put("e", "f"))
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> scope.entrySet().clear())
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+}